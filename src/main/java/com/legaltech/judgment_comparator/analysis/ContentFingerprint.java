@@ -0,0 +1,62 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * What duplicate detection knows about a judgment's text
+ *
+ * contentHash: SHA-256 of the text with every run of whitespace collapsed to one space and the
+ * ends trimmed, so re-wrapped or re-indented copies hash the same.
+ * simHash: 64-bit SimHash of the weighted term vector (see SimHash); copies with small edits
+ * (a different reporter's header, corrected typos) differ in only a few bits.
+ */
+public record ContentFingerprint(String contentHash, long simHash) {
+
+    private static final int BUFFER_BYTES = 8192;
+
+    /**
+     * Reads the text only: no terms are interned
+     */
+    public static ContentFingerprint of(CharSequence text) {
+        return new ContentFingerprint(contentHash(text), SimHash.of(text));
+    }
+
+    /**
+     * Hex SHA-256 of the whitespace-normalized text (UTF-16 code units, streamed without a copy)
+     */
+    static String contentHash(CharSequence text) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        byte[] buffer = new byte[BUFFER_BYTES];
+        int n = 0;
+        boolean pendingSpace = false;
+        boolean started = false;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = started;
+                continue;
+            }
+            if (n + 4 > BUFFER_BYTES) {
+                digest.update(buffer, 0, n);
+                n = 0;
+            }
+            if (pendingSpace) {
+                buffer[n++] = 0;
+                buffer[n++] = ' ';
+                pendingSpace = false;
+            }
+            buffer[n++] = (byte) (c >>> 8);
+            buffer[n++] = (byte) c;
+            started = true;
+        }
+        digest.update(buffer, 0, n);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+}
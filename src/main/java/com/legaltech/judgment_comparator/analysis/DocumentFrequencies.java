@@ -0,0 +1,78 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Corpus document frequency of every term id, maintained incrementally
+ *
+ * Counters live in fixed-size pages indexed by term id (ids are dense, see TermDictionary),
+ * so a lookup is two array reads and never allocates. Writes are serialized; reads are lock-free.
+ */
+public class DocumentFrequencies {
+
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    private volatile AtomicIntegerArray[] pages = new AtomicIntegerArray[0];
+    private volatile int documentCount;
+
+    /**
+     * Count a new document's terms
+     */
+    public synchronized void add(IntBuffer termIds) {
+        for (int i = 0; i < termIds.limit(); i++) {
+            int termId = termIds.get(i);
+            page(termId).incrementAndGet(termId & PAGE_MASK);
+        }
+        documentCount++;
+    }
+
+    /**
+     * Uncount a removed document's terms
+     */
+    public synchronized void remove(IntBuffer termIds) {
+        AtomicIntegerArray[] current = pages;
+        for (int i = 0; i < termIds.limit(); i++) {
+            int termId = termIds.get(i);
+            int page = termId >>> PAGE_BITS;
+            if (page < current.length) {
+                current[page].decrementAndGet(termId & PAGE_MASK);
+            }
+        }
+        documentCount--;
+    }
+
+    public synchronized void clear() {
+        pages = new AtomicIntegerArray[0];
+        documentCount = 0;
+    }
+
+    /**
+     * Number of documents containing the term
+     */
+    public int documentFrequency(int termId) {
+        AtomicIntegerArray[] current = pages;
+        int page = termId >>> PAGE_BITS;
+        return page < current.length ? current[page].get(termId & PAGE_MASK) : 0;
+    }
+
+    public int documentCount() {
+        return documentCount;
+    }
+
+    private AtomicIntegerArray page(int termId) {
+        int page = termId >>> PAGE_BITS;
+        AtomicIntegerArray[] current = pages;
+        if (page >= current.length) {
+            current = Arrays.copyOf(current, page + 1);
+            for (int i = pages.length; i < current.length; i++) {
+                current[i] = new AtomicIntegerArray(PAGE_SIZE);
+            }
+            pages = current;
+        }
+        return current[page];
+    }
+}
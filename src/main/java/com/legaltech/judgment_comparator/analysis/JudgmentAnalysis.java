@@ -0,0 +1,110 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * Analysis artifact of one judgment, computed once when it is saved
+ *
+ * termIds is the judgment's word set (same rules as the comparison: case-folded runs of
+ * letters and digits, longer than 3 characters) as a sorted, deduplicated array
+ * of interned ids, so set operations become linear merges of two int[].
+ * termWeights holds the log-scaled frequency (1 + ln tf) of each term, making the pair
+ * a sparse term-frequency vector for weighted engines.
+ *
+ * Both are buffers so a stored judgment's vector can be a view of the content store's mapped
+ * segment (see JudgmentContentStore) instead of a heap copy. Only absolute get(i) is used,
+ * so one instance can be read by many threads.
+ */
+public record JudgmentAnalysis(long judgmentId, IntBuffer termIds, FloatBuffer termWeights) {
+
+    /**
+     * Words of this length or shorter are ignored by the comparison
+     */
+    static final int MAX_IGNORED_LENGTH = 3;
+
+    public static JudgmentAnalysis of(long judgmentId, String text, TermDictionary dictionary) {
+        TermScanner scanner = TermScanner.forCurrentThread();
+        int n = scanner.scan(text, MAX_IGNORED_LENGTH + 1, dictionary);
+        return countTerms(judgmentId, scanner.ids(), n);
+    }
+
+    /**
+     * Number of distinct terms
+     */
+    public int termCount() {
+        return termIds.limit();
+    }
+
+    /**
+     * Number of terms common to both judgments
+     */
+    public int intersectionSize(JudgmentAnalysis other) {
+        IntBuffer a = termIds;
+        IntBuffer b = other.termIds;
+        int aLength = a.limit();
+        int bLength = b.limit();
+        int i = 0, j = 0, common = 0;
+        while (i < aLength && j < bLength) {
+            int x = a.get(i);
+            int y = b.get(j);
+            if (x < y) {
+                i++;
+            } else if (x > y) {
+                j++;
+            } else {
+                common++;
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    /**
+     * Jaccard index in [0, 1]: |A ∩ B| / |A ∪ B|
+     */
+    public double jaccard(JudgmentAnalysis other) {
+        int common = intersectionSize(other);
+        int union = termCount() + other.termCount() - common;
+        return union == 0 ? 0.0 : (double) common / union;
+    }
+
+    /**
+     * Sort the ids and collapse runs of the same id into (id, 1 + ln count)
+     * The input buffer is reordered; the result arrays are allocated at their exact size
+     */
+    private static JudgmentAnalysis countTerms(long judgmentId, int[] ids, int length) {
+        Arrays.sort(ids, 0, length);
+        int distinct = 0;
+        for (int i = 0; i < length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                distinct++;
+            }
+        }
+
+        int[] termIds = new int[distinct];
+        float[] weights = new float[distinct];
+        int n = -1;
+        int count = 0;
+        for (int i = 0; i < length; i++) {
+            if (i == 0 || ids[i] != ids[i - 1]) {
+                if (n >= 0) {
+                    weights[n] = logFrequency(count);
+                }
+                termIds[++n] = ids[i];
+                count = 0;
+            }
+            count++;
+        }
+        if (n >= 0) {
+            weights[n] = logFrequency(count);
+        }
+        return new JudgmentAnalysis(judgmentId, IntBuffer.wrap(termIds), FloatBuffer.wrap(weights));
+    }
+
+    private static float logFrequency(int count) {
+        return (float) (1 + Math.log(count));
+    }
+}
@@ -0,0 +1,133 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory copy of the keywords table: keyword name <-> id
+ *
+ * A judgment's keywords are a sorted int[] of ids, so the keywords two judgments share
+ * are a linear merge of two small arrays instead of re-splitting and comparing strings.
+ * Ids are assigned by the database (KeywordService); this class only mirrors them.
+ */
+public class KeywordDictionary {
+
+    private static final int[] NONE = new int[0];
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+    /**
+     * Normalized keywords of a comma-separated list: trimmed, lower case, no blanks or repeats,
+     * in their original order
+     */
+    public static List<String> parse(String keywords) {
+        if (keywords == null || keywords.isBlank()) {
+            return List.of();
+        }
+        Set<String> parsed = new LinkedHashSet<>();
+        for (String keyword : keywords.split(",")) {
+            String name = keyword.trim().toLowerCase(Locale.ROOT);
+            if (!name.isEmpty()) {
+                parsed.add(name);
+            }
+        }
+        return new ArrayList<>(parsed);
+    }
+
+    /**
+     * Register a keyword stored under the given id
+     */
+    public void add(int id, String name) {
+        ids.put(name, id);
+        names.put(id, name);
+    }
+
+    /**
+     * Id of a normalized keyword, or null if it has never been stored
+     */
+    public Integer idOf(String name) {
+        return ids.get(name);
+    }
+
+    public String nameOf(int id) {
+        return names.get(id);
+    }
+
+    /**
+     * Sorted ids of the known keywords among the given names (unknown ones are left out)
+     */
+    public int[] idsOf(Collection<String> names) {
+        int[] result = new int[names.size()];
+        int n = 0;
+        for (String name : names) {
+            Integer id = ids.get(name);
+            if (id != null) {
+                result[n++] = id;
+            }
+        }
+        return sorted(result, n);
+    }
+
+    /**
+     * Sorted, distinct int[] of a set of ids
+     */
+    public static int[] toSortedArray(Collection<Integer> keywordIds) {
+        if (keywordIds == null || keywordIds.isEmpty()) {
+            return NONE;
+        }
+        int[] result = new int[keywordIds.size()];
+        int n = 0;
+        for (Integer id : keywordIds) {
+            result[n++] = id;
+        }
+        return sorted(result, n);
+    }
+
+    /**
+     * Names of the ids present in both sorted arrays, in id order
+     */
+    public List<String> common(int[] keywordIds1, int[] keywordIds2) {
+        List<String> common = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < keywordIds1.length && j < keywordIds2.length) {
+            if (keywordIds1[i] < keywordIds2[j]) {
+                i++;
+            } else if (keywordIds1[i] > keywordIds2[j]) {
+                j++;
+            } else {
+                common.add(names.get(keywordIds1[i]));
+                i++;
+                j++;
+            }
+        }
+        return common;
+    }
+
+    public int size() {
+        return ids.size();
+    }
+
+    private static int[] sorted(int[] ids, int count) {
+        if (count == 0) {
+            return NONE;
+        }
+        int[] result = Arrays.copyOf(ids, count);
+        Arrays.sort(result);
+        int distinct = 1;
+        for (int k = 1; k < count; k++) {
+            if (result[k] != result[distinct - 1]) {
+                result[distinct++] = result[k];
+            }
+        }
+        return distinct == count ? result : Arrays.copyOf(result, distinct);
+    }
+}
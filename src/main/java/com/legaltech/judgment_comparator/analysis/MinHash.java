@@ -0,0 +1,65 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.nio.IntBuffer;
+import java.util.SplittableRandom;
+
+/**
+ * MinHash signatures over term-id sets
+ *
+ * The probability that two signatures agree at one position equals the
+ * Jaccard index of the two sets, so signatures can be bucketed (LSH) to find
+ * likely-similar judgments without comparing against every judgment.
+ */
+public class MinHash {
+
+    private final long[] seeds;
+
+    /**
+     * @param numHashes signature length
+     * @param seed      fixed so signatures stay comparable across restarts
+     */
+    public MinHash(int numHashes, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        this.seeds = new long[numHashes];
+        for (int i = 0; i < numHashes; i++) {
+            seeds[i] = random.nextLong() | 1L;
+        }
+    }
+
+    public int numHashes() {
+        return seeds.length;
+    }
+
+    /**
+     * Signature of a term-id set; an empty set gets all Integer.MAX_VALUE
+     */
+    public int[] signature(IntBuffer termIds) {
+        int[] signature = new int[seeds.length];
+        int length = termIds.limit();
+        for (int i = 0; i < seeds.length; i++) {
+            long seed = seeds[i];
+            int min = Integer.MAX_VALUE;
+            for (int t = 0; t < length; t++) {
+                // + 1: term id 0 would hash to 0 under every seed (mix(0) == 0)
+                int h = (int) (mix((termIds.get(t) + 1L) * seed) >>> 33);
+                if (h < min) {
+                    min = h;
+                }
+            }
+            signature[i] = min;
+        }
+        return signature;
+    }
+
+    /**
+     * 64-bit finalizer from MurmurHash3
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
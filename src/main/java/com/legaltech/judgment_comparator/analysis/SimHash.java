@@ -0,0 +1,66 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.util.Arrays;
+
+/**
+ * 64-bit SimHash (Charikar) of a judgment's weighted term vector
+ *
+ * Every term hashes to 64 pseudo-random bits; each bit position sums +weight for the terms
+ * with that bit set and -weight for the others, and the fingerprint keeps the sign of each sum.
+ * Texts sharing most of their (weighted) terms end up a small Hamming distance apart,
+ * so near-duplicates can be found by comparing fingerprints (see DuplicateIndex).
+ *
+ * Terms and weights are the ones JudgmentAnalysis uses (1 + ln tf), but each term is keyed by a
+ * hash of its characters rather than its dictionary id: an upload can be fingerprinted, and
+ * rejected as a duplicate, before any of its new terms are interned (and logged to the store).
+ */
+public final class SimHash {
+
+    private SimHash() {
+    }
+
+    public static long of(CharSequence text) {
+        TermScanner scanner = TermScanner.forCurrentThread();
+        int n = scanner.hash(text, JudgmentAnalysis.MAX_IGNORED_LENGTH + 1);
+        long[] hashes = scanner.hashes();
+        Arrays.sort(hashes, 0, n);
+
+        double[] sums = new double[Long.SIZE];
+        for (int i = 0; i < n; ) {
+            int run = i;
+            while (run < n && hashes[run] == hashes[i]) {
+                run++;
+            }
+            long h = mix(hashes[i]);
+            double weight = 1 + Math.log(run - i);
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                sums[bit] += ((h >>> bit) & 1) != 0 ? weight : -weight;
+            }
+            i = run;
+        }
+        long fingerprint = 0;
+        for (int bit = 0; bit < Long.SIZE; bit++) {
+            if (sums[bit] > 0) {
+                fingerprint |= 1L << bit;
+            }
+        }
+        return fingerprint;
+    }
+
+    /**
+     * Number of differing bits
+     */
+    public static int distance(long a, long b) {
+        return Long.bitCount(a ^ b);
+    }
+
+    /**
+     * SplitMix64 finalizer: FNV-1a leaves the high bits of short terms poorly mixed
+     */
+    private static long mix(long h) {
+        h += 0x9E3779B97F4A7C15L;
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,70 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns terms to dense integer ids
+ * Ids are never reused; with a listener logging new terms (see JudgmentContentStore)
+ * they can be restored and stay stable across restarts
+ */
+public class TermDictionary {
+
+    /**
+     * Told about every newly assigned id
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void termAdded(int id, String term);
+    }
+
+    private final Map<TermKey, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private volatile Listener listener;
+
+    public void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Re-register a term under the id it had before (ids assigned afterwards continue past it)
+     */
+    public void restore(String term, int id) {
+        ids.put(TermKey.of(term), id);
+        nextId.accumulateAndGet(id + 1, Math::max);
+    }
+
+    /**
+     * Id of a term, assigning a new one on first sight
+     */
+    public int intern(String term) {
+        return intern(TermKey.of(term));
+    }
+
+    /**
+     * Id of the term the key currently holds
+     * The key may be a reused probe: it is only copied when the term is new
+     */
+    int intern(TermKey key) {
+        Integer id = ids.get(key);
+        if (id != null) {
+            return id;
+        }
+        return ids.computeIfAbsent(key.copy(), t -> {
+            int newId = nextId.getAndIncrement();
+            Listener current = listener;
+            if (current != null) {
+                current.termAdded(newId, t.toString());
+            }
+            return newId;
+        });
+    }
+
+    /**
+     * Number of distinct terms seen so far
+     */
+    public int size() {
+        return nextId.get();
+    }
+}
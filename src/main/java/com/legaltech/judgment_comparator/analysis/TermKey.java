@@ -0,0 +1,61 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Term characters as a map key
+ *
+ * TermScanner probes the dictionary with one reused, mutable instance pointing into its
+ * scan buffer, so looking up a known term allocates nothing. Only keys stored in the
+ * dictionary (immutable copies) are ever retained.
+ */
+final class TermKey {
+
+    private char[] chars;
+    private int length;
+    private int hash;
+
+    TermKey(char[] chars, int length, int hash) {
+        set(chars, length, hash);
+    }
+
+    static TermKey of(String term) {
+        return new TermKey(term.toCharArray(), term.length(), term.hashCode());
+    }
+
+    /**
+     * Point this (probe) key at other characters
+     *
+     * @param hash String-compatible hash of the characters (h = 31 * h + c)
+     */
+    void set(char[] chars, int length, int hash) {
+        this.chars = chars;
+        this.length = length;
+        this.hash = hash;
+    }
+
+    TermKey copy() {
+        return new TermKey(Arrays.copyOf(chars, length), length, hash);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TermKey other) || other.hash != hash || other.length != length) {
+            return false;
+        }
+        return Arrays.equals(chars, 0, length, other.chars, 0, length);
+    }
+
+    @Override
+    public String toString() {
+        return new String(chars, 0, length);
+    }
+}
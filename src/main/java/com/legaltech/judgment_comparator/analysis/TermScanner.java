@@ -0,0 +1,121 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.util.Arrays;
+
+/**
+ * Allocation-free tokenizer: text in, term ids out
+ *
+ * Scans the text once, case-folding letters into a reused buffer and treating anything that is
+ * not a letter or digit as a separator ("court," and "Court" are both "court"). Each term is
+ * interned straight from the buffer, so no String, array or regex is created per word; only
+ * terms the dictionary has never seen are copied. Ids land in a reused int[] buffer.
+ *
+ * hash() walks the same terms without a dictionary, for callers that must not intern (SimHash).
+ *
+ * Not thread-safe: use one instance per thread (see forCurrentThread()).
+ */
+public final class TermScanner {
+
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private static final ThreadLocal<TermScanner> SCANNERS = ThreadLocal.withInitial(TermScanner::new);
+
+    private char[] term = new char[32];
+    private int[] ids = new int[1024];
+    private long[] hashes = new long[1024];
+    private final TermKey probe = new TermKey(term, 0, 0);
+
+    /**
+     * The calling thread's scanner
+     */
+    public static TermScanner forCurrentThread() {
+        return SCANNERS.get();
+    }
+
+    /**
+     * Intern every term of at least minLength characters, in order of appearance
+     *
+     * @return number of ids written; read them from ids()[0 .. count)
+     */
+    public int scan(CharSequence text, int minLength, TermDictionary dictionary) {
+        int count = 0;
+        if (text == null) {
+            return count;
+        }
+
+        int length = 0;
+        int hash = 0;
+        int end = text.length();
+        for (int i = 0; i <= end; i++) {
+            char c = i < end ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                if (length == term.length) {
+                    term = Arrays.copyOf(term, length * 2);
+                }
+                char folded = Character.toLowerCase(c);
+                term[length++] = folded;
+                hash = 31 * hash + folded;
+            } else if (length > 0) {
+                if (length >= minLength) {
+                    if (count == ids.length) {
+                        ids = Arrays.copyOf(ids, count * 2);
+                    }
+                    probe.set(term, length, hash);
+                    ids[count++] = dictionary.intern(probe);
+                }
+                length = 0;
+                hash = 0;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Buffer the last scan wrote to (reused by the next scan)
+     */
+    public int[] ids() {
+        return ids;
+    }
+
+    /**
+     * Same terms as scan, but hashed (64-bit FNV-1a of the case-folded characters) instead of
+     * interned: no dictionary is involved, so terms never seen before leave no trace
+     *
+     * @return number of hashes written; read them from hashes()[0 .. count)
+     */
+    public int hash(CharSequence text, int minLength) {
+        int count = 0;
+        if (text == null) {
+            return count;
+        }
+
+        int length = 0;
+        long hash = FNV_OFFSET;
+        int end = text.length();
+        for (int i = 0; i <= end; i++) {
+            char c = i < end ? text.charAt(i) : ' ';
+            if (Character.isLetterOrDigit(c)) {
+                hash = (hash ^ Character.toLowerCase(c)) * FNV_PRIME;
+                length++;
+            } else if (length > 0) {
+                if (length >= minLength) {
+                    if (count == hashes.length) {
+                        hashes = Arrays.copyOf(hashes, count * 2);
+                    }
+                    hashes[count++] = hash;
+                }
+                length = 0;
+                hash = FNV_OFFSET;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Buffer the last hash() wrote to (reused by the next one)
+     */
+    public long[] hashes() {
+        return hashes;
+    }
+}
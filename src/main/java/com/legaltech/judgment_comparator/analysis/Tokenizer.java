@@ -0,0 +1,59 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Splits judgment text into lowercase search terms
+ * Anything that is not a letter or digit is a separator, so "court," and "court" are the same term
+ */
+public final class Tokenizer {
+
+    /**
+     * Single characters carry no meaning for search
+     */
+    public static final int MIN_TERM_LENGTH = 2;
+
+    private Tokenizer() {
+    }
+
+    /**
+     * Tokenize text into terms, in order of appearance
+     */
+    public static List<String> tokenize(CharSequence text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null) {
+            return terms;
+        }
+
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                if (i - start >= MIN_TERM_LENGTH) {
+                    terms.add(text.subSequence(start, i).toString().toLowerCase(Locale.ROOT));
+                }
+                start = -1;
+            }
+        }
+        return terms;
+    }
+
+    /**
+     * Count term frequencies across several fields of one document
+     */
+    public static Map<String, Integer> termFrequencies(CharSequence... fields) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (CharSequence field : fields) {
+            for (String term : tokenize(field)) {
+                frequencies.merge(term, 1, Integer::sum);
+            }
+        }
+        return frequencies;
+    }
+}
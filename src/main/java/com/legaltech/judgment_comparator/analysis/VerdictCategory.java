@@ -0,0 +1,56 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Outcome of a judgment, derived from its free-text verdict by keyword
+ *
+ * A verdict can fall into several categories ("appeal allowed, cross-appeal dismissed");
+ * one that mentions none of the keywords is OTHER. Two verdicts are of the same type
+ * when they share a category other than OTHER (see JudgmentService.isSameVerdictType).
+ */
+public enum VerdictCategory {
+    DISMISSED("dismiss"),
+    ALLOWED("allow"),
+    REJECTED("reject"),
+    OTHER(null);
+
+    private final String keyword;
+
+    VerdictCategory(String keyword) {
+        this.keyword = keyword;
+    }
+
+    /**
+     * Categories of a verdict (OTHER alone when it is null or matches no keyword)
+     */
+    public static Set<VerdictCategory> of(String verdict) {
+        Set<VerdictCategory> categories = EnumSet.noneOf(VerdictCategory.class);
+        if (verdict != null) {
+            String lower = verdict.toLowerCase(Locale.ROOT);
+            for (VerdictCategory category : values()) {
+                if (category.keyword != null && lower.contains(category.keyword)) {
+                    categories.add(category);
+                }
+            }
+        }
+        if (categories.isEmpty()) {
+            categories.add(OTHER);
+        }
+        return categories;
+    }
+
+    /**
+     * Category from a request parameter, any case
+     */
+    public static VerdictCategory parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown verdict category: " + value
+                    + " (use DISMISSED, ALLOWED, REJECTED or OTHER)");
+        }
+    }
+}
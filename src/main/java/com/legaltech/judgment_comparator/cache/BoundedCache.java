@@ -0,0 +1,218 @@
+package com.legaltech.judgment_comparator.cache;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Size-bounded, expiring in-memory cache
+ *
+ * Keys are spread over independently locked segments, each an ordered LinkedHashMap,
+ * so eviction is O(1) and concurrent readers rarely contend. The size bound is enforced
+ * per segment (maximumSize / segments), which is close enough for caches of this kind.
+ */
+public class BoundedCache<K, V> {
+
+    /**
+     * Which entry goes first when a segment is full
+     */
+    public enum EvictionPolicy {
+        LRU, // least recently read or written
+        FIFO // oldest written
+    }
+
+    private static final int MAX_SEGMENTS = 16;
+    private static final long NEVER = Long.MAX_VALUE;
+
+    private final Segment<K, V>[] segments;
+    private final int segmentMask;
+    private final long ttlNanos;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * @param maximumSize upper bound on entries; 0 disables the cache
+     * @param ttl         how long an entry lives after it is written; null or zero for no expiry
+     */
+    @SuppressWarnings("unchecked")
+    public BoundedCache(int maximumSize, Duration ttl, EvictionPolicy policy) {
+        if (maximumSize < 0) {
+            throw new IllegalArgumentException("maximumSize must not be negative");
+        }
+        int count = 1;
+        while (count < MAX_SEGMENTS && count * 2 <= maximumSize / 64) {
+            count *= 2;
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            int capacity = maximumSize / count + (i < maximumSize % count ? 1 : 0);
+            segments[i] = new Segment<>(capacity, policy == EvictionPolicy.LRU);
+        }
+        this.segmentMask = count - 1;
+        this.ttlNanos = ttl == null ? 0 : ttl.toNanos();
+    }
+
+    /**
+     * Cached value, or null if absent or expired
+     */
+    public V get(K key) {
+        V value = segmentFor(key).get(key, System.nanoTime());
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Cached value, or the loader's result (cached unless null)
+     * The loader runs outside the segment lock; two threads missing the same key may both load it
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlNanos);
+    }
+
+    /**
+     * Store with a shorter lifetime than the cache default (never longer)
+     */
+    public void put(K key, V value, Duration ttl) {
+        long nanos = ttl.toNanos();
+        if (nanos > 0) {
+            put(key, value, ttlNanos > 0 ? Math.min(nanos, ttlNanos) : nanos);
+        }
+    }
+
+    private void put(K key, V value, long lifetimeNanos) {
+        long expiresAt = lifetimeNanos == 0 ? NEVER : System.nanoTime() + lifetimeNanos;
+        puts.increment();
+        evictions.add(segmentFor(key).put(key, value, expiresAt));
+    }
+
+    public void invalidate(K key) {
+        segmentFor(key).remove(key);
+    }
+
+    /**
+     * Drop every entry whose key matches (a full scan; meant for rare writes)
+     */
+    public void invalidateIf(Predicate<? super K> predicate) {
+        for (Segment<K, V> segment : segments) {
+            segment.removeIf(predicate);
+        }
+    }
+
+    public void invalidateAll() {
+        for (Segment<K, V> segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /**
+     * Number of entries, including expired ones not yet cleaned up
+     */
+    public long size() {
+        long size = 0;
+        for (Segment<K, V> segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public Stats stats() {
+        long hitCount = hits.sum();
+        long missCount = misses.sum();
+        long requests = hitCount + missCount;
+        return new Stats(size(), hitCount, missCount, puts.sum(), evictions.sum(),
+                requests == 0 ? 0 : (double) hitCount / requests);
+    }
+
+    private Segment<K, V> segmentFor(K key) {
+        int h = key.hashCode();
+        return segments[(h ^ (h >>> 16)) & segmentMask];
+    }
+
+    /**
+     * Counters since startup
+     */
+    public record Stats(long size, long hits, long misses, long puts, long evictions, double hitRatio) {
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+
+    private static final class Segment<K, V> {
+
+        private final int capacity;
+        private final LinkedHashMap<K, Entry<V>> map;
+
+        Segment(int capacity, boolean accessOrder) {
+            this.capacity = capacity;
+            this.map = new LinkedHashMap<>(16, 0.75f, accessOrder);
+        }
+
+        synchronized V get(K key, long now) {
+            Entry<V> entry = map.get(key);
+            if (entry == null) {
+                return null;
+            }
+            if (entry.expiresAt() != NEVER && entry.expiresAt() - now < 0) {
+                map.remove(key);
+                return null;
+            }
+            return entry.value();
+        }
+
+        /**
+         * @return number of entries evicted to make room
+         */
+        synchronized int put(K key, V value, long expiresAt) {
+            if (capacity == 0) {
+                return 0;
+            }
+            map.put(key, new Entry<>(value, expiresAt));
+            int evicted = 0;
+            Iterator<Map.Entry<K, Entry<V>>> eldest = map.entrySet().iterator();
+            while (map.size() > capacity) {
+                eldest.next();
+                eldest.remove();
+                evicted++;
+            }
+            return evicted;
+        }
+
+        synchronized void remove(K key) {
+            map.remove(key);
+        }
+
+        synchronized void removeIf(Predicate<? super K> predicate) {
+            map.keySet().removeIf(predicate);
+        }
+
+        synchronized void clear() {
+            map.clear();
+        }
+
+        synchronized int size() {
+            return map.size();
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.legaltech.judgment_comparator.cache;
+
+import com.legaltech.judgment_comparator.metrics.BoundedCacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named application caches, so their hit/miss counters can be reported in one place
+ * (GET /api/admin/caches, and as cache.* meters tagged with the cache name)
+ */
+@Component
+@RequiredArgsConstructor
+public class CacheRegistry {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, BoundedCache<?, ?>> caches = new ConcurrentSkipListMap<>();
+
+    /**
+     * Register a cache under a unique name
+     *
+     * @return the same cache, for use in field initialization
+     */
+    public <K, V> BoundedCache<K, V> register(String name, BoundedCache<K, V> cache) {
+        if (caches.putIfAbsent(name, cache) != null) {
+            throw new IllegalStateException("Cache already registered: " + name);
+        }
+        new BoundedCacheMetrics(cache, name).bindTo(meterRegistry);
+        return cache;
+    }
+
+    /**
+     * Current counters of every cache, by name
+     */
+    public Map<String, BoundedCache.Stats> stats() {
+        Map<String, BoundedCache.Stats> stats = new LinkedHashMap<>();
+        caches.forEach((name, cache) -> stats.put(name, cache.stats()));
+        return stats;
+    }
+}
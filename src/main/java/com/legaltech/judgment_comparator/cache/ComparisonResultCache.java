@@ -0,0 +1,85 @@
+package com.legaltech.judgment_comparator.cache;
+
+import com.legaltech.judgment_comparator.similarity.SimilarityEngine;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Results of POST /api/judgments/compare, keyed by engine + unordered id pair + content versions
+ *
+ * A content version changes whenever a judgment is (re)indexed, so a result computed from an
+ * older version of either judgment can never be returned. Such stale entries (and those of
+ * deleted judgments) are not searched for on writes; LRU/FIFO eviction or the TTL drops them.
+ * Scores of corpus-dependent engines (TF-IDF) also drift as other judgments change,
+ * so those results only live for judgment.compare.cache.corpus-dependent-ttl.
+ */
+@Component
+@RequiredArgsConstructor
+public class ComparisonResultCache {
+
+    private final CacheRegistry cacheRegistry;
+
+    @Value("${judgment.compare.cache.max-size:50000}")
+    private int maxSize;
+
+    @Value("${judgment.compare.cache.policy:LRU}")
+    private BoundedCache.EvictionPolicy policy;
+
+    /**
+     * 0 = results never expire (they are only evicted)
+     */
+    @Value("${judgment.compare.cache.ttl:0}")
+    private long ttl;
+
+    @Value("${judgment.compare.cache.corpus-dependent-ttl:60000}")
+    private long corpusDependentTtl;
+
+    private BoundedCache<PairKey, Map<String, Object>> results;
+
+    /**
+     * Lower id first, each with the content version it was compared at
+     */
+    private record PairKey(String engine, long lowId, long lowVersion, long highId, long highVersion) {
+
+        static PairKey of(SimilarityEngine engine, long id1, long version1, long id2, long version2) {
+            return id1 <= id2
+                    ? new PairKey(engine.name(), id1, version1, id2, version2)
+                    : new PairKey(engine.name(), id2, version2, id1, version1);
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        results = cacheRegistry.register("comparisons",
+                new BoundedCache<>(maxSize, ttl > 0 ? Duration.ofMillis(ttl) : null, policy));
+    }
+
+    /**
+     * Cached result of comparing the lower id with the higher id, or null
+     */
+    public Map<String, Object> get(SimilarityEngine engine, long id1, long version1, long id2, long version2) {
+        return results.get(PairKey.of(engine, id1, version1, id2, version2));
+    }
+
+    /**
+     * @param result comparison of the lower id (judgment1) with the higher id (judgment2)
+     */
+    public void put(SimilarityEngine engine, long id1, long version1, long id2, long version2,
+            Map<String, Object> result) {
+        PairKey key = PairKey.of(engine, id1, version1, id2, version2);
+        if (engine.corpusDependent()) {
+            results.put(key, result, Duration.ofMillis(corpusDependentTtl));
+        } else {
+            results.put(key, result);
+        }
+    }
+
+    public void invalidateAll() {
+        results.invalidateAll();
+    }
+}
@@ -0,0 +1,79 @@
+package com.legaltech.judgment_comparator.concurrency;
+
+import com.legaltech.judgment_comparator.exception.BulkheadFullException;
+
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caps how many callers use a scarce resource (database connections, CPU cores) at once
+ *
+ * With virtual threads a blocked request costs almost nothing, so nothing upstream limits
+ * how many of them reach the resource; the bulkhead does. Callers over the limit wait in
+ * FIFO order for up to maxWait, then fail with BulkheadFullException (503) instead of piling up.
+ */
+public class Bulkhead {
+
+    /**
+     * Point-in-time usage, for /api/admin/bulkheads
+     */
+    public record Stats(int limit, int inFlight, int waiting, long rejected) {
+    }
+
+    private final String name;
+    private final int limit;
+    private final long maxWaitNanos;
+    private final Semaphore permits;
+    private final LongAdder rejected = new LongAdder();
+
+    public Bulkhead(String name, int limit, Duration maxWait) {
+        this.name = name;
+        this.limit = limit;
+        this.maxWaitNanos = maxWait.toNanos();
+        this.permits = new Semaphore(limit, true);
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Run the action holding one permit
+     */
+    public <T> T call(Supplier<T> action) {
+        acquire();
+        try {
+            return action.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * Take a permit (pair with release()); prefer call() where the section is one block
+     */
+    public void acquire() {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            rejected.increment();
+            throw new BulkheadFullException(name);
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public Stats stats() {
+        return new Stats(limit, limit - permits.availablePermits(), permits.getQueueLength(), rejected.sum());
+    }
+}
@@ -0,0 +1,126 @@
+package com.legaltech.judgment_comparator.config;
+
+import com.legaltech.judgment_comparator.concurrency.Bulkhead;
+import com.legaltech.judgment_comparator.concurrency.BulkheadDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Thread pools for CPU-heavy comparison work and bulk imports, and the bulkheads in front of
+ * the scarce resources
+ *
+ * spring.threads.virtual.enabled=true switches request handling (Tomcat) and async MVC
+ * responses to virtual threads. Blocking is then nearly free, so the bulkheads, not the
+ * thread pool size, decide how much work reaches the database and the CPU at once.
+ */
+@Configuration
+public class ConcurrencyConfig {
+
+    @Value("${judgment.bulkhead.max-wait:5000}")
+    private long bulkheadMaxWaitMillis;
+
+    /**
+     * Work-stealing pool for pairwise similarity computations
+     * Kept separate from the common pool so batch comparisons cannot starve other parallel streams
+     *
+     * judgment.compare.parallelism=0 means one worker per CPU core
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ForkJoinPool comparisonPool(@Value("${judgment.compare.parallelism:0}") int parallelism) {
+        int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        return new ForkJoinPool(workers);
+    }
+
+    /**
+     * Writer threads for bulk imports (one per running import)
+     * No queue: when every writer is busy a new import is rejected instead of waiting
+     */
+    @Bean
+    public ThreadPoolTaskExecutor importExecutor(@Value("${judgment.import.max-concurrent:2}") int maxConcurrent) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(maxConcurrent);
+        executor.setMaxPoolSize(maxConcurrent);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("judgment-import-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Threads for asynchronous MVC responses (NDJSON export)
+     * Boot's applicationTaskExecutor backs off because comparisonPool is an Executor bean,
+     * so it is declared here (see WebConfig)
+     */
+    @Bean
+    public AsyncTaskExecutor mvcTaskExecutor(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${judgment.async.pool-size:16}") int poolSize) {
+        if (virtualThreads) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("mvc-async-");
+            executor.setVirtualThreads(true);
+            return executor;
+        }
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setThreadNamePrefix("mvc-async-");
+        return executor;
+    }
+
+    /**
+     * Connections in use at once (sized like the connection pool, 0 = same as the pool)
+     * Static so the post-processor below can see it before the DataSource is created
+     */
+    @Bean
+    public static Bulkhead databaseBulkhead(@Value("${judgment.bulkhead.database:0}") int limit,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${judgment.bulkhead.max-wait:5000}") long maxWaitMillis) {
+        return new Bulkhead("database", limit > 0 ? limit : poolSize, Duration.ofMillis(maxWaitMillis));
+    }
+
+    /**
+     * Put the auto-configured DataSource behind databaseBulkhead
+     */
+    @Bean
+    public static BeanPostProcessor databaseBulkheadPostProcessor(
+            @Qualifier("databaseBulkhead") ObjectProvider<Bulkhead> databaseBulkhead) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+                    return new BulkheadDataSource(dataSource, databaseBulkhead.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    /**
+     * Similarity computations running at once (0 = one per comparison worker)
+     */
+    @Bean
+    public Bulkhead similarityBulkhead(@Value("${judgment.bulkhead.similarity:0}") int limit,
+            ForkJoinPool comparisonPool) {
+        return new Bulkhead("similarity", limit > 0 ? limit : comparisonPool.getParallelism(),
+                Duration.ofMillis(bulkheadMaxWaitMillis));
+    }
+
+    /**
+     * BCrypt hashes running at once (0 = one per CPU core)
+     */
+    @Bean
+    public Bulkhead passwordHashingBulkhead(@Value("${judgment.bulkhead.password-hashing:0}") int limit) {
+        return new Bulkhead("password-hashing", limit > 0 ? limit : Runtime.getRuntime().availableProcessors(),
+                Duration.ofMillis(bulkheadMaxWaitMillis));
+    }
+}
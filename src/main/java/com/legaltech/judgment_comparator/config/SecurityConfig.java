@@ -1,6 +1,9 @@
 package com.legaltech.judgment_comparator.config;
 
+import com.legaltech.judgment_comparator.concurrency.Bulkhead;
+import com.legaltech.judgment_comparator.security.BulkheadPasswordEncoder;
 import com.legaltech.judgment_comparator.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.servlet.ServletRegistrationBean;
@@ -38,6 +41,7 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final Bulkhead passwordHashingBulkhead;
 
     /**
      * H2 Console Registration
@@ -60,17 +64,24 @@ public class SecurityConfig {
                 .csrf(csrf -> csrf.disable())
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (long-poll results) were authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         // Public endpoints
                         .requestMatchers(
                                 "/api/auth/**",
                                 "/",
                                 "/health",
+                                "/livez",
+                                "/readyz",
                                 "/h2-console/**",
-                                "/error")
+                                "/error",
+                                // Actuator listens on the loopback-only management port
+                                "/actuator/**")
                         .permitAll()
                         // Protected endpoints
                         .requestMatchers("/api/judgments/**").authenticated()
                         .requestMatchers("/api/users/**").hasRole("ADMIN")
+                        .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -123,6 +134,6 @@ public class SecurityConfig {
      */
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new BulkheadPasswordEncoder(new BCryptPasswordEncoder(), passwordHashingBulkhead);
     }
 }
@@ -0,0 +1,61 @@
+package com.legaltech.judgment_comparator.config;
+
+import com.legaltech.judgment_comparator.analysis.DocumentFrequencies;
+import com.legaltech.judgment_comparator.analysis.KeywordDictionary;
+import com.legaltech.judgment_comparator.analysis.TermDictionary;
+import com.legaltech.judgment_comparator.similarity.JaccardSimilarityEngine;
+import com.legaltech.judgment_comparator.similarity.SimilarityEngine;
+import com.legaltech.judgment_comparator.similarity.SimilarityEngines;
+import com.legaltech.judgment_comparator.similarity.TfIdfSimilarityEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Similarity engines selectable per comparison request
+ */
+@Configuration
+public class SimilarityConfig {
+
+    /**
+     * Term ids shared by the index and the content store (which persists new terms)
+     */
+    @Bean
+    public TermDictionary termDictionary() {
+        return new TermDictionary();
+    }
+
+    /**
+     * Keyword ids, loaded from and extended by KeywordService
+     */
+    @Bean
+    public KeywordDictionary keywordDictionary() {
+        return new KeywordDictionary();
+    }
+
+    /**
+     * Corpus statistics for TF-IDF, kept current by JudgmentIndexService
+     */
+    @Bean
+    public DocumentFrequencies documentFrequencies() {
+        return new DocumentFrequencies();
+    }
+
+    @Bean
+    public JaccardSimilarityEngine jaccardSimilarityEngine() {
+        return new JaccardSimilarityEngine();
+    }
+
+    @Bean
+    public TfIdfSimilarityEngine tfIdfSimilarityEngine(DocumentFrequencies documentFrequencies) {
+        return new TfIdfSimilarityEngine(documentFrequencies);
+    }
+
+    @Bean
+    public SimilarityEngines similarityEngines(List<SimilarityEngine> engines,
+            @Value("${judgment.similarity.default-engine:jaccard}") String defaultEngine) {
+        return new SimilarityEngines(engines, defaultEngine);
+    }
+}
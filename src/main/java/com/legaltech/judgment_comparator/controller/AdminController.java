@@ -0,0 +1,50 @@
+package com.legaltech.judgment_comparator.controller;
+
+import com.legaltech.judgment_comparator.cache.BoundedCache;
+import com.legaltech.judgment_comparator.cache.CacheRegistry;
+import com.legaltech.judgment_comparator.concurrency.Bulkhead;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Admin-only operational endpoints
+ */
+@RestController
+@RequestMapping("/api/admin")
+@CrossOrigin(origins = "*")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminController {
+
+    private final CacheRegistry cacheRegistry;
+    private final List<Bulkhead> bulkheads;
+
+    /**
+     * GET /api/admin/caches - Size and hit/miss counters of every cache (Admin only)
+     */
+    @GetMapping("/caches")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, BoundedCache.Stats>> getCacheStats() {
+        log.info("GET /api/admin/caches");
+        return ResponseEntity.ok(cacheRegistry.stats());
+    }
+
+    /**
+     * GET /api/admin/bulkheads - Permits in use, waiters and rejections per bulkhead (Admin only)
+     */
+    @GetMapping("/bulkheads")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<Map<String, Bulkhead.Stats>> getBulkheadStats() {
+        log.info("GET /api/admin/bulkheads");
+        Map<String, Bulkhead.Stats> stats = new TreeMap<>();
+        bulkheads.forEach(bulkhead -> stats.put(bulkhead.name(), bulkhead.stats()));
+        return ResponseEntity.ok(stats);
+    }
+}
@@ -1,14 +1,36 @@
 package com.legaltech.judgment_comparator.controller;
 
+import com.legaltech.judgment_comparator.dto.BatchCompareRequest;
+import com.legaltech.judgment_comparator.dto.ComparisonJobPriority;
+import com.legaltech.judgment_comparator.dto.ComparisonJobReport;
+import com.legaltech.judgment_comparator.dto.CorpusStatistics;
+import com.legaltech.judgment_comparator.dto.CursorPage;
+import com.legaltech.judgment_comparator.dto.FacetedPage;
+import com.legaltech.judgment_comparator.dto.ImportReport;
+import com.legaltech.judgment_comparator.dto.JudgmentSummary;
+import com.legaltech.judgment_comparator.entity.ImportStatus;
 import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.ingest.ImportFormat;
+import com.legaltech.judgment_comparator.service.ComparisonJobService;
+import com.legaltech.judgment_comparator.service.JudgmentDiffService;
+import com.legaltech.judgment_comparator.service.JudgmentImportService;
 import com.legaltech.judgment_comparator.service.JudgmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
@@ -27,7 +49,17 @@ import java.util.Map;
 @RequiredArgsConstructor
 public class JudgmentController {
 
+    private static final int MAX_SIMILAR_RESULTS = 100;
+    private static final long MAX_JOB_WAIT_MILLIS = 60_000;
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv");
+
     private final JudgmentService judgmentService;
+    private final JudgmentImportService judgmentImportService;
+    private final ComparisonJobService comparisonJobService;
+    private final JudgmentDiffService judgmentDiffService;
+    private final JsonMapper jsonMapper;
 
     /**
      * POST /api/judgments - Upload new judgment
@@ -45,13 +77,86 @@ public class JudgmentController {
     }
 
     /**
-     * GET /api/judgments - Get all judgments
+     * POST /api/judgments/import?importId=batch-2024 - Bulk upload
+     * 
+     * Body: NDJSON (Content-Type: application/x-ndjson) or CSV with a header row (text/csv)
+     * Invalid records are skipped and reported; valid ones are inserted in batches.
+     * If the import fails, re-send the same file with the same importId to resume after the last checkpoint.
+     */
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ImportReport> importJudgments(
+            @RequestParam(required = false) String importId,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        ImportFormat format = contentType.isCompatibleWith(CSV)
+                ? ImportFormat.CSV
+                : ImportFormat.NDJSON;
+        log.info("POST /api/judgments/import?importId={} - {} import", importId, format);
+
+        ImportReport report = judgmentImportService.importJudgments(importId, format, body);
+        HttpStatus status = report.getStatus() == ImportStatus.COMPLETED
+                ? HttpStatus.OK
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        return new ResponseEntity<>(report, status);
+    }
+
+    /**
+     * GET /api/judgments/import/{importId} - Progress of a running import, or the result of a finished one
+     */
+    @GetMapping("/import/{importId}")
+    public ResponseEntity<ImportReport> getImportStatus(@PathVariable String importId) {
+        log.info("GET /api/judgments/import/{}", importId);
+        return ResponseEntity.ok(judgmentImportService.getImportStatus(importId));
+    }
+
+    /**
+     * GET /api/judgments?after=0&size=50&court=&year=&keyword= - Get judgment summaries page by page
+     * 
+     * Keyset pagination: pass the returned nextCursor as ?after= for the next page
+     * Optional court (any case), year and keyword (exact, any case) filters use the table's indexes
+     * Summaries leave out judgmentText; use GET /api/judgments/{id} for the full judgment
      */
     @GetMapping
-    public ResponseEntity<List<Judgment>> getAllJudgments() {
-        log.info("GET /api/judgments - Fetching all judgments");
-        List<Judgment> judgments = judgmentService.getAllJudgments();
-        return ResponseEntity.ok(judgments); // 200 OK
+    public ResponseEntity<CursorPage<JudgmentSummary>> getAllJudgments(
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size,
+            @RequestParam(required = false) String court,
+            @RequestParam(required = false) Integer year,
+            @RequestParam(required = false) String keyword) {
+        log.info("GET /api/judgments?after={}&size={}&court={}&year={}&keyword={} - Fetching judgments",
+                after, size, court, year, keyword);
+        CursorPage<JudgmentSummary> page = judgmentService.getJudgmentsPage(after, size, court, year, keyword);
+        return ResponseEntity.ok(page); // 200 OK
+    }
+
+    /**
+     * GET /api/judgments/stream - Every judgment summary as NDJSON (one JSON object per line)
+     * 
+     * Rows are streamed from the database straight to the response,
+     * so memory use does not depend on the size of the table
+     */
+    @GetMapping("/stream")
+    public ResponseEntity<StreamingResponseBody> streamJudgments() {
+        log.info("GET /api/judgments/stream - Streaming all judgments");
+        StreamingResponseBody body = out -> judgmentService.forEachJudgment(summary -> {
+            try {
+                out.write(jsonMapper.writeValueAsBytes(summary));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok().contentType(NDJSON).body(body);
+    }
+
+    /**
+     * GET /api/judgments/stats - Judgment counts by court, year and verdict category, average text length
+     * Read from in-memory counters; reconciledAt tells when they were last checked against the database
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<CorpusStatistics> getStatistics() {
+        log.info("GET /api/judgments/stats");
+        return ResponseEntity.ok(judgmentService.getStatistics());
     }
 
     /**
@@ -73,31 +178,184 @@ public class JudgmentController {
      * @RequestParam - Extracts query parameter from URL
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Judgment>> searchJudgments(@RequestParam String term) {
+    public ResponseEntity<List<JudgmentSummary>> searchJudgments(@RequestParam String term) {
         log.info("GET /api/judgments/search?term={}", term);
-        List<Judgment> results = judgmentService.searchJudgments(term);
+        List<JudgmentSummary> results = judgmentService.searchJudgments(term);
         return ResponseEntity.ok(results);
     }
 
     /**
-     * POST /api/judgments/compare?id1=1&id2=2
+     * GET /api/judgments/facets?term=article 21&court=Supreme Court&year=2017&year=2018&verdict=allowed
+     * Faceted search: repeat court/year/verdict to select several values (OR within a facet, AND across)
+     * Returns a page of summaries in id order plus counts per court, year and verdict category
+     */
+    @GetMapping("/facets")
+    public ResponseEntity<FacetedPage> facetedSearch(
+            @RequestParam(required = false) String term,
+            @RequestParam(required = false) List<String> court,
+            @RequestParam(required = false) List<Integer> year,
+            @RequestParam(required = false) List<String> verdict,
+            @RequestParam(required = false) Long after,
+            @RequestParam(defaultValue = "50") int size) {
+        log.info("GET /api/judgments/facets?term={}&court={}&year={}&verdict={}&after={}&size={}",
+                term, court, year, verdict, after, size);
+        return ResponseEntity.ok(judgmentService.facetedSearch(term, court, year, verdict, after, size));
+    }
+
+    /**
+     * POST /api/judgments/compare?id1=1&id2=2&engine=tfidf
      * CORE FEATURE - Compare two judgments
+     * engine: jaccard (default) or tfidf
      */
     @PostMapping("/compare")
     public ResponseEntity<Map<String, Object>> compareJudgments(
             @RequestParam Long id1,
-            @RequestParam Long id2) {
-        log.info("POST /api/judgments/compare?id1={}&id2={}", id1, id2);
+            @RequestParam Long id2,
+            @RequestParam(required = false) String engine) {
+        log.info("POST /api/judgments/compare?id1={}&id2={}&engine={}", id1, id2, engine);
 
         if (id1.equals(id2)) {
             return ResponseEntity.badRequest()
                     .body(Map.of("error", "Cannot compare a judgment with itself"));
         }
 
-        Map<String, Object> comparison = judgmentService.compareJudgments(id1, id2);
+        Map<String, Object> comparison = judgmentService.compareJudgments(id1, id2, engine);
         return ResponseEntity.ok(comparison);
     }
 
+    /**
+     * POST /api/judgments/compare/sections?id1=1&id2=2&threshold=60
+     * Paragraph-level comparison: identical and near-identical paragraphs with their offsets
+     * threshold: minimum similarity percentage of near-identical paragraphs (default 50)
+     */
+    @PostMapping("/compare/sections")
+    public ResponseEntity<Map<String, Object>> diffJudgments(
+            @RequestParam Long id1,
+            @RequestParam Long id2,
+            @RequestParam(required = false) Double threshold) {
+        log.info("POST /api/judgments/compare/sections?id1={}&id2={}&threshold={}", id1, id2, threshold);
+
+        if (id1.equals(id2)) {
+            throw new RuntimeException("Cannot compare a judgment with itself");
+        }
+
+        return ResponseEntity.ok(judgmentDiffService.diffJudgments(id1, id2, threshold));
+    }
+
+    /**
+     * POST /api/judgments/compare/jobs?id1=1&id2=2&engine=tfidf&priority=HIGH
+     * Queue a comparison and return at once (202) with a job id to poll
+     * priority: HIGH, NORMAL (default) or LOW; 429 when too many jobs are waiting
+     */
+    @PostMapping("/compare/jobs")
+    public ResponseEntity<ComparisonJobReport> submitComparisonJob(
+            @RequestParam Long id1,
+            @RequestParam Long id2,
+            @RequestParam(required = false) String engine,
+            @RequestParam(required = false) String priority) {
+        log.info("POST /api/judgments/compare/jobs?id1={}&id2={}&engine={}&priority={}", id1, id2, engine, priority);
+
+        if (id1.equals(id2)) {
+            throw new RuntimeException("Cannot compare a judgment with itself");
+        }
+
+        ComparisonJobReport job = comparisonJobService.submit(id1, id2, engine, ComparisonJobPriority.parse(priority));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/judgments/compare/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * GET /api/judgments/compare/jobs/{jobId}?wait=30000
+     * Job state, plus the comparison once COMPLETED
+     * wait (ms, max 60000): long-poll, answering as soon as the job finishes or the wait runs out
+     */
+    @GetMapping("/compare/jobs/{jobId}")
+    public DeferredResult<ResponseEntity<ComparisonJobReport>> getComparisonJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") long wait) {
+        log.info("GET /api/judgments/compare/jobs/{}?wait={}", jobId, wait);
+
+        if (wait < 0 || wait > MAX_JOB_WAIT_MILLIS) {
+            throw new RuntimeException("wait must be between 0 and " + MAX_JOB_WAIT_MILLIS + " ms");
+        }
+
+        ComparisonJobReport current = comparisonJobService.getJob(jobId);
+        if (wait == 0 || current.getStatus().isFinished()) {
+            DeferredResult<ResponseEntity<ComparisonJobReport>> result = new DeferredResult<>();
+            result.setResult(ResponseEntity.ok(current));
+            return result;
+        }
+
+        // No request thread is held while waiting
+        DeferredResult<ResponseEntity<ComparisonJobReport>> result = new DeferredResult<>(wait,
+                () -> ResponseEntity.ok(comparisonJobService.getJob(jobId)));
+        comparisonJobService.whenFinished(jobId).thenAccept(report -> result.setResult(ResponseEntity.ok(report)));
+        return result;
+    }
+
+    /**
+     * DELETE /api/judgments/compare/jobs/{jobId} - Cancel a queued or running job
+     */
+    @DeleteMapping("/compare/jobs/{jobId}")
+    public ResponseEntity<ComparisonJobReport> cancelComparisonJob(@PathVariable String jobId) {
+        log.info("DELETE /api/judgments/compare/jobs/{}", jobId);
+        return ResponseEntity.ok(comparisonJobService.cancel(jobId));
+    }
+
+    /**
+     * POST /api/judgments/compare/batch
+     * Body: {"anchorId": 1, "ids": [2, 3, 4]} - anchor vs each id
+     *       {"ids": [1, 2, 3, 4]}            - all pairs
+     *       optional "engine": "tfidf"
+     */
+    @PostMapping("/compare/batch")
+    public ResponseEntity<Map<String, Object>> compareBatch(@Valid @RequestBody BatchCompareRequest request) {
+        log.info("POST /api/judgments/compare/batch - anchor={}, {} ids",
+                request.getAnchorId(), request.getIds().size());
+        return ResponseEntity.ok(judgmentService.compareBatch(
+                request.getAnchorId(), request.getIds(), request.getEngine()));
+    }
+
+    /**
+     * GET /api/judgments/{id}/similar?k=20&engine=tfidf
+     * Most similar judgments (precedent finder), best match first
+     */
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<Map<String, Object>>> findSimilarJudgments(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "20") int k,
+            @RequestParam(required = false) String engine) {
+        log.info("GET /api/judgments/{}/similar?k={}&engine={}", id, k, engine);
+
+        if (k < 1 || k > MAX_SIMILAR_RESULTS) {
+            throw new RuntimeException("k must be between 1 and " + MAX_SIMILAR_RESULTS);
+        }
+
+        return ResponseEntity.ok(judgmentService.findSimilarJudgments(id, k, engine));
+    }
+
+    /**
+     * GET /api/judgments/{id}/rank?court=Supreme Court&yearFrom=2000&yearTo=2020&k=20
+     * Score the judgment against the whole corpus (or the filtered part), best match first
+     */
+    @GetMapping("/{id}/rank")
+    public ResponseEntity<List<Map<String, Object>>> rankJudgments(
+            @PathVariable Long id,
+            @RequestParam(required = false) String court,
+            @RequestParam(required = false) Integer yearFrom,
+            @RequestParam(required = false) Integer yearTo,
+            @RequestParam(defaultValue = "20") int k,
+            @RequestParam(required = false) String engine) {
+        log.info("GET /api/judgments/{}/rank?court={}&yearFrom={}&yearTo={}&k={}", id, court, yearFrom, yearTo, k);
+
+        if (k < 1 || k > MAX_SIMILAR_RESULTS) {
+            throw new RuntimeException("k must be between 1 and " + MAX_SIMILAR_RESULTS);
+        }
+
+        return ResponseEntity.ok(judgmentService.rankJudgments(id, court, yearFrom, yearTo, k, engine));
+    }
+
     /**
      * DELETE /api/judgments/{id} - Delete judgment
      */
@@ -1,6 +1,7 @@
 package com.legaltech.judgment_comparator.controller;
 
 import com.legaltech.judgment_comparator.entity.User;
+import com.legaltech.judgment_comparator.entity.UserRole;
 import com.legaltech.judgment_comparator.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -47,6 +48,30 @@ public class UserController {
         return ResponseEntity.ok(user);
     }
 
+    /**
+     * PUT /api/users/{id}/role?role=ADMIN - Change user role (Admin only)
+     */
+    @PutMapping("/{id}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<User> updateRole(@PathVariable Long id, @RequestParam UserRole role) {
+        log.info("PUT /api/users/{}/role?role={}", id, role);
+        User user = userService.updateRole(id, role);
+        user.setPassword("***");
+        return ResponseEntity.ok(user);
+    }
+
+    /**
+     * PUT /api/users/{id}/active?active=false - Activate/deactivate user (Admin only)
+     */
+    @PutMapping("/{id}/active")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<User> setActive(@PathVariable Long id, @RequestParam boolean active) {
+        log.info("PUT /api/users/{}/active?active={}", id, active);
+        User user = userService.setActive(id, active);
+        user.setPassword("***");
+        return ResponseEntity.ok(user);
+    }
+
     /**
      * DELETE /api/users/{id} - Delete user (Admin only)
      */
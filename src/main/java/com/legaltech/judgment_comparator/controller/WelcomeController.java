@@ -1,5 +1,10 @@
 package com.legaltech.judgment_comparator.controller;
 
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.actuate.endpoint.HealthEndpoint;
+import org.springframework.boot.health.contributor.Status;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -10,8 +15,11 @@ import java.util.Map;
  * Welcome/Health Check Controller
  */
 @RestController
+@RequiredArgsConstructor
 public class WelcomeController {
 
+    private final HealthEndpoint healthEndpoint;
+
     /**
      * GET / - Root endpoint
      */
@@ -30,9 +38,16 @@ public class WelcomeController {
 
     /**
      * GET /health - Health check
+     * status is the readiness status (503 unless UP); details at /readyz
      */
     @GetMapping("/health")
-    public Map<String, String> health() {
-        return Map.of("status", "UP");
+    public ResponseEntity<Map<String, String>> health() {
+        Status liveness = healthEndpoint.healthForPath("liveness").getStatus();
+        Status readiness = healthEndpoint.healthForPath("readiness").getStatus();
+        return ResponseEntity.status(Status.UP.equals(readiness) ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE)
+                .body(Map.of(
+                        "status", readiness.getCode(),
+                        "liveness", liveness.getCode(),
+                        "readiness", readiness.getCode()));
     }
 }
@@ -0,0 +1,23 @@
+package com.legaltech.judgment_comparator.diff;
+
+/**
+ * A paragraph of the first judgment matched to a paragraph of the second
+ *
+ * Offsets are char offsets [start, end) into each judgment's text.
+ *
+ * @param similarity estimated shingle overlap, 1.0 for identical paragraphs
+ * @param moved      true if the match is out of order relative to the other matches
+ *                   (the paragraph appears at a different place in the second judgment)
+ */
+public record AlignedSegment(
+        Type type,
+        int paragraph1, int start1, int end1,
+        int paragraph2, int start2, int end2,
+        double similarity,
+        boolean moved) {
+
+    public enum Type {
+        IDENTICAL, // same words in the same order (case, punctuation and spacing ignored)
+        SIMILAR    // shingle overlap at or above the threshold
+    }
+}
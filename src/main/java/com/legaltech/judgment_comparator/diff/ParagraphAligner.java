@@ -0,0 +1,242 @@
+package com.legaltech.judgment_comparator.diff;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Matches the paragraphs of two judgments
+ *
+ * 1. Identical paragraphs: a hash join on the exact paragraph hashes
+ * 2. Near-identical paragraphs: the remaining paragraphs of the first judgment are indexed by
+ *    their sketch values; each remaining paragraph of the second judgment counts the values it
+ *    shares with each candidate, estimates the similarity of the strongest candidates and takes
+ *    the best unused one at or above the threshold
+ * 3. Matches are put in first-judgment order; those outside the longest in-order run are "moved"
+ *
+ * Every step is linear in the number of paragraphs (plus O(m log m) over the m matches for
+ * step 3). Sketch values shared by more than MAX_POSTINGS paragraphs (boilerplate phrases)
+ * are skipped as candidates, which keeps step 2 linear on repetitive texts too.
+ */
+public final class ParagraphAligner {
+
+    /**
+     * Paragraphs with fewer words (headings, "ORDER", numbering) are never matched
+     */
+    public static final int MIN_WORDS = 3;
+
+    private static final int MAX_POSTINGS = 64;
+
+    private ParagraphAligner() {
+    }
+
+    /**
+     * @param threshold minimum estimated similarity (0..1) of a near-identical match
+     * @return matches in first-judgment order
+     */
+    public static List<AlignedSegment> align(ParagraphFingerprints a, ParagraphFingerprints b, double threshold) {
+        int[] matchOf = new int[a.paragraphCount()]; // paragraph of b matched to each paragraph of a, or -1
+        double[] similarityOf = new double[a.paragraphCount()];
+        boolean[] identical = new boolean[a.paragraphCount()];
+        Arrays.fill(matchOf, -1);
+        boolean[] matchedB = new boolean[b.paragraphCount()];
+
+        matchIdentical(a, b, matchOf, similarityOf, identical, matchedB);
+        matchSimilar(a, b, threshold, matchOf, similarityOf, matchedB);
+
+        int count = 0;
+        for (int match : matchOf) {
+            if (match >= 0) {
+                count++;
+            }
+        }
+        int[] paragraphs1 = new int[count];
+        int[] paragraphs2 = new int[count];
+        for (int p = 0, n = 0; p < matchOf.length; p++) {
+            if (matchOf[p] >= 0) {
+                paragraphs1[n] = p;
+                paragraphs2[n++] = matchOf[p];
+            }
+        }
+        boolean[] inOrder = longestIncreasingRun(paragraphs2);
+
+        List<AlignedSegment> segments = new ArrayList<>(count);
+        for (int n = 0; n < count; n++) {
+            int p = paragraphs1[n];
+            int q = paragraphs2[n];
+            double similarity = similarityOf[p];
+            segments.add(new AlignedSegment(
+                    identical[p] ? AlignedSegment.Type.IDENTICAL : AlignedSegment.Type.SIMILAR,
+                    p, a.start(p), a.end(p),
+                    q, b.start(q), b.end(q),
+                    similarity,
+                    !inOrder[n]));
+        }
+        return segments;
+    }
+
+    /**
+     * Pair paragraphs with equal exact hashes, first occurrence with first occurrence
+     */
+    private static void matchIdentical(ParagraphFingerprints a, ParagraphFingerprints b,
+            int[] matchOf, double[] similarityOf, boolean[] identical, boolean[] matchedB) {
+        Map<Long, IntList> byHash = new HashMap<>();
+        for (int p = 0; p < a.paragraphCount(); p++) {
+            if (a.wordCount(p) >= MIN_WORDS) {
+                byHash.computeIfAbsent(a.exactHash(p), h -> new IntList()).add(p);
+            }
+        }
+        for (int q = 0; q < b.paragraphCount(); q++) {
+            if (b.wordCount(q) < MIN_WORDS) {
+                continue;
+            }
+            IntList candidates = byHash.get(b.exactHash(q));
+            if (candidates == null) {
+                continue;
+            }
+            // A word count mismatch is a hash collision: skip that candidate for this q only
+            for (int k = 0; k < candidates.size(); k++) {
+                int p = candidates.get(k);
+                if (a.wordCount(p) == b.wordCount(q)) {
+                    candidates.remove(k);
+                    matchOf[p] = q;
+                    similarityOf[p] = 1.0;
+                    identical[p] = true;
+                    matchedB[q] = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Pair the remaining paragraphs by sketch overlap, greedily in second-judgment order
+     */
+    private static void matchSimilar(ParagraphFingerprints a, ParagraphFingerprints b, double threshold,
+            int[] matchOf, double[] similarityOf, boolean[] matchedB) {
+        Map<Integer, IntList> postings = new HashMap<>();
+        for (int p = 0; p < a.paragraphCount(); p++) {
+            if (matchOf[p] < 0 && a.wordCount(p) >= MIN_WORDS) {
+                for (int i = a.sketchStart(p); i < a.sketchEnd(p); i++) {
+                    postings.computeIfAbsent(a.sketchValue(i), v -> new IntList()).add(p);
+                }
+            }
+        }
+
+        int[] shared = new int[a.paragraphCount()]; // sketch values shared with the current q
+        int[] touched = new int[a.paragraphCount()];
+        for (int q = 0; q < b.paragraphCount(); q++) {
+            if (matchedB[q] || b.wordCount(q) < MIN_WORDS) {
+                continue;
+            }
+            // Count shared sketch values per candidate (cheap), then estimate only the strongest ones
+            int touchedCount = 0;
+            int maxShared = 0;
+            for (int i = b.sketchStart(q); i < b.sketchEnd(q); i++) {
+                IntList list = postings.get(b.sketchValue(i));
+                if (list == null || list.size() > MAX_POSTINGS) {
+                    continue;
+                }
+                for (int k = 0; k < list.size(); k++) {
+                    int p = list.get(k);
+                    if (matchOf[p] >= 0) {
+                        continue;
+                    }
+                    if (shared[p]++ == 0) {
+                        touched[touchedCount++] = p;
+                    }
+                    maxShared = Math.max(maxShared, shared[p]);
+                }
+            }
+
+            int best = -1;
+            double bestSimilarity = threshold;
+            for (int t = 0; t < touchedCount; t++) {
+                int p = touched[t];
+                if (2 * shared[p] >= maxShared) {
+                    double similarity = ParagraphFingerprints.similarity(a, p, b, q);
+                    if (similarity >= bestSimilarity && (best < 0 || similarity > bestSimilarity)) {
+                        best = p;
+                        bestSimilarity = similarity;
+                    }
+                }
+                shared[p] = 0;
+            }
+            if (best >= 0) {
+                matchOf[best] = q;
+                similarityOf[best] = bestSimilarity;
+                matchedB[q] = true;
+            }
+        }
+    }
+
+    /**
+     * Mark the longest strictly increasing subsequence (patience sorting, O(n log n))
+     */
+    private static boolean[] longestIncreasingRun(int[] values) {
+        int n = values.length;
+        int[] tails = new int[n];      // index of the smallest tail of each run length
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            int lo = 0, hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[tails[mid]] < values[i]) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+        boolean[] inRun = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            inRun[i] = true;
+        }
+        return inRun;
+    }
+
+    /**
+     * Growable int list with a removable head, so paragraph indexes are not boxed
+     */
+    private static final class IntList {
+
+        private int[] values = new int[2];
+        private int head;
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int get(int index) {
+            return values[head + index];
+        }
+
+        int size() {
+            return size - head;
+        }
+
+        /**
+         * Remove one value, keeping the order of the rest (O(1) for the first)
+         */
+        void remove(int index) {
+            if (index == 0) {
+                head++;
+            } else {
+                System.arraycopy(values, head + index + 1, values, head + index, size - head - index - 1);
+                size--;
+            }
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.legaltech.judgment_comparator.diff;
+
+import java.util.Arrays;
+
+/**
+ * Paragraph boundaries and hashes of one judgment text, computed in a single pass
+ *
+ * A paragraph ends at a blank line; paragraphs longer than maxParagraphChars are cut at the
+ * next sentence end, so texts without blank lines still split into comparable blocks.
+ * Per paragraph we keep:
+ * - an exact hash of its words (case, punctuation and whitespace ignored)
+ * - a bottom-k sketch of its word shingles (the k smallest shingle hashes), whose overlap
+ *   estimates the Jaccard similarity of the shingle sets
+ *
+ * Offsets are char offsets into the text [start, end), as returned by GET /api/judgments/{id}.
+ * Immutable once built, so instances can be cached and shared between requests.
+ */
+public final class ParagraphFingerprints {
+
+    /**
+     * Words per shingle
+     */
+    public static final int SHINGLE_SIZE = 3;
+
+    /**
+     * Shingle hashes kept per paragraph
+     */
+    public static final int SKETCH_SIZE = 32;
+
+    private final int[] starts;
+    private final int[] ends;
+    private final int[] wordCounts;
+    private final long[] exactHashes;
+
+    /**
+     * Sketch of paragraph p is sketches[sketchOffsets[p] .. sketchOffsets[p + 1]), ascending
+     */
+    private final int[] sketchOffsets;
+    private final int[] sketches;
+
+    private final int length;
+
+    private ParagraphFingerprints(Builder builder, int length) {
+        int count = builder.count;
+        this.starts = Arrays.copyOf(builder.starts, count);
+        this.ends = Arrays.copyOf(builder.ends, count);
+        this.wordCounts = Arrays.copyOf(builder.wordCounts, count);
+        this.exactHashes = Arrays.copyOf(builder.exactHashes, count);
+        this.sketchOffsets = Arrays.copyOf(builder.sketchOffsets, count + 1);
+        this.sketches = Arrays.copyOf(builder.sketches, builder.sketchOffsets[count]);
+        this.length = length;
+    }
+
+    /**
+     * Split and hash a text in one linear scan
+     * Works on any CharSequence, so content-store views are read in place without a String copy
+     */
+    public static ParagraphFingerprints of(CharSequence text, int maxParagraphChars) {
+        Builder builder = new Builder();
+        int end = text.length();
+
+        int paragraphStart = -1;   // first non-blank char of the current paragraph
+        int paragraphEnd = 0;      // just past its last non-blank char
+        int newlines = 0;          // newlines since the last non-blank char
+        boolean sentenceEnd = false;  // last non-blank char ends a sentence
+        boolean sentenceBreak = false; // ... and whitespace followed it
+
+        long wordHash = 0;
+        boolean inWord = false;
+
+        for (int i = 0; i <= end; i++) {
+            char c = i < end ? text.charAt(i) : '\n';
+            boolean wordChar = i < end && Character.isLetterOrDigit(c);
+
+            if (wordChar) {
+                wordHash = 31 * wordHash + Character.toLowerCase(c);
+                inWord = true;
+            } else if (inWord) {
+                builder.word(mix(wordHash));
+                wordHash = 0;
+                inWord = false;
+            }
+
+            if (i == end) {
+                break;
+            }
+            if (Character.isWhitespace(c)) {
+                if (c == '\n' && ++newlines == 2 && paragraphStart >= 0) {
+                    builder.paragraph(paragraphStart, paragraphEnd);
+                    paragraphStart = -1;
+                }
+                sentenceBreak |= sentenceEnd;
+            } else {
+                if (paragraphStart < 0) {
+                    paragraphStart = i;
+                } else if (sentenceBreak && i - paragraphStart >= maxParagraphChars) {
+                    // Over-long paragraph: cut at this sentence boundary
+                    builder.paragraph(paragraphStart, paragraphEnd);
+                    paragraphStart = i;
+                }
+                paragraphEnd = i + 1;
+                newlines = 0;
+                sentenceEnd = c == '.' || c == '?' || c == '!' || c == ';';
+                sentenceBreak = false;
+            }
+        }
+        if (paragraphStart >= 0) {
+            builder.paragraph(paragraphStart, paragraphEnd);
+        }
+        return new ParagraphFingerprints(builder, end);
+    }
+
+    public int paragraphCount() {
+        return starts.length;
+    }
+
+    /**
+     * Length of the fingerprinted text
+     */
+    public int length() {
+        return length;
+    }
+
+    public int start(int paragraph) {
+        return starts[paragraph];
+    }
+
+    public int end(int paragraph) {
+        return ends[paragraph];
+    }
+
+    public int wordCount(int paragraph) {
+        return wordCounts[paragraph];
+    }
+
+    public long exactHash(int paragraph) {
+        return exactHashes[paragraph];
+    }
+
+    public int sketchStart(int paragraph) {
+        return sketchOffsets[paragraph];
+    }
+
+    public int sketchEnd(int paragraph) {
+        return sketchOffsets[paragraph + 1];
+    }
+
+    public int sketchValue(int index) {
+        return sketches[index];
+    }
+
+    /**
+     * Estimated Jaccard similarity of two paragraphs' shingle sets (0..1)
+     * Standard bottom-k estimator: of the k smallest hashes of the union, the share present in both
+     */
+    public static double similarity(ParagraphFingerprints a, int p, ParagraphFingerprints b, int q) {
+        int i = a.sketchStart(p), iEnd = a.sketchEnd(p);
+        int j = b.sketchStart(q), jEnd = b.sketchEnd(q);
+        int union = 0;
+        int shared = 0;
+        while (union < SKETCH_SIZE && (i < iEnd || j < jEnd)) {
+            if (j == jEnd || (i < iEnd && a.sketches[i] < b.sketches[j])) {
+                i++;
+            } else if (i == iEnd || a.sketches[i] > b.sketches[j]) {
+                j++;
+            } else {
+                shared++;
+                i++;
+                j++;
+            }
+            union++;
+        }
+        return union == 0 ? 0 : (double) shared / union;
+    }
+
+    /**
+     * 64-bit finalizer from MurmurHash3
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * Growable per-paragraph arrays plus the state of the paragraph being scanned
+     */
+    private static final class Builder {
+
+        int count;
+        int[] starts = new int[16];
+        int[] ends = new int[16];
+        int[] wordCounts = new int[16];
+        long[] exactHashes = new long[16];
+        int[] sketchOffsets = new int[17];
+        int[] sketches = new int[16 * SKETCH_SIZE];
+
+        // Current paragraph
+        private int words;
+        private long exact;
+        private final long[] window = new long[SHINGLE_SIZE];
+        private final int[] sketch = new int[SKETCH_SIZE];
+        private int sketchSize;
+
+        void word(long hash) {
+            exact = 31 * exact + hash;
+            window[words % SHINGLE_SIZE] = hash;
+            words++;
+            if (words >= SHINGLE_SIZE) {
+                offer(shingle(words));
+            }
+        }
+
+        /**
+         * Hash of the last SHINGLE_SIZE words (or of all words, if fewer), in order
+         */
+        private int shingle(int wordsSoFar) {
+            int n = Math.min(wordsSoFar, SHINGLE_SIZE);
+            long h = 0;
+            for (int k = wordsSoFar - n; k < wordsSoFar; k++) {
+                h = h * 0x9E3779B97F4A7C15L + window[k % SHINGLE_SIZE];
+            }
+            return (int) (mix(h) >>> 32);
+        }
+
+        /**
+         * Keep the SKETCH_SIZE smallest distinct shingle hashes
+         * Most hashes are larger than the current maximum, so this is O(1) for almost every word
+         */
+        private void offer(int value) {
+            if (sketchSize == SKETCH_SIZE && value >= sketch[SKETCH_SIZE - 1]) {
+                return;
+            }
+            int pos = Arrays.binarySearch(sketch, 0, sketchSize, value);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            int moved = Math.min(sketchSize, SKETCH_SIZE - 1) - pos;
+            System.arraycopy(sketch, pos, sketch, pos + 1, moved);
+            sketch[pos] = value;
+            if (sketchSize < SKETCH_SIZE) {
+                sketchSize++;
+            }
+        }
+
+        void paragraph(int start, int end) {
+            if (words > 0 && words < SHINGLE_SIZE) {
+                offer(shingle(words)); // short paragraph: one shingle of all its words
+            }
+            if (count == starts.length) {
+                int capacity = count * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                ends = Arrays.copyOf(ends, capacity);
+                wordCounts = Arrays.copyOf(wordCounts, capacity);
+                exactHashes = Arrays.copyOf(exactHashes, capacity);
+                sketchOffsets = Arrays.copyOf(sketchOffsets, capacity + 1);
+            }
+            int offset = sketchOffsets[count];
+            if (offset + sketchSize > sketches.length) {
+                sketches = Arrays.copyOf(sketches, Math.max(sketches.length * 2, offset + sketchSize));
+            }
+            System.arraycopy(sketch, 0, sketches, offset, sketchSize);
+
+            starts[count] = start;
+            ends[count] = end;
+            wordCounts[count] = words;
+            exactHashes[count] = exact;
+            sketchOffsets[count + 1] = offset + sketchSize;
+            count++;
+
+            words = 0;
+            exact = 0;
+            sketchSize = 0;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.legaltech.judgment_comparator.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Request DTO for batch comparison
+ * With anchorId: anchor vs each id (one-vs-many)
+ * Without anchorId: every pair of ids (all-pairs matrix)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchCompareRequest {
+
+    private Long anchorId;
+
+    @NotEmpty(message = "At least one judgment id is required")
+    @Size(max = 500, message = "At most 500 judgment ids per batch")
+    private List<@NotNull Long> ids;
+
+    /**
+     * Similarity engine (jaccard, tfidf); null for the default
+     */
+    private String engine;
+}
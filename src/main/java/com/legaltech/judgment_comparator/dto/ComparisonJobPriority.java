@@ -0,0 +1,26 @@
+package com.legaltech.judgment_comparator.dto;
+
+import java.util.Locale;
+
+/**
+ * Queue order of comparison jobs (same priority: first come, first served)
+ */
+public enum ComparisonJobPriority {
+    HIGH,
+    NORMAL,
+    LOW;
+
+    /**
+     * Priority from a request parameter (null = NORMAL)
+     */
+    public static ComparisonJobPriority parse(String value) {
+        if (value == null || value.isBlank()) {
+            return NORMAL;
+        }
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Unknown priority: " + value + " (use HIGH, NORMAL or LOW)");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.legaltech.judgment_comparator.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Response DTO for asynchronous comparison jobs (current state, plus the result once done)
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ComparisonJobReport {
+    private String jobId;
+    private ComparisonJobState status;
+    private ComparisonJobPriority priority;
+    private Long id1;
+    private Long id2;
+    private String engine;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /**
+     * Same shape as POST /api/judgments/compare (COMPLETED only)
+     */
+    private Map<String, Object> result;
+
+    /**
+     * Why the comparison failed (FAILED only)
+     */
+    private String error;
+}
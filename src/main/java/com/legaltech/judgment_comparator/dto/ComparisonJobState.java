@@ -0,0 +1,16 @@
+package com.legaltech.judgment_comparator.dto;
+
+/**
+ * Lifecycle of an asynchronous comparison job
+ */
+public enum ComparisonJobState {
+    QUEUED,
+    RUNNING,
+    COMPLETED,
+    FAILED,
+    CANCELLED;
+
+    public boolean isFinished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,23 @@
+package com.legaltech.judgment_comparator.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Judgment counts and average text length, as kept by CorpusStatisticsService
+ *
+ * @param byCourt        judgments per court, most first
+ * @param byYear         judgments per year, ascending
+ * @param byVerdict      judgments per verdict category (a verdict can be in several, so these may add up to more than total)
+ * @param reconciledAt   last check against the database (null before the first one)
+ * @param lastCorrection sum of the absolute corrections that check made (0 = no drift)
+ */
+public record CorpusStatistics(
+        long total,
+        double averageTextLength,
+        Map<String, Long> byCourt,
+        Map<Integer, Long> byYear,
+        Map<String, Long> byVerdict,
+        LocalDateTime reconciledAt,
+        long lastCorrection) {
+}
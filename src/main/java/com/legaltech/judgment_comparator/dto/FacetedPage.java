@@ -0,0 +1,23 @@
+package com.legaltech.judgment_comparator.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One page of a faceted search plus the facet counts of the whole result
+ * Pages by id like CursorPage: pass nextCursor as ?after= (null means this was the last page)
+ *
+ * @param total    judgments matching the query and every filter
+ * @param courts   matches per court, most first (ignoring the court filter)
+ * @param years    matches per year, ascending (ignoring the year filter)
+ * @param verdicts matches per verdict category (ignoring the verdict filter)
+ */
+public record FacetedPage(
+        List<JudgmentSummary> content,
+        int size,
+        Long nextCursor,
+        long total,
+        Map<String, Long> courts,
+        Map<Integer, Long> years,
+        Map<String, Long> verdicts) {
+}
@@ -0,0 +1,48 @@
+package com.legaltech.judgment_comparator.dto;
+
+import com.legaltech.judgment_comparator.entity.ImportStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Response DTO for bulk imports (final result or live progress)
+ * Counters are cumulative across resumed runs of the same importId
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReport {
+    private String importId;
+    private ImportStatus status;
+
+    /**
+     * Record number this run started after (0 for a fresh import)
+     */
+    private long resumedAfter;
+
+    private long recordsRead;
+    private long recordsImported;
+    private long recordsRejected;
+
+    /**
+     * Last committed record; resume point if the import fails
+     */
+    private long checkpoint;
+
+    /**
+     * First rejected records with their reasons
+     */
+    private List<String> errors;
+
+    /**
+     * First records saved as duplicates (judgment.duplicates.mode=FLAG):
+     * record number -> id of the judgment they repeat
+     */
+    private Map<Long, Long> duplicates;
+}
@@ -0,0 +1,33 @@
+package com.legaltech.judgment_comparator.dto;
+
+import com.legaltech.judgment_comparator.entity.Judgment;
+
+import java.time.LocalDateTime;
+
+/**
+ * Lightweight view of a judgment: everything except the text
+ * Used by list and search responses; the full text is only returned by GET /api/judgments/{id}
+ * 
+ * Repository queries select these columns directly (JPQL constructor expression),
+ * so the text column is never read.
+ */
+public record JudgmentSummary(
+        Long id,
+        String caseName,
+        String court,
+        Integer year,
+        String keywords,
+        String verdict,
+        LocalDateTime uploadedAt) {
+
+    /**
+     * JPQL select list matching the constructor above
+     */
+    public static final String SELECT = "SELECT new com.legaltech.judgment_comparator.dto.JudgmentSummary("
+            + "j.id, j.caseName, j.court, j.year, j.keywords, j.verdict, j.uploadedAt) FROM Judgment j ";
+
+    public static JudgmentSummary from(Judgment judgment) {
+        return new JudgmentSummary(judgment.getId(), judgment.getCaseName(), judgment.getCourt(),
+                judgment.getYear(), judgment.getKeywords(), judgment.getVerdict(), judgment.getUploadedAt());
+    }
+}
@@ -0,0 +1,47 @@
+package com.legaltech.judgment_comparator.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Progress of a bulk import, committed together with every batch
+ * Re-sending the same file with the same importId resumes after lastRecord
+ */
+@Entity
+@Table(name = "import_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportCheckpoint {
+
+    @Id
+    @Column(name = "import_id", length = 64)
+    private String importId;
+
+    /**
+     * Highest input record number whose batch has been committed
+     */
+    @Column(name = "last_record", nullable = false)
+    private long lastRecord;
+
+    @Column(name = "records_imported", nullable = false)
+    private long recordsImported;
+
+    @Column(name = "records_rejected", nullable = false)
+    private long recordsRejected;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private ImportStatus status;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
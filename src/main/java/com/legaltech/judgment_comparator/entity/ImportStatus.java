@@ -0,0 +1,10 @@
+package com.legaltech.judgment_comparator.entity;
+
+/**
+ * Lifecycle of a bulk import
+ */
+public enum ImportStatus {
+    RUNNING, // Records are being written
+    COMPLETED, // Whole input processed
+    FAILED // Stopped early; can be resumed from its checkpoint
+}
@@ -1,23 +1,41 @@
 package com.legaltech.judgment_comparator.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import lombok.*;
 
 import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Entity class representing a Court Judgment
+ *
+ * Court and year filters each have an index ending in id, so a keyset page is a range seek
+ * that stops after one page (see JudgmentRepository). Keep in sync with db/migration.
  */
 @Entity
-@Table(name = "judgments")
+@Table(name = "judgments", indexes = {
+        @Index(name = "idx_judgments_court_key", columnList = "court_key, id"),
+        @Index(name = "idx_judgments_year", columnList = "judgment_year, id"),
+        @Index(name = "idx_judgments_court_key_year", columnList = "court_key, judgment_year, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Judgment {
 
+    /**
+     * Sequence with a pooled optimizer: one round trip hands out 50 ids,
+     * and unlike IDENTITY it lets Hibernate batch the inserts
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "judgment_seq")
+    @SequenceGenerator(name = "judgment_seq", sequenceName = "judgment_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Case name is required")
@@ -29,6 +47,14 @@ public class Judgment {
     @Column(nullable = false)
     private String court;
 
+    /**
+     * Case-folded court, so court filters are an indexed equality instead of UPPER(court) = ?
+     * Maintained from court on every insert and update
+     */
+    @JsonIgnore
+    @Column(name = "court_key", nullable = false)
+    private String courtKey;
+
     /**
      * FIX: Use backticks to escape "year" (reserved keyword in H2)
      */
@@ -38,21 +64,78 @@ public class Judgment {
     @Column(name = "judgment_year", nullable = false) // ✅ Changed from "year" to "judgment_year"
     private Integer year;
 
+    /**
+     * Not a column: the text lives in the content store (see contentPointer)
+     * Set on upload and filled in by JudgmentService.getJudgmentById
+     */
     @NotBlank(message = "Judgment text is required")
-    @Column(name = "judgment_text", nullable = false, columnDefinition = "TEXT")
+    @Transient
     private String judgmentText;
 
+    /**
+     * Record of the text and term vector in JudgmentContentStore
+     */
+    @JsonIgnore
+    @Column(name = "content_pointer", nullable = false)
+    private Long contentPointer;
+
+    /**
+     * Keywords as uploaded (comma-separated), returned to clients as is
+     * Matching goes through keywordIds
+     */
     @Column(length = 1000)
     private String keywords;
 
+    /**
+     * Ids of the normalized keywords (see KeywordService.resolve), one judgment_keywords row each
+     * (keyword_id, judgment_id) serves keyword lookups, (judgment_id) loads by judgment. Under Flyway
+     * the first is V3's primary key; Hibernate's generated schema puts judgment_id first in the
+     * primary key, so the keyword index is declared here as well.
+     * Lazy: the search index loads them in bulk (JudgmentRepository.findKeywordIds)
+     */
+    @JsonIgnore
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    @ElementCollection
+    @CollectionTable(name = "judgment_keywords",
+            joinColumns = @JoinColumn(name = "judgment_id"),
+            indexes = {
+                    @Index(name = "idx_judgment_keywords_keyword", columnList = "keyword_id, judgment_id"),
+                    @Index(name = "idx_judgment_keywords_judgment", columnList = "judgment_id")
+            })
+    @Column(name = "keyword_id", nullable = false)
+    private Set<Integer> keywordIds = new HashSet<>();
+
     @Column(length = 500)
     private String verdict;
 
     @Column(name = "uploaded_at", updatable = false)
     private LocalDateTime uploadedAt;
 
+    /**
+     * Not a column: set in the upload response when an existing judgment has the same or nearly
+     * the same text (judgment.duplicates.mode=FLAG), to that judgment's id
+     */
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Long duplicateOf;
+
     @PrePersist
     protected void onCreate() {
         uploadedAt = LocalDateTime.now();
+        courtKey = courtKeyOf(court);
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        courtKey = courtKeyOf(court);
+    }
+
+    /**
+     * Key stored in court_key for a court name (trimmed, lower case)
+     */
+    public static String courtKeyOf(String court) {
+        return court == null ? null : court.trim().toLowerCase(Locale.ROOT);
     }
 }
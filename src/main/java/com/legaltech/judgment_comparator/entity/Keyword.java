@@ -0,0 +1,23 @@
+package com.legaltech.judgment_comparator.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One distinct keyword, case-folded (see KeywordDictionary.parse)
+ * Judgments refer to keywords by id through the judgment_keywords table
+ */
+@Entity
+@Table(name = "keywords")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Keyword {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Integer id;
+
+    @Column(unique = true, nullable = false)
+    private String name;
+}
@@ -0,0 +1,11 @@
+package com.legaltech.judgment_comparator.exception;
+
+/**
+ * A bulkhead stayed full for longer than its maximum wait (mapped to 503 Service Unavailable)
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String bulkhead) {
+        super("Server busy (" + bulkhead + "), please retry");
+    }
+}
@@ -0,0 +1,28 @@
+package com.legaltech.judgment_comparator.exception;
+
+import com.legaltech.judgment_comparator.index.DuplicateIndex;
+import lombok.Getter;
+
+/**
+ * An upload repeats an existing judgment and duplicates are rejected (mapped to 409 Conflict)
+ * match is null when the judgment it repeats has not been saved yet
+ */
+@Getter
+public class DuplicateJudgmentException extends RuntimeException {
+
+    private final DuplicateIndex.Match match;
+
+    public DuplicateJudgmentException(DuplicateIndex.Match match) {
+        super((match.exact() ? "Same text as judgment " : "Near-duplicate of judgment ") + match.id()
+                + (match.exact() ? "" : " (" + match.distance() + " bits apart)"));
+        this.match = match;
+    }
+
+    /**
+     * A copy of a judgment that has no id yet (e.g. an earlier record of the same import)
+     */
+    public DuplicateJudgmentException(String message) {
+        super(message);
+        this.match = null;
+    }
+}
@@ -1,13 +1,16 @@
 package com.legaltech.judgment_comparator.exception;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.Map;
@@ -46,6 +49,78 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handle a full bulkhead: the server is overloaded, not the request wrong
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<Map<String, Object>> handleBulkheadFull(BulkheadFullException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.put("error", "Service Unavailable");
+        response.put("message", ex.getMessage());
+
+        log.warn("Rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
+    /**
+     * Handle a transaction that could not start
+     * The database bulkhead throws while the transaction opens its connection, and the
+     * transaction manager wraps that, so look for it among the causes to still answer 503
+     */
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<Map<String, Object>> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof BulkheadFullException bulkheadFull) {
+                return handleBulkheadFull(bulkheadFull);
+            }
+        }
+        return handleRuntimeException(ex);
+    }
+
+    /**
+     * Handle a full job queue: the client should back off and resubmit
+     */
+    @ExceptionHandler(JobQueueFullException.class)
+    public ResponseEntity<Map<String, Object>> handleJobQueueFull(JobQueueFullException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        response.put("error", "Too Many Requests");
+        response.put("message", ex.getMessage());
+
+        log.warn("Rejected: {}", ex.getMessage());
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(response);
+    }
+
+    /**
+     * Handle a rejected duplicate upload: points the client at the existing judgment
+     */
+    @ExceptionHandler(DuplicateJudgmentException.class)
+    public ResponseEntity<Map<String, Object>> handleDuplicateJudgment(DuplicateJudgmentException ex) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("timestamp", LocalDateTime.now());
+        response.put("status", HttpStatus.CONFLICT.value());
+        response.put("error", "Conflict");
+        response.put("message", ex.getMessage());
+
+        log.warn("Rejected: {}", ex.getMessage());
+        if (ex.getMatch() == null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+        response.put("duplicateOf", ex.getMatch().id());
+        response.put("exact", ex.getMatch().exact());
+        response.put("distance", ex.getMatch().distance());
+        return ResponseEntity.status(HttpStatus.CONFLICT)
+                .location(URI.create("/api/judgments/" + ex.getMatch().id()))
+                .body(response);
+    }
+
     /**
      * Handle RuntimeException (from service layer)
      */
@@ -0,0 +1,11 @@
+package com.legaltech.judgment_comparator.exception;
+
+/**
+ * Too many jobs are already waiting (mapped to 429 Too Many Requests)
+ */
+public class JobQueueFullException extends RuntimeException {
+
+    public JobQueueFullException(int capacity) {
+        super("Too many queued comparison jobs (limit " + capacity + "), please retry later");
+    }
+}
@@ -0,0 +1,61 @@
+package com.legaltech.judgment_comparator.health;
+
+import com.legaltech.judgment_comparator.concurrency.Bulkhead;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.health.contributor.AbstractHealthIndicator;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Connection pool saturation (part of readiness)
+ *
+ * OUT_OF_SERVICE while the pool has not opened its connections yet, and while it is saturated:
+ * at least max-saturation of the connections in use with callers queued for one.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConnectionPoolHealthIndicator extends AbstractHealthIndicator {
+
+    private final DataSource dataSource;
+    private final Bulkhead databaseBulkhead;
+
+    @Value("${judgment.health.pool.max-saturation:1.0}")
+    private double maxSaturation;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) throws SQLException {
+        Bulkhead.Stats permits = databaseBulkhead.stats();
+        builder.withDetail("bulkhead", permits);
+
+        HikariPoolMXBean pool = dataSource.isWrapperFor(HikariDataSource.class)
+                ? dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean()
+                : null;
+        if (pool == null) {
+            builder.outOfService().withDetail("reason", "connection pool not started");
+            return;
+        }
+
+        int max = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        int active = pool.getActiveConnections();
+        int waiting = pool.getThreadsAwaitingConnection() + permits.waiting();
+        double saturation = max == 0 ? 1 : (double) active / max;
+        builder.withDetail("active", active)
+                .withDetail("idle", pool.getIdleConnections())
+                .withDetail("total", pool.getTotalConnections())
+                .withDetail("max", max)
+                .withDetail("waiting", waiting)
+                .withDetail("saturation", Math.round(saturation * 100) / 100.0);
+
+        if (saturation >= maxSaturation && waiting > 0) {
+            builder.outOfService().withDetail("reason", "connection pool saturated");
+        } else {
+            builder.up();
+        }
+    }
+}
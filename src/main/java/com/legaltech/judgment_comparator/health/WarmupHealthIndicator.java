@@ -0,0 +1,23 @@
+package com.legaltech.judgment_comparator.health;
+
+import com.legaltech.judgment_comparator.service.WarmupService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.health.contributor.AbstractHealthIndicator;
+import org.springframework.boot.health.contributor.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * OUT_OF_SERVICE until the index is rebuilt and the warm-up routine has run (part of readiness)
+ */
+@Component
+@RequiredArgsConstructor
+public class WarmupHealthIndicator extends AbstractHealthIndicator {
+
+    private final WarmupService warmupService;
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        (warmupService.isFinished() ? builder.up() : builder.outOfService())
+                .withDetails(warmupService.details());
+    }
+}
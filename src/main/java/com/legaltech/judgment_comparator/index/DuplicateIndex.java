@@ -0,0 +1,157 @@
+package com.legaltech.judgment_comparator.index;
+
+import com.legaltech.judgment_comparator.analysis.ContentFingerprint;
+import com.legaltech.judgment_comparator.analysis.SimHash;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Content hashes and SimHash fingerprints of every judgment, for duplicate checks at upload
+ *
+ * Exact copies are a hash lookup. Near copies use the pigeonhole trick: the 64 fingerprint bits
+ * are cut into maxDistance + 1 blocks, and two fingerprints at most maxDistance bits apart agree
+ * on at least one whole block. Each block has its own table (block value -> ids), so a query only
+ * compares against the fingerprints sharing a block instead of all of them.
+ */
+public class DuplicateIndex {
+
+    /**
+     * Closest existing judgment (lowest id among equals)
+     *
+     * @param exact    same normalized text
+     * @param distance SimHash Hamming distance (0 for exact copies)
+     */
+    public record Match(long id, boolean exact, int distance) {
+    }
+
+    private final int maxDistance;
+
+    /**
+     * First bit of each block, plus 64 at the end
+     */
+    private final int[] blockStarts;
+
+    private final Map<String, Set<Long>> byContentHash = new ConcurrentHashMap<>();
+
+    /**
+     * One table per block: (block value) -> ids
+     */
+    private final Map<Long, Set<Long>>[] blocks;
+
+    /**
+     * Judgment id -> its fingerprint, for removal and distance checks
+     */
+    private final Map<Long, ContentFingerprint> fingerprints = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public DuplicateIndex(int maxDistance) {
+        if (maxDistance < 0 || maxDistance > 15) {
+            throw new IllegalArgumentException("maxDistance must be between 0 and 15");
+        }
+        this.maxDistance = maxDistance;
+        int blockCount = maxDistance + 1;
+        this.blockStarts = new int[blockCount + 1];
+        for (int b = 0; b <= blockCount; b++) {
+            blockStarts[b] = b * Long.SIZE / blockCount;
+        }
+        this.blocks = new Map[blockCount];
+        for (int b = 0; b < blockCount; b++) {
+            blocks[b] = new ConcurrentHashMap<>();
+        }
+    }
+
+    public int maxDistance() {
+        return maxDistance;
+    }
+
+    /**
+     * Add or replace a judgment's fingerprint
+     */
+    public synchronized void add(long id, ContentFingerprint fingerprint) {
+        remove(id);
+        byContentHash.computeIfAbsent(fingerprint.contentHash(), k -> new ConcurrentSkipListSet<>()).add(id);
+        for (int b = 0; b < blocks.length; b++) {
+            blocks[b].computeIfAbsent(blockKey(fingerprint.simHash(), b), k -> new ConcurrentSkipListSet<>()).add(id);
+        }
+        fingerprints.put(id, fingerprint);
+    }
+
+    public synchronized void remove(long id) {
+        ContentFingerprint fingerprint = fingerprints.remove(id);
+        if (fingerprint == null) {
+            return;
+        }
+        removeFrom(byContentHash, fingerprint.contentHash(), id);
+        for (int b = 0; b < blocks.length; b++) {
+            removeFrom(blocks[b], blockKey(fingerprint.simHash(), b), id);
+        }
+    }
+
+    public synchronized void clear() {
+        byContentHash.clear();
+        for (Map<Long, Set<Long>> block : blocks) {
+            block.clear();
+        }
+        fingerprints.clear();
+    }
+
+    /**
+     * An exact copy if there is one, else the closest fingerprint within maxDistance
+     */
+    public Optional<Match> find(ContentFingerprint fingerprint) {
+        Set<Long> exact = byContentHash.get(fingerprint.contentHash());
+        if (exact != null) {
+            for (Long id : exact) { // sorted: the first is the lowest id
+                return Optional.of(new Match(id, true, 0));
+            }
+        }
+
+        Match best = null;
+        for (int b = 0; b < blocks.length; b++) {
+            Set<Long> candidates = blocks[b].get(blockKey(fingerprint.simHash(), b));
+            if (candidates == null) {
+                continue;
+            }
+            for (Long id : candidates) {
+                ContentFingerprint candidate = fingerprints.get(id);
+                if (candidate == null) {
+                    continue; // removed meanwhile
+                }
+                int distance = SimHash.distance(fingerprint.simHash(), candidate.simHash());
+                if (distance <= maxDistance && (best == null || distance < best.distance()
+                        || (distance == best.distance() && id < best.id()))) {
+                    best = new Match(id, false, distance);
+                }
+            }
+        }
+        return Optional.ofNullable(best);
+    }
+
+    public int size() {
+        return fingerprints.size();
+    }
+
+    /**
+     * Block number mixed with the block's bits
+     */
+    private long blockKey(long simHash, int block) {
+        int from = blockStarts[block];
+        int width = blockStarts[block + 1] - from;
+        long bits = (simHash >>> from) & (width == Long.SIZE ? -1L : (1L << width) - 1);
+        return ((long) block << 58) ^ bits;
+    }
+
+    private static <K> void removeFrom(Map<K, Set<Long>> map, K key, long id) {
+        Set<Long> ids = map.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+}
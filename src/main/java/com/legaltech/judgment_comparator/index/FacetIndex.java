@@ -0,0 +1,218 @@
+package com.legaltech.judgment_comparator.index;
+
+import com.legaltech.judgment_comparator.analysis.VerdictCategory;
+import com.legaltech.judgment_comparator.entity.Judgment;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * One IdBitmap of judgment ids per court, per year and per verdict category
+ *
+ * A filter is an OR of the selected values within each facet and an AND across facets.
+ * Counts follow the usual multi-select rule: a facet's counts apply every filter except
+ * its own, so the other values of a facet stay visible (with their counts) once one is picked.
+ * Writes take the write lock; queries run concurrently under the read lock.
+ */
+public class FacetIndex {
+
+    /**
+     * Selected values per facet (null or empty = no restriction)
+     *
+     * @param courtKeys court names as Judgment.courtKeyOf
+     */
+    public record Filter(Set<String> courtKeys, Set<Integer> years, Set<VerdictCategory> verdicts) {
+    }
+
+    /**
+     * Matching ids and the counts per facet value (values with no match left out)
+     *
+     * @param courts by court name, most judgments first
+     * @param years  by year, ascending
+     */
+    public record Result(IdBitmap hits, Map<String, Long> courts, Map<Integer, Long> years,
+            Map<VerdictCategory, Long> verdicts) {
+    }
+
+    private record Entry(String courtKey, Integer year, Set<VerdictCategory> verdicts) {
+    }
+
+    private IdBitmap all = new IdBitmap();
+    private final Map<String, IdBitmap> courts = new HashMap<>();
+    private final Map<Integer, IdBitmap> years = new HashMap<>();
+    private final Map<VerdictCategory, IdBitmap> verdicts = new EnumMap<>(VerdictCategory.class);
+
+    /**
+     * Court name as last uploaded, per court key (the name shown in counts)
+     */
+    private final Map<String, String> courtNames = new HashMap<>();
+
+    /**
+     * Forward index (judgment id -> its facet values) so a judgment can be removed without a scan
+     */
+    private final Map<Long, Entry> entries = new HashMap<>();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Add or replace a judgment
+     */
+    public void add(long id, String court, Integer year, String verdict) {
+        String courtKey = Judgment.courtKeyOf(court);
+        Entry entry = new Entry(courtKey, year, VerdictCategory.of(verdict));
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+            all.add(id);
+            if (courtKey != null) {
+                courts.computeIfAbsent(courtKey, key -> new IdBitmap()).add(id);
+                courtNames.put(courtKey, court.trim());
+            }
+            if (year != null) {
+                years.computeIfAbsent(year, key -> new IdBitmap()).add(id);
+            }
+            for (VerdictCategory category : entry.verdicts()) {
+                verdicts.computeIfAbsent(category, key -> new IdBitmap()).add(id);
+            }
+            entries.put(id, entry);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a judgment, if present
+     */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            removeEntry(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            all = new IdBitmap();
+            entries.clear();
+            courts.clear();
+            courtNames.clear();
+            years.clear();
+            verdicts.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Apply a filter and count the facet values of the result
+     *
+     * @param base judgments to start from, e.g. the hits of a text search (null = every judgment)
+     */
+    public Result query(IdBitmap base, Filter filter) {
+        lock.readLock().lock();
+        try {
+            IdBitmap scope = base != null ? base.and(all) : all.copy();
+            IdBitmap courtFilter = union(courts, filter.courtKeys());
+            IdBitmap yearFilter = union(years, filter.years());
+            IdBitmap verdictFilter = union(verdicts, filter.verdicts());
+
+            IdBitmap hits = and(and(and(scope, courtFilter), yearFilter), verdictFilter);
+            IdBitmap courtScope = and(and(scope, yearFilter), verdictFilter);
+            IdBitmap yearScope = and(and(scope, courtFilter), verdictFilter);
+            IdBitmap verdictScope = and(and(scope, courtFilter), yearFilter);
+
+            Map<String, Long> courtCounts = new LinkedHashMap<>();
+            courts.entrySet().stream()
+                    .map(e -> Map.entry(courtNames.get(e.getKey()), courtScope.andCardinality(e.getValue())))
+                    .filter(e -> e.getValue() > 0)
+                    .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEach(e -> courtCounts.put(e.getKey(), e.getValue()));
+            return new Result(hits, courtCounts, counts(years, yearScope, new TreeMap<>()),
+                    counts(verdicts, verdictScope, new EnumMap<>(VerdictCategory.class)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void removeEntry(long id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return;
+        }
+        all.remove(id);
+        if (entry.courtKey() != null) {
+            removeFrom(courts, entry.courtKey(), id);
+            if (!courts.containsKey(entry.courtKey())) {
+                courtNames.remove(entry.courtKey());
+            }
+        }
+        if (entry.year() != null) {
+            removeFrom(years, entry.year(), id);
+        }
+        for (VerdictCategory category : entry.verdicts()) {
+            removeFrom(verdicts, category, id);
+        }
+    }
+
+    private static <K> void removeFrom(Map<K, IdBitmap> bitmaps, K key, long id) {
+        IdBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    /**
+     * OR of the bitmaps of the selected values, or null when nothing is selected (no restriction)
+     */
+    private static <K> IdBitmap union(Map<K, IdBitmap> bitmaps, Collection<K> selected) {
+        if (selected == null || selected.isEmpty()) {
+            return null;
+        }
+        IdBitmap union = new IdBitmap();
+        for (K key : selected) {
+            IdBitmap bitmap = bitmaps.get(key);
+            if (bitmap != null) {
+                union = union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    private static IdBitmap and(IdBitmap bitmap, IdBitmap filter) {
+        return filter == null ? bitmap : bitmap.and(filter);
+    }
+
+    private static <K> Map<K, Long> counts(Map<K, IdBitmap> bitmaps, IdBitmap scope, Map<K, Long> counts) {
+        bitmaps.forEach((key, bitmap) -> {
+            long count = scope.andCardinality(bitmap);
+            if (count > 0) {
+                counts.put(key, count);
+            }
+        });
+        return counts;
+    }
+}
@@ -0,0 +1,421 @@
+package com.legaltech.judgment_comparator.index;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * Compressed set of judgment ids (Roaring layout)
+ *
+ * Ids are split into a high part (id >>> 16) and a 16-bit low part. Each high part owns one
+ * container: a sorted char[] while it holds at most 4096 ids, a 1024-word bit set above that.
+ * Sparse facets (a rare court) cost 2 bytes per id, dense ones (a common verdict) 1 bit per id,
+ * and AND/OR work container by container with word-wide operations on the dense ones.
+ *
+ * Not thread-safe; FacetIndex guards its bitmaps and hands out the results of and()/or(),
+ * which are new bitmaps.
+ */
+public class IdBitmap {
+
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private long[] keys = new long[4];
+    private Container[] containers = new Container[4];
+    private int size;
+
+    /**
+     * Bitmap of the given ids (any order, repeats allowed)
+     */
+    public static IdBitmap of(Iterable<Long> ids) {
+        IdBitmap bitmap = new IdBitmap();
+        ids.forEach(bitmap::add);
+        return bitmap;
+    }
+
+    public void add(long id) {
+        long key = id >>> 16;
+        int pos = Arrays.binarySearch(keys, 0, size, key);
+        if (pos < 0) {
+            pos = -pos - 1;
+            insert(pos, key, new Container());
+        }
+        containers[pos].add((char) id);
+    }
+
+    public void remove(long id) {
+        int pos = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        if (pos >= 0 && containers[pos].remove((char) id) == 0) {
+            System.arraycopy(keys, pos + 1, keys, pos, size - pos - 1);
+            System.arraycopy(containers, pos + 1, containers, pos, size - pos - 1);
+            containers[--size] = null;
+        }
+    }
+
+    public boolean contains(long id) {
+        int pos = Arrays.binarySearch(keys, 0, size, id >>> 16);
+        return pos >= 0 && containers[pos].contains((char) id);
+    }
+
+    public long cardinality() {
+        long cardinality = 0;
+        for (int i = 0; i < size; i++) {
+            cardinality += containers[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Ids in both bitmaps, as a new bitmap
+     */
+    public IdBitmap and(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        int i = 0, j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container both = containers[i].and(other.containers[j]);
+                if (both.cardinality > 0) {
+                    result.insert(result.size, keys[i], both);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Size of and(other), without building it
+     */
+    public long andCardinality(IdBitmap other) {
+        long cardinality = 0;
+        int i = 0, j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                cardinality += containers[i++].andCardinality(other.containers[j++]);
+            }
+        }
+        return cardinality;
+    }
+
+    /**
+     * Ids in either bitmap, as a new bitmap
+     */
+    public IdBitmap or(IdBitmap other) {
+        IdBitmap result = new IdBitmap();
+        int i = 0, j = 0;
+        while (i < size || j < other.size) {
+            if (j == other.size || (i < size && keys[i] < other.keys[j])) {
+                result.insert(result.size, keys[i], containers[i++].copy());
+            } else if (i == size || keys[i] > other.keys[j]) {
+                result.insert(result.size, other.keys[j], other.containers[j++].copy());
+            } else {
+                result.insert(result.size, keys[i], containers[i++].or(other.containers[j++]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Independent copy
+     */
+    public IdBitmap copy() {
+        IdBitmap copy = new IdBitmap();
+        copy.keys = Arrays.copyOf(keys, Math.max(size, 4));
+        copy.containers = new Container[copy.keys.length];
+        for (int i = 0; i < size; i++) {
+            copy.containers[i] = containers[i].copy();
+        }
+        copy.size = size;
+        return copy;
+    }
+
+    /**
+     * Up to limit ids greater than after, in increasing order
+     */
+    public long[] idsAfter(long after, int limit) {
+        long[] ids = new long[limit];
+        int n = 0;
+        int pos = Arrays.binarySearch(keys, 0, size, after >>> 16);
+        for (int i = pos >= 0 ? pos : -pos - 1; i < size && n < limit; i++) {
+            long high = keys[i] << 16;
+            int from = keys[i] == after >>> 16 ? (char) after + 1 : 0;
+            n = containers[i].collect(high, from, ids, n);
+        }
+        return n == limit ? ids : Arrays.copyOf(ids, n);
+    }
+
+    /**
+     * Every id, in increasing order
+     */
+    public void forEach(LongConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    private void insert(int pos, long key, Container container) {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+        System.arraycopy(keys, pos, keys, pos + 1, size - pos);
+        System.arraycopy(containers, pos, containers, pos + 1, size - pos);
+        keys[pos] = key;
+        containers[pos] = container;
+        size++;
+    }
+
+    /**
+     * The low 16 bits of the ids sharing one high part
+     * Array form (values != null) up to ARRAY_MAX ids, bit set form (words != null) above
+     */
+    private static final class Container {
+
+        private char[] values;
+        private long[] words;
+        private int cardinality;
+
+        Container() {
+            values = new char[4];
+        }
+
+        private Container(char[] values, long[] words, int cardinality) {
+            this.values = values;
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        void add(char value) {
+            if (words != null) {
+                long word = words[value >>> 6];
+                long bit = 1L << value;
+                if ((word & bit) == 0) {
+                    words[value >>> 6] = word | bit;
+                    cardinality++;
+                }
+                return;
+            }
+            int pos = Arrays.binarySearch(values, 0, cardinality, value);
+            if (pos >= 0) {
+                return;
+            }
+            if (cardinality == ARRAY_MAX) {
+                toWords();
+                add(value);
+                return;
+            }
+            pos = -pos - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(cardinality * 2, 4), ARRAY_MAX));
+            }
+            System.arraycopy(values, pos, values, pos + 1, cardinality - pos);
+            values[pos] = value;
+            cardinality++;
+        }
+
+        /**
+         * @return remaining cardinality
+         */
+        int remove(char value) {
+            if (words != null) {
+                long word = words[value >>> 6];
+                long bit = 1L << value;
+                if ((word & bit) != 0) {
+                    words[value >>> 6] = word & ~bit;
+                    if (--cardinality <= ARRAY_MAX) {
+                        toValues();
+                    }
+                }
+                return cardinality;
+            }
+            int pos = Arrays.binarySearch(values, 0, cardinality, value);
+            if (pos >= 0) {
+                System.arraycopy(values, pos + 1, values, pos, cardinality - pos - 1);
+                cardinality--;
+            }
+            return cardinality;
+        }
+
+        boolean contains(char value) {
+            return words != null
+                    ? (words[value >>> 6] & (1L << value)) != 0
+                    : Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        Container and(Container other) {
+            if (words != null && other.words != null) {
+                long[] out = new long[WORDS];
+                int count = 0;
+                for (int k = 0; k < WORDS; k++) {
+                    out[k] = words[k] & other.words[k];
+                    count += Long.bitCount(out[k]);
+                }
+                Container result = new Container(null, out, count);
+                if (count <= ARRAY_MAX) {
+                    result.toValues();
+                }
+                return result;
+            }
+            if (words != null) {
+                return other.and(this);
+            }
+            // this is an array: keep the values the other container has
+            char[] out = new char[cardinality];
+            int n = 0;
+            if (other.words != null) {
+                for (int k = 0; k < cardinality; k++) {
+                    if (other.contains(values[k])) {
+                        out[n++] = values[k];
+                    }
+                }
+            } else {
+                int i = 0, j = 0;
+                while (i < cardinality && j < other.cardinality) {
+                    if (values[i] < other.values[j]) {
+                        i++;
+                    } else if (values[i] > other.values[j]) {
+                        j++;
+                    } else {
+                        out[n++] = values[i++];
+                        j++;
+                    }
+                }
+            }
+            return new Container(out, null, n);
+        }
+
+        int andCardinality(Container other) {
+            if (words != null && other.words != null) {
+                int count = 0;
+                for (int k = 0; k < WORDS; k++) {
+                    count += Long.bitCount(words[k] & other.words[k]);
+                }
+                return count;
+            }
+            if (words != null) {
+                return other.andCardinality(this);
+            }
+            int count = 0;
+            if (other.words != null) {
+                for (int k = 0; k < cardinality; k++) {
+                    if (other.contains(values[k])) {
+                        count++;
+                    }
+                }
+            } else {
+                int i = 0, j = 0;
+                while (i < cardinality && j < other.cardinality) {
+                    if (values[i] < other.values[j]) {
+                        i++;
+                    } else if (values[i] > other.values[j]) {
+                        j++;
+                    } else {
+                        count++;
+                        i++;
+                        j++;
+                    }
+                }
+            }
+            return count;
+        }
+
+        Container or(Container other) {
+            Container result = copy();
+            if (other.words != null && result.words == null) {
+                result = other.copy();
+                other = this;
+            }
+            if (result.words != null && other.words != null) {
+                int count = 0;
+                for (int k = 0; k < WORDS; k++) {
+                    result.words[k] |= other.words[k];
+                    count += Long.bitCount(result.words[k]);
+                }
+                result.cardinality = count;
+            } else {
+                for (int k = 0; k < other.cardinality; k++) {
+                    result.add(other.values[k]);
+                }
+            }
+            return result;
+        }
+
+        Container copy() {
+            return words != null
+                    ? new Container(null, words.clone(), cardinality)
+                    : new Container(Arrays.copyOf(values, Math.max(cardinality, 4)), null, cardinality);
+        }
+
+        /**
+         * Append high | value for the values >= from to ids[n..], stopping when ids is full
+         *
+         * @return new n
+         */
+        int collect(long high, int from, long[] ids, int n) {
+            if (words != null) {
+                for (int value = from; value < 1 << 16 && n < ids.length; value++) {
+                    if ((words[value >>> 6] & (1L << value)) != 0) {
+                        ids[n++] = high | value;
+                    }
+                }
+                return n;
+            }
+            int pos = Arrays.binarySearch(values, 0, cardinality, (char) Math.min(from, 0xFFFF));
+            for (int k = pos >= 0 ? pos : -pos - 1; k < cardinality && n < ids.length; k++) {
+                if (values[k] >= from) {
+                    ids[n++] = high | values[k];
+                }
+            }
+            return n;
+        }
+
+        void forEach(long high, LongConsumer action) {
+            if (words != null) {
+                for (int k = 0; k < WORDS; k++) {
+                    long word = words[k];
+                    while (word != 0) {
+                        action.accept(high | ((long) k << 6) | Long.numberOfTrailingZeros(word));
+                        word &= word - 1;
+                    }
+                }
+            } else {
+                for (int k = 0; k < cardinality; k++) {
+                    action.accept(high | values[k]);
+                }
+            }
+        }
+
+        private void toWords() {
+            words = new long[WORDS];
+            for (int k = 0; k < cardinality; k++) {
+                words[values[k] >>> 6] |= 1L << values[k];
+            }
+            values = null;
+        }
+
+        private void toValues() {
+            values = new char[Math.max(cardinality, 4)];
+            int n = 0;
+            for (int k = 0; k < WORDS; k++) {
+                long word = words[k];
+                while (word != 0) {
+                    values[n++] = (char) ((k << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            words = null;
+        }
+    }
+}
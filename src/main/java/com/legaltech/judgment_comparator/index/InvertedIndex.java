@@ -0,0 +1,249 @@
+package com.legaltech.judgment_comparator.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * In-memory inverted index: term -> posting list of (judgment id, term frequency)
+ *
+ * Terms are kept sorted so the last query term can also match as a prefix
+ * ("constitu" finds "constitution"), which keeps the partial-match feel of the old LIKE search.
+ * Writes are serialized; reads run concurrently with them.
+ */
+public class InvertedIndex {
+
+    /**
+     * Upper bound on how many terms a prefix may expand to
+     */
+    private static final int MAX_PREFIX_EXPANSION = 64;
+
+    private final ConcurrentSkipListMap<String, PostingList> postings = new ConcurrentSkipListMap<>();
+
+    /**
+     * Forward index (judgment id -> its terms) so a document can be removed without a full scan
+     */
+    private final Map<Long, String[]> documentTerms = new ConcurrentHashMap<>();
+
+    /**
+     * Add or replace a document
+     */
+    public synchronized void add(long documentId, Map<String, Integer> termFrequencies) {
+        remove(documentId);
+        for (Map.Entry<String, Integer> entry : termFrequencies.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), term -> new PostingList())
+                    .put(documentId, entry.getValue());
+        }
+        documentTerms.put(documentId, termFrequencies.keySet().toArray(String[]::new));
+    }
+
+    /**
+     * Remove a document, if present
+     */
+    public synchronized void remove(long documentId) {
+        String[] terms = documentTerms.remove(documentId);
+        if (terms == null) {
+            return;
+        }
+        for (String term : terms) {
+            PostingList list = postings.get(term);
+            if (list != null && list.remove(documentId) == 0) {
+                postings.remove(term);
+            }
+        }
+    }
+
+    /**
+     * Drop everything
+     */
+    public synchronized void clear() {
+        postings.clear();
+        documentTerms.clear();
+    }
+
+    /**
+     * Number of indexed documents
+     */
+    public int documentCount() {
+        return documentTerms.size();
+    }
+
+    /**
+     * Number of distinct terms
+     */
+    public int termCount() {
+        return postings.size();
+    }
+
+    /**
+     * Find documents containing ALL query terms, best matches first
+     * Score = sum of term frequencies of the matched terms
+     *
+     * @param terms      tokenized query
+     * @param prefixLast whether the last term may match as a prefix
+     * @param limit      maximum number of ids returned
+     */
+    public List<Long> search(List<String> terms, boolean prefixLast, int limit) {
+        if (limit <= 0) {
+            return List.of();
+        }
+        return evaluate(terms, prefixLast).top(limit);
+    }
+
+    /**
+     * Every document containing ALL query terms (same matching as search), unranked and uncapped
+     */
+    public IdBitmap matching(List<String> terms, boolean prefixLast) {
+        Matches matches = evaluate(terms, prefixLast);
+        IdBitmap bitmap = new IdBitmap();
+        for (int k = 0; k < matches.size; k++) {
+            bitmap.add(matches.ids[k]);
+        }
+        return bitmap;
+    }
+
+    private Matches evaluate(List<String> terms, boolean prefixLast) {
+        Matches result = Matches.EMPTY;
+        for (int i = 0; i < terms.size(); i++) {
+            boolean prefix = prefixLast && i == terms.size() - 1;
+            Matches matches = prefix ? prefixMatches(terms.get(i)) : exactMatches(terms.get(i));
+            result = i == 0 ? matches : result.intersect(matches);
+            if (result.size == 0) {
+                return Matches.EMPTY;
+            }
+        }
+        return result;
+    }
+
+    private Matches exactMatches(String term) {
+        PostingList list = postings.get(term);
+        return list == null ? Matches.EMPTY : list.snapshot();
+    }
+
+    private Matches prefixMatches(String prefix) {
+        NavigableMap<String, PostingList> range = postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        Matches result = Matches.EMPTY;
+        int expanded = 0;
+        for (PostingList list : range.values()) {
+            result = result.union(list.snapshot());
+            if (++expanded >= MAX_PREFIX_EXPANSION) {
+                break;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Posting list sorted by document id
+     * Judgment ids are assigned in increasing order, so put() is almost always an append
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        synchronized void put(long id, int frequency) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                frequencies[pos] = frequency;
+                return;
+            }
+            pos = -pos - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            System.arraycopy(frequencies, pos, frequencies, pos + 1, size - pos);
+            ids[pos] = id;
+            frequencies[pos] = frequency;
+            size++;
+        }
+
+        /**
+         * @return remaining size
+         */
+        synchronized int remove(long id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+                System.arraycopy(frequencies, pos + 1, frequencies, pos, size - pos - 1);
+                size--;
+            }
+            return size;
+        }
+
+        synchronized Matches snapshot() {
+            return new Matches(Arrays.copyOf(ids, size), Arrays.copyOf(frequencies, size), size);
+        }
+    }
+
+    /**
+     * Sorted (id, score) pairs produced while evaluating a query
+     */
+    private record Matches(long[] ids, int[] scores, int size) {
+
+        static final Matches EMPTY = new Matches(new long[0], new int[0], 0);
+
+        Matches intersect(Matches other) {
+            int capacity = Math.min(size, other.size);
+            long[] outIds = new long[capacity];
+            int[] outScores = new int[capacity];
+            int i = 0, j = 0, n = 0;
+            while (i < size && j < other.size) {
+                if (ids[i] < other.ids[j]) {
+                    i++;
+                } else if (ids[i] > other.ids[j]) {
+                    j++;
+                } else {
+                    outIds[n] = ids[i];
+                    outScores[n++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new Matches(outIds, outScores, n);
+        }
+
+        Matches union(Matches other) {
+            long[] outIds = new long[size + other.size];
+            int[] outScores = new int[size + other.size];
+            int i = 0, j = 0, n = 0;
+            while (i < size || j < other.size) {
+                if (j == other.size || (i < size && ids[i] < other.ids[j])) {
+                    outIds[n] = ids[i];
+                    outScores[n++] = scores[i++];
+                } else if (i == size || ids[i] > other.ids[j]) {
+                    outIds[n] = other.ids[j];
+                    outScores[n++] = other.scores[j++];
+                } else {
+                    outIds[n] = ids[i];
+                    outScores[n++] = scores[i++] + other.scores[j++];
+                }
+            }
+            return new Matches(outIds, outScores, n);
+        }
+
+        /**
+         * Highest score first, lower id first on ties
+         */
+        List<Long> top(int limit) {
+            Integer[] order = new Integer[size];
+            for (int k = 0; k < size; k++) {
+                order[k] = k;
+            }
+            Arrays.sort(order, (a, b) -> scores[a] != scores[b]
+                    ? Integer.compare(scores[b], scores[a])
+                    : Long.compare(ids[a], ids[b]));
+
+            List<Long> top = new ArrayList<>(Math.min(limit, size));
+            for (int k = 0; k < size && k < limit; k++) {
+                top.add(ids[order[k]]);
+            }
+            return top;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.legaltech.judgment_comparator.index;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Banded locality-sensitive hashing over MinHash signatures
+ *
+ * A signature is cut into bands of rows; two judgments become candidates when
+ * any band is identical. With b bands of r rows, pairs with Jaccard s collide with
+ * probability 1 - (1 - s^r)^b, so similar pairs are found without a full scan.
+ */
+public class LshIndex {
+
+    private final int bands;
+    private final int rows;
+
+    /**
+     * Bucket key (band number mixed with the band's hash) -> judgment ids
+     */
+    private final Map<Long, Set<Long>> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Judgment id -> its bucket keys, for removal and queries
+     */
+    private final Map<Long, long[]> documentKeys = new ConcurrentHashMap<>();
+
+    public LshIndex(int bands, int rows) {
+        this.bands = bands;
+        this.rows = rows;
+    }
+
+    public int signatureLength() {
+        return bands * rows;
+    }
+
+    /**
+     * Add or replace a judgment's signature
+     */
+    public synchronized void add(long documentId, int[] signature) {
+        if (signature.length < signatureLength()) {
+            throw new IllegalArgumentException("Signature needs " + signatureLength() + " values");
+        }
+        remove(documentId);
+        long[] keys = new long[bands];
+        for (int band = 0; band < bands; band++) {
+            keys[band] = bucketKey(band, signature);
+            buckets.computeIfAbsent(keys[band], k -> ConcurrentHashMap.newKeySet()).add(documentId);
+        }
+        documentKeys.put(documentId, keys);
+    }
+
+    public synchronized void remove(long documentId) {
+        long[] keys = documentKeys.remove(documentId);
+        if (keys == null) {
+            return;
+        }
+        for (long key : keys) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                bucket.remove(documentId);
+                if (bucket.isEmpty()) {
+                    buckets.remove(key);
+                }
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        buckets.clear();
+        documentKeys.clear();
+    }
+
+    /**
+     * Judgments sharing at least one band with the given one (excluding itself)
+     */
+    public Set<Long> candidates(long documentId) {
+        long[] keys = documentKeys.get(documentId);
+        Set<Long> candidates = new HashSet<>();
+        if (keys == null) {
+            return candidates;
+        }
+        for (long key : keys) {
+            Set<Long> bucket = buckets.get(key);
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(documentId);
+        return candidates;
+    }
+
+    private long bucketKey(int band, int[] signature) {
+        long h = 0x9E3779B97F4A7C15L * (band + 1);
+        int from = band * rows;
+        for (int i = from; i < from + rows; i++) {
+            h = (h ^ signature[i]) * 0x100000001B3L;
+        }
+        return h;
+    }
+}
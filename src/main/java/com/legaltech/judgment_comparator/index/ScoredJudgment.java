@@ -0,0 +1,7 @@
+package com.legaltech.judgment_comparator.index;
+
+/**
+ * A judgment id with its similarity score
+ */
+public record ScoredJudgment(long id, double score) {
+}
@@ -0,0 +1,141 @@
+package com.legaltech.judgment_comparator.index;
+
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.similarity.SimilarityEngine;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Every indexed judgment's term set plus the metadata used to filter it, split into shards
+ * for scoring one judgment against the whole corpus
+ *
+ * Each shard keeps an array snapshot of its entries (rebuilt lazily after writes) so a scan
+ * is a tight loop over contiguous memory. A query scores all shards in parallel, each into
+ * its own bounded heap, and merges the heaps at the end: no shared state while scoring,
+ * so throughput grows with the number of workers.
+ */
+public class ShardedCorpus {
+
+    /**
+     * What a rank query can filter on (null = no restriction)
+     * court is kept as its key (Judgment.courtKeyOf), so case and surrounding spaces do not matter
+     */
+    public record Filter(String court, Integer yearFrom, Integer yearTo) {
+
+        public Filter {
+            court = Judgment.courtKeyOf(court);
+        }
+
+        boolean matches(Entry entry) {
+            return (court == null || court.equals(entry.courtKey()))
+                    && (yearFrom == null || entry.year() >= yearFrom)
+                    && (yearTo == null || entry.year() <= yearTo);
+        }
+    }
+
+    private record Entry(long id, JudgmentAnalysis analysis, String courtKey, int year) {
+    }
+
+    private final Shard[] shards;
+
+    public ShardedCorpus(int shardCount) {
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * Add or replace a judgment
+     */
+    public void add(long id, JudgmentAnalysis analysis, String court, int year) {
+        shardFor(id).put(new Entry(id, analysis, Judgment.courtKeyOf(court), year));
+    }
+
+    public void remove(long id) {
+        shardFor(id).remove(id);
+    }
+
+    public void clear() {
+        for (Shard shard : shards) {
+            shard.clear();
+        }
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /**
+     * The k judgments most similar to the query, best first (the query judgment itself excluded)
+     *
+     * @param pool workers the shards are scored on
+     */
+    public List<ScoredJudgment> topK(JudgmentAnalysis query, Filter filter, SimilarityEngine engine,
+            int k, ForkJoinPool pool) {
+        // parallel() inside the pool runs the shard scans on that pool's workers
+        return pool.submit(() -> IntStream.range(0, shards.length)
+                        .parallel()
+                        .mapToObj(i -> shards[i].scan(query, filter, engine, k))
+                        .reduce(TopK::addAll)
+                        .orElseGet(() -> new TopK(k)))
+                .join()
+                .sorted();
+    }
+
+    private Shard shardFor(long id) {
+        return shards[(int) Math.floorMod(id, (long) shards.length)];
+    }
+
+    private static final class Shard {
+
+        private static final Entry[] EMPTY = new Entry[0];
+
+        private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+        private volatile Entry[] snapshot = EMPTY;
+        private volatile boolean dirty;
+
+        void put(Entry entry) {
+            entries.put(entry.id(), entry);
+            dirty = true;
+        }
+
+        void remove(long id) {
+            if (entries.remove(id) != null) {
+                dirty = true;
+            }
+        }
+
+        void clear() {
+            entries.clear();
+            dirty = true;
+        }
+
+        TopK scan(JudgmentAnalysis query, Filter filter, SimilarityEngine engine, int k) {
+            TopK top = new TopK(k);
+            for (Entry entry : snapshot()) {
+                if (entry.id() != query.judgmentId() && filter.matches(entry)) {
+                    top.offer(entry.id(), engine.similarity(query, entry.analysis()));
+                }
+            }
+            return top;
+        }
+
+        private Entry[] snapshot() {
+            if (dirty) {
+                synchronized (this) {
+                    if (dirty) {
+                        dirty = false; // cleared first: a write during the copy marks it dirty again
+                        snapshot = entries.values().toArray(EMPTY);
+                    }
+                }
+            }
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.legaltech.judgment_comparator.index;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bounded min-heap keeping the k best (id, score) pairs seen
+ *
+ * Primitive arrays, no boxing: offer() is O(log k) and allocates nothing.
+ * Higher score wins; on equal scores the lower id wins, so results are deterministic.
+ */
+final class TopK {
+
+    private final long[] ids;
+    private final double[] scores;
+    private int size;
+
+    TopK(int k) {
+        this.ids = new long[k];
+        this.scores = new double[k];
+    }
+
+    void offer(long id, double score) {
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+        } else if (size > 0 && better(id, score, 0)) {
+            ids[0] = id;
+            scores[0] = score;
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Merge another heap into this one
+     */
+    TopK addAll(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.ids[i], other.scores[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Best first
+     */
+    List<ScoredJudgment> sorted() {
+        List<ScoredJudgment> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(new ScoredJudgment(ids[i], scores[i]));
+        }
+        result.sort((a, b) -> a.score() != b.score()
+                ? Double.compare(b.score(), a.score())
+                : Long.compare(a.id(), b.id()));
+        return result;
+    }
+
+    /**
+     * Whether (id, score) ranks above the entry at heap position i
+     */
+    private boolean better(long id, double score, int i) {
+        return score > scores[i] || (score == scores[i] && id < ids[i]);
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (!better(ids[parent], scores[parent], i)) {
+                return;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                return;
+            }
+            int worst = left;
+            int right = left + 1;
+            if (right < size && better(ids[left], scores[left], right)) {
+                worst = right;
+            }
+            if (!better(ids[i], scores[i], worst)) {
+                return;
+            }
+            swap(i, worst);
+            i = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        double score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
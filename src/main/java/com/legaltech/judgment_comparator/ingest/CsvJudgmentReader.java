@@ -0,0 +1,156 @@
+package com.legaltech.judgment_comparator.ingest;
+
+import com.legaltech.judgment_comparator.entity.Judgment;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV reader with a header row
+ * Columns (any order): caseName, court, year, judgmentText, keywords, verdict
+ * Quoted fields may contain commas, doubled quotes and line breaks (judgment texts usually do).
+ */
+public class CsvJudgmentReader implements JudgmentRecordReader {
+
+    private static final String[] REQUIRED_COLUMNS = {"caseName", "court", "year", "judgmentText"};
+
+    private final Reader reader;
+    private final Map<String, Integer> columns = new HashMap<>();
+    private final StringBuilder field = new StringBuilder();
+    private long recordNumber;
+    private int pushedBack = -2;
+
+    public CsvJudgmentReader(Reader reader) throws IOException {
+        this.reader = reader;
+        List<String> header = readRow();
+        if (header == null) {
+            throw new IOException("CSV input is empty");
+        }
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim(), i);
+        }
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new IOException("CSV header is missing column: " + column);
+            }
+        }
+    }
+
+    @Override
+    public JudgmentRecord next() throws IOException {
+        List<String> row = readRow();
+        if (row == null) {
+            return null;
+        }
+        recordNumber++;
+
+        Judgment judgment = new Judgment();
+        judgment.setCaseName(column(row, "caseName"));
+        judgment.setCourt(column(row, "court"));
+        judgment.setJudgmentText(column(row, "judgmentText"));
+        judgment.setKeywords(column(row, "keywords"));
+        judgment.setVerdict(column(row, "verdict"));
+
+        String year = column(row, "year");
+        if (year != null) {
+            try {
+                judgment.setYear(Integer.valueOf(year.trim()));
+            } catch (NumberFormatException e) {
+                return JudgmentRecord.failed(recordNumber, "Invalid year: " + year);
+            }
+        }
+        return JudgmentRecord.parsed(recordNumber, judgment);
+    }
+
+    @Override
+    public boolean skip() throws IOException {
+        if (readRow() == null) {
+            return false;
+        }
+        recordNumber++;
+        return true;
+    }
+
+    /**
+     * Empty cells become null so optional columns stay unset
+     */
+    private String column(List<String> row, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= row.size()) {
+            return null;
+        }
+        String value = row.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Next row as a list of fields, or null at end of input; blank lines are skipped
+     */
+    private List<String> readRow() throws IOException {
+        List<String> row = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean sawAnything = false;
+
+        int c;
+        while ((c = read()) != -1) {
+            sawAnything = true;
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                row.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c == '\r') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                if (row.isEmpty() && field.isEmpty()) {
+                    sawAnything = false;
+                    continue; // blank line
+                }
+                row.add(field.toString());
+                return row;
+            } else {
+                field.append((char) c);
+            }
+        }
+
+        if (!sawAnything && row.isEmpty() && field.isEmpty()) {
+            return null;
+        }
+        row.add(field.toString());
+        return row;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
@@ -0,0 +1,9 @@
+package com.legaltech.judgment_comparator.ingest;
+
+/**
+ * Supported bulk import formats
+ */
+public enum ImportFormat {
+    NDJSON, // application/x-ndjson: one judgment JSON object per line
+    CSV // text/csv: header row + one judgment per row
+}
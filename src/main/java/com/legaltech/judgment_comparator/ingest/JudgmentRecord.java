@@ -0,0 +1,18 @@
+package com.legaltech.judgment_comparator.ingest;
+
+import com.legaltech.judgment_comparator.entity.Judgment;
+
+/**
+ * One parsed input record
+ * Either judgment or error is set; recordNumber is 1-based and stable across runs of the same file
+ */
+public record JudgmentRecord(long recordNumber, Judgment judgment, String error) {
+
+    public static JudgmentRecord parsed(long recordNumber, Judgment judgment) {
+        return new JudgmentRecord(recordNumber, judgment, null);
+    }
+
+    public static JudgmentRecord failed(long recordNumber, String error) {
+        return new JudgmentRecord(recordNumber, null, error);
+    }
+}
@@ -0,0 +1,22 @@
+package com.legaltech.judgment_comparator.ingest;
+
+import java.io.IOException;
+
+/**
+ * Pull-based reader over an import stream
+ */
+public interface JudgmentRecordReader {
+
+    /**
+     * Next record, or null at end of input
+     * Malformed records come back as failed records so the import can continue
+     */
+    JudgmentRecord next() throws IOException;
+
+    /**
+     * Move past the next record without building a Judgment (used when resuming)
+     *
+     * @return false at end of input
+     */
+    boolean skip() throws IOException;
+}
@@ -0,0 +1,54 @@
+package com.legaltech.judgment_comparator.ingest;
+
+import com.legaltech.judgment_comparator.entity.Judgment;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Reads one judgment JSON object per line; blank lines are ignored
+ */
+public class NdjsonJudgmentReader implements JudgmentRecordReader {
+
+    private final BufferedReader reader;
+    private final JsonMapper jsonMapper;
+    private long recordNumber;
+
+    public NdjsonJudgmentReader(BufferedReader reader, JsonMapper jsonMapper) {
+        this.reader = reader;
+        this.jsonMapper = jsonMapper;
+    }
+
+    @Override
+    public JudgmentRecord next() throws IOException {
+        String line = nextLine();
+        if (line == null) {
+            return null;
+        }
+        try {
+            Judgment judgment = jsonMapper.readValue(line, Judgment.class);
+            judgment.setId(null); // imports always create new rows
+            return JudgmentRecord.parsed(recordNumber, judgment);
+        } catch (JacksonException e) {
+            return JudgmentRecord.failed(recordNumber, "Invalid JSON: " + e.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public boolean skip() throws IOException {
+        return nextLine() != null;
+    }
+
+    private String nextLine() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+        } while (line != null && line.isBlank());
+        if (line != null) {
+            recordNumber++;
+        }
+        return line;
+    }
+}
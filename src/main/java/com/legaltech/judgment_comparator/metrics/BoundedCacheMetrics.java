@@ -0,0 +1,45 @@
+package com.legaltech.judgment_comparator.metrics;
+
+import com.legaltech.judgment_comparator.cache.BoundedCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Standard Micrometer cache meters (cache.size, cache.gets, cache.puts, cache.evictions) for a BoundedCache
+ */
+public class BoundedCacheMetrics extends CacheMeterBinder<BoundedCache<?, ?>> {
+
+    public BoundedCacheMetrics(BoundedCache<?, ?> cache, String name) {
+        super(cache, name, Tags.empty());
+    }
+
+    @Override
+    protected Long size() {
+        return getCache().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache().stats().hits();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache().stats().misses();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return getCache().stats().evictions();
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache().stats().puts();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+    }
+}
@@ -0,0 +1,60 @@
+package com.legaltech.judgment_comparator.metrics;
+
+import com.legaltech.judgment_comparator.concurrency.Bulkhead;
+import com.legaltech.judgment_comparator.service.JudgmentIndexService;
+import com.legaltech.judgment_comparator.store.JudgmentContentStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.BaseUnits;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Gauges over state the application already tracks: corpus size, content store and bulkheads
+ * (caches are bound by CacheRegistry; request timings live next to the code they time)
+ */
+@Component
+@RequiredArgsConstructor
+public class JudgmentMetrics implements MeterBinder {
+
+    private final JudgmentIndexService judgmentIndexService;
+    private final JudgmentContentStore contentStore;
+    private final List<Bulkhead> bulkheads;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("judgment.corpus.size", judgmentIndexService, JudgmentIndexService::corpusSize)
+                .description("Judgments in the in-memory index")
+                .register(registry);
+
+        Gauge.builder("judgment.content.store.size", contentStore, JudgmentContentStore::size)
+                .description("Bytes written to the content store")
+                .baseUnit(BaseUnits.BYTES)
+                .register(registry);
+        Gauge.builder("judgment.content.store.segments", contentStore, JudgmentContentStore::segmentCount)
+                .description("Mapped content store segment files")
+                .register(registry);
+
+        for (Bulkhead bulkhead : bulkheads) {
+            Gauge.builder("judgment.bulkhead.limit", bulkhead, b -> b.stats().limit())
+                    .tag("bulkhead", bulkhead.name())
+                    .register(registry);
+            Gauge.builder("judgment.bulkhead.in.flight", bulkhead, b -> b.stats().inFlight())
+                    .tag("bulkhead", bulkhead.name())
+                    .description("Permits in use")
+                    .register(registry);
+            Gauge.builder("judgment.bulkhead.waiting", bulkhead, b -> b.stats().waiting())
+                    .tag("bulkhead", bulkhead.name())
+                    .description("Callers queued for a permit")
+                    .register(registry);
+            FunctionCounter.builder("judgment.bulkhead.rejected", bulkhead, b -> b.stats().rejected())
+                    .tag("bulkhead", bulkhead.name())
+                    .description("Callers turned away after waiting too long")
+                    .register(registry);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.legaltech.judgment_comparator.migration;
+
+import com.legaltech.judgment_comparator.analysis.KeywordDictionary;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * V4: link the judgments stored before V3 to the keyword dictionary
+ *
+ * Splits each judgments.keywords list exactly like uploads do (KeywordDictionary.parse),
+ * so the dictionary loaded at startup matches what new uploads would have produced.
+ * Flyway picks up JavaMigration beans next to the SQL scripts in db/migration
+ * (implemented directly, since BaseJavaMigration insists on a V4__ class name).
+ */
+@Component
+@Slf4j
+public class KeywordBackfillMigration implements JavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("4");
+    }
+
+    @Override
+    public String getDescription() {
+        return "keyword backfill";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        Map<String, Integer> keywordIds = new HashMap<>();
+        long links = 0;
+        try (Statement select = connection.createStatement();
+                ResultSet judgments = select.executeQuery(
+                        "SELECT id, keywords FROM judgments WHERE keywords IS NOT NULL");
+                PreparedStatement insertKeyword = connection.prepareStatement(
+                        "INSERT INTO keywords (name) VALUES (?)", Statement.RETURN_GENERATED_KEYS);
+                PreparedStatement insertLink = connection.prepareStatement(
+                        "INSERT INTO judgment_keywords (keyword_id, judgment_id) VALUES (?, ?)")) {
+            while (judgments.next()) {
+                long judgmentId = judgments.getLong(1);
+                for (String name : KeywordDictionary.parse(judgments.getString(2))) {
+                    Integer keywordId = keywordIds.get(name);
+                    if (keywordId == null) {
+                        insertKeyword.setString(1, name);
+                        insertKeyword.executeUpdate();
+                        try (ResultSet keys = insertKeyword.getGeneratedKeys()) {
+                            keys.next();
+                            keywordId = keys.getInt(1);
+                        }
+                        keywordIds.put(name, keywordId);
+                    }
+                    insertLink.setInt(1, keywordId);
+                    insertLink.setLong(2, judgmentId);
+                    insertLink.addBatch();
+                    if (++links % BATCH_SIZE == 0) {
+                        insertLink.executeBatch();
+                    }
+                }
+            }
+            insertLink.executeBatch();
+        }
+        log.info("Keyword backfill: {} keywords, {} judgment links", keywordIds.size(), links);
+    }
+}
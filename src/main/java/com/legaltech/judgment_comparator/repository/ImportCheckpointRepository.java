@@ -0,0 +1,12 @@
+package com.legaltech.judgment_comparator.repository;
+
+import com.legaltech.judgment_comparator.entity.ImportCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository for bulk import checkpoints
+ */
+@Repository
+public interface ImportCheckpointRepository extends JpaRepository<ImportCheckpoint, String> {
+}
@@ -1,12 +1,21 @@
 package com.legaltech.judgment_comparator.repository;
 
+import com.legaltech.judgment_comparator.dto.JudgmentSummary;
 import com.legaltech.judgment_comparator.entity.Judgment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Judgment entity
@@ -21,6 +30,64 @@ import java.util.List;
 @Repository
 public interface JudgmentRepository extends JpaRepository<Judgment, Long> {
 
+    /**
+     * Rows fetched per JDBC round trip while streaming
+     */
+    String STREAM_FETCH_SIZE = "500";
+
+    /**
+     * Keyset pagination: the next page of summaries after a given id
+     * Uses the primary key index, so every page costs the same (unlike OFFSET)
+     */
+    @Query(JudgmentSummary.SELECT + "WHERE j.id > :after ORDER BY j.id")
+    List<JudgmentSummary> findSummariesAfter(@Param("after") Long after, Limit limit);
+
+    /**
+     * Summaries for a set of ids (order is not preserved)
+     */
+    @Query(JudgmentSummary.SELECT + "WHERE j.id IN :ids")
+    List<JudgmentSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Summary of one judgment
+     */
+    @Query(JudgmentSummary.SELECT + "WHERE j.id = :id")
+    Optional<JudgmentSummary> findSummaryById(@Param("id") Long id);
+
+    /**
+     * Stream every summary in id order without loading them all at once
+     * Must be consumed inside a transaction and closed afterwards
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query(JudgmentSummary.SELECT + "ORDER BY j.id")
+    Stream<JudgmentSummary> streamSummaries();
+
+    /**
+     * (court key, a court name, count) per court, for reconciling the corpus statistics
+     */
+    @Query("SELECT j.courtKey, MIN(j.court), COUNT(j) FROM Judgment j GROUP BY j.courtKey")
+    List<Object[]> countByCourt();
+
+    /**
+     * (year, count) per year
+     */
+    @Query("SELECT j.year, COUNT(j) FROM Judgment j GROUP BY j.year")
+    List<Object[]> countByYear();
+
+    /**
+     * (verdict, count) per distinct verdict text
+     */
+    @Query("SELECT j.verdict, COUNT(j) FROM Judgment j GROUP BY j.verdict")
+    List<Object[]> countByVerdict();
+
+    /**
+     * Every content pointer, for summing text lengths from the content store
+     * Must be consumed inside a transaction and closed afterwards
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+    @Query("SELECT j.contentPointer FROM Judgment j")
+    Stream<Long> streamContentPointers();
+
     /**
      * Find judgments by case name (partial match)
      * Method naming convention: findBy + FieldName + Containing
@@ -30,29 +97,100 @@ public interface JudgmentRepository extends JpaRepository<Judgment, Long> {
     List<Judgment> findByCaseNameContainingIgnoreCase(String caseName);
 
     /**
-     * Find by court name
+     * Keyset page of one court's summaries (idx_judgments_court_key)
+     * The filter columns lead the ORDER BY (constant here, so the order is still by id):
+     * H2 only reads rows in index order, stopping after one page, when the ORDER BY
+     * matches the index columns; ORDER BY j.id alone sorts every match first
+     */
+    @Query(JudgmentSummary.SELECT
+            + "WHERE j.courtKey = :courtKey AND j.id > :after ORDER BY j.courtKey, j.id")
+    List<JudgmentSummary> findSummariesByCourtAfter(@Param("courtKey") String courtKey,
+            @Param("after") Long after, Limit limit);
+
+    /**
+     * Keyset page of one year's summaries (idx_judgments_year)
      */
-    List<Judgment> findByCourtIgnoreCase(String court);
+    @Query(JudgmentSummary.SELECT + "WHERE j.year = :year AND j.id > :after ORDER BY j.year, j.id")
+    List<JudgmentSummary> findSummariesByYearAfter(@Param("year") Integer year,
+            @Param("after") Long after, Limit limit);
 
     /**
-     * Find by year
+     * Keyset page of one court's summaries for one year (idx_judgments_court_key_year)
+     */
+    @Query(JudgmentSummary.SELECT
+            + "WHERE j.courtKey = :courtKey AND j.year = :year AND j.id > :after "
+            + "ORDER BY j.courtKey, j.year, j.id")
+    List<JudgmentSummary> findSummariesByCourtAndYearAfter(@Param("courtKey") String courtKey,
+            @Param("year") Integer year, @Param("after") Long after, Limit limit);
+
+    /**
+     * Find by court name (any case) (idx_judgments_court_key)
+     * Compares the indexed court_key column; a derived IgnoreCase query would wrap
+     * the column in UPPER() and scan the whole table
+     */
+    default List<Judgment> findByCourtIgnoreCase(String court) {
+        return findByCourtKey(Judgment.courtKeyOf(court));
+    }
+
+    List<Judgment> findByCourtKey(String courtKey);
+
+    /**
+     * Find by year (idx_judgments_year)
      */
     List<Judgment> findByYear(Integer year);
 
     /**
-     * Find by keywords (for advanced search)
+     * Find by court name (any case) and year (idx_judgments_court_key_year)
+     */
+    default List<Judgment> findByCourtIgnoreCaseAndYear(String court, Integer year) {
+        return findByCourtKeyAndYear(Judgment.courtKeyOf(court), year);
+    }
+
+    List<Judgment> findByCourtKeyAndYear(String courtKey, Integer year);
+
+    /**
+     * Keyset page of the summaries with one keyword, optionally also filtered by court and year
+     * Walks the judgment_keywords primary key (keyword_id, judgment_id) and stops after one page.
+     * Native because the cursor and ORDER BY must be on the join table's columns: ordering by
+     * j.id (all JPQL can name for an element collection) makes H2 sort every match first
+     */
+    @NativeQuery("SELECT j.id AS \"id\", j.case_name AS \"caseName\", j.court AS \"court\", "
+            + "j.judgment_year AS \"year\", j.keywords AS \"keywords\", j.verdict AS \"verdict\", "
+            + "j.uploaded_at AS \"uploadedAt\" "
+            + "FROM judgment_keywords jk JOIN judgments j ON j.id = jk.judgment_id "
+            + "WHERE jk.keyword_id = :keywordId AND jk.judgment_id > :after "
+            + "AND (CAST(:courtKey AS VARCHAR) IS NULL OR j.court_key = :courtKey) "
+            + "AND (CAST(:year AS INTEGER) IS NULL OR j.judgment_year = :year) "
+            + "ORDER BY jk.keyword_id, jk.judgment_id FETCH FIRST :size ROWS ONLY")
+    List<JudgmentSummary> findSummariesByKeywordAfter(@Param("keywordId") Integer keywordId,
+            @Param("courtKey") String courtKey, @Param("year") Integer year,
+            @Param("after") Long after, @Param("size") int size);
+
+    /**
+     * Find by keyword id (exact keyword, so "tax" does not match "syntax")
+     */
+    @Query("SELECT j FROM Judgment j JOIN j.keywordIds k WHERE k = :keywordId")
+    List<Judgment> findByKeywordId(@Param("keywordId") Integer keywordId);
+
+    /**
+     * (judgment id, keyword id) pairs of a set of judgments, one query for a whole page
      */
-    List<Judgment> findByKeywordsContainingIgnoreCase(String keyword);
+    @Query("SELECT j.id, k FROM Judgment j JOIN j.keywordIds k WHERE j.id IN :ids")
+    List<Object[]> findKeywordIds(@Param("ids") Collection<Long> ids);
 
     /**
      * Custom JPQL query - Find by multiple criteria
      * 
      * @Query - Defines custom query
      *        :caseName - Named parameter
+     *
+     * NOTE: LIKE '%term%' cannot use an index, so this is a full table scan.
+     * Search normally goes through JudgmentIndexService; this query is only
+     * the fallback while the index is rebuilding.
      */
-    @Query("SELECT j FROM Judgment j WHERE " +
+    @Query(JudgmentSummary.SELECT + "WHERE " +
             "LOWER(j.caseName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(j.keywords) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
             "LOWER(j.court) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<Judgment> searchJudgments(@Param("searchTerm") String searchTerm);
+    List<JudgmentSummary> searchJudgments(@Param("searchTerm") String searchTerm);
 }
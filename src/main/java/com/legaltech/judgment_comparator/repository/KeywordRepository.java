@@ -0,0 +1,16 @@
+package com.legaltech.judgment_comparator.repository;
+
+import com.legaltech.judgment_comparator.entity.Keyword;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * Repository for the keyword dictionary
+ */
+@Repository
+public interface KeywordRepository extends JpaRepository<Keyword, Integer> {
+
+    Optional<Keyword> findByName(String name);
+}
@@ -0,0 +1,31 @@
+package com.legaltech.judgment_comparator.security;
+
+import com.legaltech.judgment_comparator.concurrency.Bulkhead;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt is deliberately slow CPU work; run at most bulkhead-limit hashes at once
+ * (registration and login) so a burst of them cannot take every core
+ */
+@RequiredArgsConstructor
+public class BulkheadPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Bulkhead bulkhead;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return bulkhead.call(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return bulkhead.call(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
@@ -1,25 +1,106 @@
 package com.legaltech.judgment_comparator.security;
 
+import com.legaltech.judgment_comparator.cache.BoundedCache;
+import com.legaltech.judgment_comparator.cache.CacheRegistry;
+import com.legaltech.judgment_comparator.entity.User;
 import com.legaltech.judgment_comparator.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Custom UserDetailsService for loading user from database
  * Required by Spring Security [web:63]
+ *
+ * Users are cached by username (every authenticated request looks one up).
+ * UserService evicts an entry whenever the user is created, deleted, or its role/active flag changes;
+ * the TTL bounds staleness for changes made outside the application.
  */
 @Service
+@Slf4j
 @RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final CacheRegistry cacheRegistry;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${user.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${user.cache.ttl:300000}")
+    private long cacheTtl;
+
+    private BoundedCache<String, User> users;
+
+    private Timer foundTimer;
+    private Timer notFoundTimer;
+
+    @PostConstruct
+    void init() {
+        users = cacheRegistry.register("users", new BoundedCache<>(cacheMaxSize,
+                Duration.ofMillis(cacheTtl), BoundedCache.EvictionPolicy.LRU));
+        foundTimer = loadTimer("found");
+        notFoundTimer = loadTimer("not_found");
+    }
+
+    private Timer loadTimer(String outcome) {
+        return Timer.builder("judgment.user.load")
+                .description("loadUserByUsername, cache hits included")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
+        long start = System.nanoTime();
+        User user = users.get(username, name -> userRepository.findByUsername(name).orElse(null));
+        (user != null ? foundTimer : notFoundTimer).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found: " + username);
+        }
+        // Callers may modify the principal (e.g. hide the password), never hand out the cached instance
+        return copyOf(user);
+    }
+
+    /**
+     * Drop a cached user once the current transaction commits
+     * (evicting earlier would let a concurrent request cache the old row again)
+     */
+    public void evict(String username) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    users.invalidate(username);
+                }
+            });
+        } else {
+            users.invalidate(username);
+        }
+        log.debug("Evicted cached user {}", username);
+    }
+
+    private static User copyOf(User user) {
+        return User.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .email(user.getEmail())
+                .password(user.getPassword())
+                .role(user.getRole())
+                .active(user.getActive())
+                .build();
     }
 }
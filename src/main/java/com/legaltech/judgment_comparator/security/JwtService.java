@@ -1,14 +1,20 @@
 package com.legaltech.judgment_comparator.security;
 
+import com.legaltech.judgment_comparator.cache.BoundedCache;
+import com.legaltech.judgment_comparator.cache.CacheRegistry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
+import java.time.Duration;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -19,14 +25,74 @@ import java.util.function.Function;
  * Updated for JJWT 0.12.x API
  */
 @Service
+@RequiredArgsConstructor
 public class JwtService {
 
+    private final CacheRegistry cacheRegistry;
+
     @Value("${jwt.secret}")
     private String secret;
 
     @Value("${jwt.expiration}")
     private Long jwtExpiration;
 
+    @Value("${jwt.cache.max-size:10000}")
+    private int cacheMaxSize;
+
+    @Value("${jwt.cache.ttl:600000}")
+    private long cacheTtl;
+
+    private SecretKey signInKey;
+    private JwtParser parser;
+
+    /**
+     * Verified token -> subject and expiry
+     * Skips the HMAC check for tokens seen recently; an entry never outlives its token
+     */
+    private BoundedCache<String, VerifiedToken> verifiedTokens;
+
+    /**
+     * What the filter needs from a token whose signature has been checked
+     */
+    public record VerifiedToken(String username, Date expiration) {
+
+        boolean isExpired() {
+            return expiration.before(new Date());
+        }
+    }
+
+    /**
+     * Decode the key and build the (thread-safe) parser once instead of per call
+     */
+    @PostConstruct
+    void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        parser = Jwts.parser().verifyWith(signInKey).build();
+        verifiedTokens = cacheRegistry.register("jwt", new BoundedCache<>(cacheMaxSize,
+                Duration.ofMillis(cacheTtl), BoundedCache.EvictionPolicy.LRU));
+    }
+
+    /**
+     * Verify a token once and return its subject and expiry
+     * Served from the cache when the same token was verified before
+     *
+     * @return null if the token is expired (or has no expiry)
+     * @throws io.jsonwebtoken.JwtException if the token is malformed or the signature does not match
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken verified = verifiedTokens.get(token);
+        if (verified == null) {
+            Claims claims = extractAllClaims(token);
+            if (claims.getExpiration() == null) {
+                return null; // every token we issue expires
+            }
+            verified = new VerifiedToken(claims.getSubject(), claims.getExpiration());
+            verifiedTokens.put(token, verified,
+                    Duration.ofMillis(verified.expiration().getTime() - System.currentTimeMillis()));
+        }
+        return verified.isExpired() ? null : verified;
+    }
+
     /**
      * Extract username from JWT token
      */
@@ -78,22 +144,8 @@ public class JwtService {
      * Validate JWT token
      */
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
-    }
-
-    /**
-     * Check if token is expired
-     */
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
-    }
-
-    /**
-     * Extract expiration date from token
-     */
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        final VerifiedToken verified = verify(token);
+        return verified != null && verified.username().equals(userDetails.getUsername());
     }
 
     /**
@@ -101,10 +153,7 @@ public class JwtService {
      * FIX: Updated for JJWT 0.12.x - use parser() instead of parserBuilder()
      */
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -114,7 +163,6 @@ public class JwtService {
      * FIX: Updated for JJWT 0.12.x - returns SecretKey instead of Key
      */
     private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(secret);
-        return Keys.hmacShaKeyFor(keyBytes); // Changed from hmacSigKeyFor
+        return signInKey;
     }
 }
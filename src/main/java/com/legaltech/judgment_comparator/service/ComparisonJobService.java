@@ -0,0 +1,251 @@
+package com.legaltech.judgment_comparator.service;
+
+import com.legaltech.judgment_comparator.cache.BoundedCache;
+import com.legaltech.judgment_comparator.cache.CacheRegistry;
+import com.legaltech.judgment_comparator.dto.ComparisonJobPriority;
+import com.legaltech.judgment_comparator.dto.ComparisonJobReport;
+import com.legaltech.judgment_comparator.dto.ComparisonJobState;
+import com.legaltech.judgment_comparator.exception.JobQueueFullException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Comparisons run in the background: submit, then poll (or long-poll) for the result
+ *
+ * Jobs wait in a priority queue in front of a fixed set of workers; once the queue holds
+ * queue-capacity jobs, new ones are refused (429) rather than queued without bound.
+ * Finished jobs move to an expiring cache, so results are kept for result-ttl and then dropped.
+ * Each job runs compareJudgments, so results have the same shape (and share its cache).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class ComparisonJobService {
+
+    private final JudgmentService judgmentService;
+    private final CacheRegistry cacheRegistry;
+
+    /**
+     * 0 = one per CPU core
+     */
+    @Value("${judgment.compare.jobs.workers:0}")
+    private int workers;
+
+    @Value("${judgment.compare.jobs.queue-capacity:100}")
+    private int queueCapacity;
+
+    @Value("${judgment.compare.jobs.result-ttl:600000}")
+    private long resultTtl;
+
+    @Value("${judgment.compare.jobs.max-results:10000}")
+    private int maxResults;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    private final Map<String, ComparisonJob> activeJobs = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong();
+    private BoundedCache<String, ComparisonJobReport> finishedJobs;
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    void init() {
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        ThreadFactory threadFactory = virtualThreads
+                ? Thread.ofVirtual().name("compare-job-", 1).factory()
+                : Thread.ofPlatform().name("compare-job-", 1).factory();
+        // Only execute() is used, so the queue holds ComparisonJobs and orders them by priority
+        executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), threadFactory);
+        finishedJobs = cacheRegistry.register("compareJobs", new BoundedCache<>(maxResults,
+                Duration.ofMillis(resultTtl), BoundedCache.EvictionPolicy.LRU));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Queue a comparison
+     *
+     * @throws JobQueueFullException when queue-capacity jobs are already waiting
+     */
+    public ComparisonJobReport submit(Long id1, Long id2, String engine, ComparisonJobPriority priority) {
+        // Fail fast on unknown judgments instead of queueing a job that can only fail
+        judgmentService.getJudgmentSummary(id1);
+        judgmentService.getJudgmentSummary(id2);
+
+        ComparisonJob job = new ComparisonJob(UUID.randomUUID().toString(), id1, id2, engine, priority,
+                sequence.incrementAndGet());
+        synchronized (this) {
+            if (executor.getQueue().size() >= queueCapacity) {
+                throw new JobQueueFullException(queueCapacity);
+            }
+            activeJobs.put(job.id, job);
+            executor.execute(job);
+        }
+        log.info("Queued comparison job {} ({} vs {}, {})", job.id, id1, id2, priority);
+        return job.report();
+    }
+
+    /**
+     * Current state of a job (with the result once it has finished)
+     */
+    public ComparisonJobReport getJob(String jobId) {
+        ComparisonJob job = activeJobs.get(jobId);
+        if (job != null) {
+            return job.report();
+        }
+        ComparisonJobReport finished = finishedJobs.get(jobId);
+        if (finished == null) {
+            throw new RuntimeException("Comparison job not found (or expired): " + jobId);
+        }
+        return finished;
+    }
+
+    /**
+     * Completes with the final report once the job finishes (immediately if it already has)
+     */
+    public CompletableFuture<ComparisonJobReport> whenFinished(String jobId) {
+        ComparisonJob job = activeJobs.get(jobId);
+        if (job == null) {
+            return CompletableFuture.completedFuture(getJob(jobId));
+        }
+        return job.done.copy();
+    }
+
+    /**
+     * Cancel a queued or running job; a finished job is returned unchanged
+     * A running comparison is interrupted and its result discarded
+     */
+    public ComparisonJobReport cancel(String jobId) {
+        ComparisonJob job = activeJobs.get(jobId);
+        if (job == null) {
+            return getJob(jobId);
+        }
+        executor.remove(job);
+        synchronized (job) {
+            // Under the job's lock: once the job has finished, its worker may already be running another one
+            if (job.state == ComparisonJobState.RUNNING && job.runner != null) {
+                job.runner.interrupt();
+            }
+        }
+        finish(job, ComparisonJobState.CANCELLED, null, null);
+        log.info("Cancelled comparison job {}", jobId);
+        return getJob(jobId);
+    }
+
+    /**
+     * Move a job to a final state (the first call wins)
+     */
+    private void finish(ComparisonJob job, ComparisonJobState state, Map<String, Object> result, String error) {
+        ComparisonJobReport report;
+        synchronized (job) {
+            if (job.state.isFinished()) {
+                return;
+            }
+            job.state = state;
+            job.finishedAt = LocalDateTime.now();
+            job.result = result;
+            job.error = error;
+            report = job.report();
+        }
+        // Cache first, so a lookup between the two steps still finds the job
+        finishedJobs.put(job.id, report);
+        activeJobs.remove(job.id);
+        job.done.complete(report);
+    }
+
+    private final class ComparisonJob implements Runnable, Comparable<ComparisonJob> {
+
+        private final String id;
+        private final Long id1;
+        private final Long id2;
+        private final String engine;
+        private final ComparisonJobPriority priority;
+        private final long order;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final CompletableFuture<ComparisonJobReport> done = new CompletableFuture<>();
+
+        private ComparisonJobState state = ComparisonJobState.QUEUED;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private Map<String, Object> result;
+        private String error;
+        /**
+         * Worker thread while RUNNING; read and cleared under the job's lock
+         */
+        private Thread runner;
+
+        ComparisonJob(String id, Long id1, Long id2, String engine, ComparisonJobPriority priority, long order) {
+            this.id = id;
+            this.id1 = id1;
+            this.id2 = id2;
+            this.engine = engine;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (state != ComparisonJobState.QUEUED) {
+                    return; // cancelled while queued
+                }
+                state = ComparisonJobState.RUNNING;
+                startedAt = LocalDateTime.now();
+                runner = Thread.currentThread();
+            }
+            try {
+                finish(this, ComparisonJobState.COMPLETED, judgmentService.compareJudgments(id1, id2, engine), null);
+            } catch (RuntimeException e) {
+                log.warn("Comparison job {} failed: {}", id, e.getMessage());
+                finish(this, ComparisonJobState.FAILED, null, e.getMessage());
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    Thread.interrupted(); // a cancel may have interrupted this worker
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(ComparisonJob other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(order, other.order);
+        }
+
+        synchronized ComparisonJobReport report() {
+            return ComparisonJobReport.builder()
+                    .jobId(id)
+                    .status(state)
+                    .priority(priority)
+                    .id1(id1)
+                    .id2(id2)
+                    .engine(engine)
+                    .submittedAt(submittedAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .result(result)
+                    .error(error)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.legaltech.judgment_comparator.service;
+
+import com.legaltech.judgment_comparator.analysis.VerdictCategory;
+import com.legaltech.judgment_comparator.dto.CorpusStatistics;
+import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.repository.JudgmentRepository;
+import com.legaltech.judgment_comparator.store.JudgmentContentStore;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Judgment counts by court, year and verdict category plus the total text length
+ *
+ * Counters are LongAdders bumped after each save/delete commits, so concurrent uploads never
+ * contend on a shared counter and GET /api/judgments/stats reads them without touching the database.
+ * A background job recomputes everything from the database (at startup, then every
+ * judgment.stats.reconcile-interval ms) and corrects any drift, e.g. rows changed behind the
+ * application's back. It only applies a result when no write committed while it was counting;
+ * otherwise it tries again next time.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class CorpusStatisticsService {
+
+    private final JudgmentRepository judgmentRepository;
+    private final JudgmentContentStore contentStore;
+    private final PlatformTransactionManager transactionManager;
+
+    /**
+     * 0 = only reconcile once at startup
+     */
+    @Value("${judgment.stats.reconcile-interval:300000}")
+    private long reconcileInterval;
+
+    private final LongAdder total = new LongAdder();
+    private final LongAdder textLength = new LongAdder();
+
+    /**
+     * Per court key (see Judgment.courtKeyOf); courtNames holds the name shown for it
+     */
+    private final Map<String, LongAdder> byCourt = new ConcurrentHashMap<>();
+    private final Map<String, String> courtNames = new ConcurrentHashMap<>();
+    private final Map<Integer, LongAdder> byYear = new ConcurrentHashMap<>();
+    private final Map<VerdictCategory, LongAdder> byVerdict = new EnumMap<>(VerdictCategory.class);
+
+    /**
+     * Writes between commit and counter update, and writes fully counted so far
+     * (a reconciliation is discarded if either moved while it ran)
+     */
+    private final AtomicLong pendingWrites = new AtomicLong();
+    private final AtomicLong completedWrites = new AtomicLong();
+
+    private volatile LocalDateTime reconciledAt;
+    private volatile long lastCorrection;
+
+    private TransactionTemplate readOnlyTransaction;
+    private volatile ScheduledExecutorService scheduler;
+
+    @PostConstruct
+    void init() {
+        for (VerdictCategory category : VerdictCategory.values()) {
+            byVerdict.put(category, new LongAdder());
+        }
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * Initial count once the application is up, then the periodic reconciliation
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("stats-reconcile").daemon().factory());
+        if (reconcileInterval > 0) {
+            scheduler.scheduleWithFixedDelay(this::reconcileQuietly, 0, reconcileInterval, TimeUnit.MILLISECONDS);
+        } else {
+            scheduler.execute(this::reconcileQuietly);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Count a new judgment once the surrounding transaction commits
+     * Call after its text is in the content store
+     */
+    public void recordSaved(Judgment judgment) {
+        onCommit(judgment, 1);
+    }
+
+    /**
+     * Uncount a deleted judgment once the surrounding transaction commits
+     */
+    public void recordDeleted(Judgment judgment) {
+        onCommit(judgment, -1);
+    }
+
+    /**
+     * Current counters (no database access)
+     */
+    public CorpusStatistics statistics() {
+        long count = total.sum();
+        Map<String, Long> courts = new LinkedHashMap<>();
+        byCourt.entrySet().stream()
+                .map(e -> Map.entry(courtNames.getOrDefault(e.getKey(), e.getKey()), e.getValue().sum()))
+                .filter(e -> e.getValue() > 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder())
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> courts.put(e.getKey(), e.getValue()));
+        Map<Integer, Long> years = new TreeMap<>();
+        byYear.forEach((year, adder) -> {
+            long sum = adder.sum();
+            if (sum > 0) {
+                years.put(year, sum);
+            }
+        });
+        Map<String, Long> verdicts = new LinkedHashMap<>();
+        byVerdict.forEach((category, adder) -> verdicts.put(category.name(), adder.sum()));
+        double averageTextLength = count > 0 ? Math.round(textLength.sum() * 100.0 / count) / 100.0 : 0;
+        return new CorpusStatistics(count, averageTextLength, courts, years, verdicts, reconciledAt, lastCorrection);
+    }
+
+    /**
+     * Recount from the database and correct the counters
+     *
+     * @return false if writes got in the way (nothing was changed)
+     */
+    public synchronized boolean reconcile() {
+        if (pendingWrites.get() != 0) {
+            return false;
+        }
+        long writesBefore = completedWrites.get();
+        Snapshot database = readOnlyTransaction.execute(tx -> countDatabase());
+        Snapshot counters = countCounters();
+        if (pendingWrites.get() != 0 || completedWrites.get() != writesBefore) {
+            return false;
+        }
+
+        // Add the differences rather than overwrite, so writes from here on are kept
+        long correction = correct(total, database.total - counters.total);
+        textLength.add(database.textLength - counters.textLength);
+        correction += correct(byCourt, database.byCourt, counters.byCourt);
+        correction += correct(byYear, database.byYear, counters.byYear);
+        correction += correct(byVerdict, database.byVerdict, counters.byVerdict);
+        courtNames.putAll(database.courtNames);
+
+        boolean initial = reconciledAt == null;
+        lastCorrection = initial ? 0 : correction;
+        reconciledAt = LocalDateTime.now();
+        if (initial) {
+            log.info("Corpus statistics loaded: {} judgments", database.total);
+        } else if (correction != 0) {
+            log.warn("Corpus statistics drifted from the database, corrected {} counts", correction);
+        }
+        return true;
+    }
+
+    private void reconcileQuietly() {
+        try {
+            if (!reconcile()) {
+                log.info("Corpus statistics reconciliation skipped: judgments changed while counting");
+            }
+        } catch (RuntimeException e) {
+            log.error("Corpus statistics reconciliation failed", e);
+        }
+    }
+
+    private void onCommit(Judgment judgment, int sign) {
+        String courtKey = Judgment.courtKeyOf(judgment.getCourt());
+        String court = judgment.getCourt() != null ? judgment.getCourt().trim() : null;
+        Integer year = judgment.getYear();
+        Set<VerdictCategory> verdicts = VerdictCategory.of(judgment.getVerdict());
+        long length = contentStore.text(judgment.getContentPointer()).length();
+        Runnable apply = () -> apply(courtKey, court, year, verdicts, sign, length);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private boolean pending;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    pendingWrites.incrementAndGet();
+                    pending = true;
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        apply.run();
+                    }
+                    if (pending) {
+                        completedWrites.incrementAndGet();
+                        pendingWrites.decrementAndGet();
+                    }
+                }
+            });
+        } else {
+            pendingWrites.incrementAndGet();
+            apply.run();
+            completedWrites.incrementAndGet();
+            pendingWrites.decrementAndGet();
+        }
+    }
+
+    private void apply(String courtKey, String court, Integer year, Set<VerdictCategory> verdicts,
+            int sign, long length) {
+        total.add(sign);
+        textLength.add(sign * length);
+        if (courtKey != null) {
+            byCourt.computeIfAbsent(courtKey, key -> new LongAdder()).add(sign);
+            if (sign > 0) {
+                courtNames.put(courtKey, court);
+            }
+        }
+        if (year != null) {
+            byYear.computeIfAbsent(year, key -> new LongAdder()).add(sign);
+        }
+        for (VerdictCategory category : verdicts) {
+            byVerdict.get(category).add(sign);
+        }
+    }
+
+    private Snapshot countDatabase() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.total = judgmentRepository.count();
+        for (Object[] row : judgmentRepository.countByCourt()) {
+            snapshot.byCourt.put((String) row[0], (Long) row[2]);
+            snapshot.courtNames.put((String) row[0], ((String) row[1]).trim());
+        }
+        for (Object[] row : judgmentRepository.countByYear()) {
+            snapshot.byYear.put((Integer) row[0], (Long) row[1]);
+        }
+        for (VerdictCategory category : VerdictCategory.values()) {
+            snapshot.byVerdict.put(category, 0L);
+        }
+        for (Object[] row : judgmentRepository.countByVerdict()) {
+            for (VerdictCategory category : VerdictCategory.of((String) row[0])) {
+                snapshot.byVerdict.merge(category, (Long) row[1], Long::sum);
+            }
+        }
+        try (var pointers = judgmentRepository.streamContentPointers()) {
+            snapshot.textLength = pointers.mapToLong(pointer -> contentStore.text(pointer).length()).sum();
+        }
+        return snapshot;
+    }
+
+    private Snapshot countCounters() {
+        Snapshot snapshot = new Snapshot();
+        snapshot.total = total.sum();
+        snapshot.textLength = textLength.sum();
+        byCourt.forEach((key, adder) -> snapshot.byCourt.put(key, adder.sum()));
+        byYear.forEach((year, adder) -> snapshot.byYear.put(year, adder.sum()));
+        byVerdict.forEach((category, adder) -> snapshot.byVerdict.put(category, adder.sum()));
+        return snapshot;
+    }
+
+    private static long correct(LongAdder adder, long delta) {
+        adder.add(delta);
+        return Math.abs(delta);
+    }
+
+    /**
+     * Add database - counted to every counter (keys missing on one side count as 0)
+     *
+     * @return sum of the absolute corrections
+     */
+    private static <K> long correct(Map<K, LongAdder> adders, Map<K, Long> database, Map<K, Long> counted) {
+        long correction = 0;
+        Set<K> keys = new HashSet<>(counted.keySet());
+        keys.addAll(database.keySet());
+        for (K key : keys) {
+            long delta = database.getOrDefault(key, 0L) - counted.getOrDefault(key, 0L);
+            if (delta != 0) {
+                correction += correct(adders.computeIfAbsent(key, k -> new LongAdder()), delta);
+            }
+        }
+        return correction;
+    }
+
+    /**
+     * Plain copy of every count, from the database or from the counters
+     */
+    private static final class Snapshot {
+        long total;
+        long textLength;
+        final Map<String, Long> byCourt = new HashMap<>();
+        final Map<String, String> courtNames = new HashMap<>();
+        final Map<Integer, Long> byYear = new HashMap<>();
+        final Map<VerdictCategory, Long> byVerdict = new EnumMap<>(VerdictCategory.class);
+    }
+}
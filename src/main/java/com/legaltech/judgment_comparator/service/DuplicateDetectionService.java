@@ -0,0 +1,104 @@
+package com.legaltech.judgment_comparator.service;
+
+import com.legaltech.judgment_comparator.analysis.ContentFingerprint;
+import com.legaltech.judgment_comparator.exception.DuplicateJudgmentException;
+import com.legaltech.judgment_comparator.index.DuplicateIndex;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * What to do when a new judgment repeats an existing one (judgment.duplicates.mode)
+ *
+ * The lookup goes through the in-memory DuplicateIndex (a hash lookup plus a few SimHash
+ * comparisons), never the judgments table. A judgment is only indexed once its transaction
+ * commits, so in REJECT mode check() also reserves the content hash until then: a second copy
+ * of the same text arriving meanwhile is rejected instead of slipping past the index. (Near
+ * copies saved at the same moment are not reserved and can both get through.)
+ */
+@Service
+@RequiredArgsConstructor
+public class DuplicateDetectionService {
+
+    public enum Mode {
+        /** No check */
+        OFF,
+        /** Save anyway and report the existing judgment's id */
+        FLAG,
+        /** Refuse the upload (409 Conflict with the existing judgment's id) */
+        REJECT
+    }
+
+    private final JudgmentIndexService judgmentIndexService;
+
+    @Value("${judgment.duplicates.mode:FLAG}")
+    private Mode mode;
+
+    /**
+     * Content hashes passed by check() in REJECT mode whose judgment is not indexed yet
+     */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+
+    /**
+     * The existing judgment a new one duplicates, if any
+     * In REJECT mode the text is reserved: inside a transaction until it completes, otherwise
+     * until release() (call it once the judgment is indexed or dropped)
+     *
+     * @throws DuplicateJudgmentException if there is one, or the same text is being saved, and the mode is REJECT
+     */
+    public Optional<DuplicateIndex.Match> check(ContentFingerprint fingerprint) {
+        if (mode == Mode.OFF) {
+            return Optional.empty();
+        }
+        Optional<DuplicateIndex.Match> match = judgmentIndexService.findDuplicate(fingerprint);
+        if (mode == Mode.REJECT) {
+            if (match.isPresent()) {
+                throw new DuplicateJudgmentException(match.get());
+            }
+            reserve(fingerprint);
+        }
+        return match;
+    }
+
+    /**
+     * Drop a reservation made by check() outside a transaction (no-op if there is none)
+     */
+    public void release(ContentFingerprint fingerprint) {
+        pending.remove(fingerprint.contentHash());
+    }
+
+    private void reserve(ContentFingerprint fingerprint) {
+        if (!pending.add(fingerprint.contentHash())) {
+            throw new DuplicateJudgmentException("Same text as a judgment being saved");
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            // afterCompletion runs after every afterCommit, so a committed copy is indexed by then
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    release(fingerprint);
+                }
+            });
+        }
+    }
+
+    /**
+     * Same check for a judgment whose text is identical to an earlier record of the same import
+     * (not indexed yet, so check() cannot see it)
+     *
+     * @return true if the copy should be flagged
+     * @throws DuplicateJudgmentException if the mode is REJECT
+     */
+    public boolean checkCopyOf(long recordNumber) {
+        if (mode == Mode.REJECT) {
+            throw new DuplicateJudgmentException("Same text as record " + recordNumber);
+        }
+        return mode == Mode.FLAG;
+    }
+}
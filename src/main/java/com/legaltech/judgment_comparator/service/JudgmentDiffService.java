@@ -0,0 +1,161 @@
+package com.legaltech.judgment_comparator.service;
+
+import com.legaltech.judgment_comparator.cache.BoundedCache;
+import com.legaltech.judgment_comparator.cache.CacheRegistry;
+import com.legaltech.judgment_comparator.concurrency.Bulkhead;
+import com.legaltech.judgment_comparator.diff.AlignedSegment;
+import com.legaltech.judgment_comparator.diff.ParagraphAligner;
+import com.legaltech.judgment_comparator.diff.ParagraphFingerprints;
+import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.repository.JudgmentRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Section-aware comparison: which paragraphs of two judgments are identical or nearly so
+ *
+ * Paragraph fingerprints are cached per judgment and content version, so a judgment is only
+ * hashed the first time it takes part in a diff (and again after it is replaced; entries of
+ * older versions are never hit and age out of the LRU).
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JudgmentDiffService {
+
+    private final JudgmentRepository judgmentRepository;
+    private final JudgmentIndexService judgmentIndexService;
+    private final CacheRegistry cacheRegistry;
+    private final Bulkhead similarityBulkhead;
+
+    @Value("${judgment.diff.max-paragraph-chars:2000}")
+    private int maxParagraphChars;
+
+    @Value("${judgment.diff.similar-threshold:0.5}")
+    private double defaultThreshold;
+
+    @Value("${judgment.diff.cache.max-size:1000}")
+    private int cacheSize;
+
+    private BoundedCache<FingerprintKey, ParagraphFingerprints> fingerprints;
+
+    private record FingerprintKey(long id, long version) {
+    }
+
+    @PostConstruct
+    void init() {
+        fingerprints = cacheRegistry.register("paragraphFingerprints",
+                new BoundedCache<>(cacheSize, null, BoundedCache.EvictionPolicy.LRU));
+    }
+
+    /**
+     * Align the paragraphs of two judgments
+     *
+     * @param threshold minimum similarity percentage of near-identical paragraphs (null for the default)
+     */
+    public Map<String, Object> diffJudgments(Long id1, Long id2, Double threshold) {
+        log.info("Section diff: {} vs {} (threshold {})", id1, id2, threshold);
+        if (threshold != null && (threshold <= 0 || threshold > 100)) {
+            throw new RuntimeException("threshold must be a percentage between 0 (exclusive) and 100");
+        }
+        double minSimilarity = threshold != null ? threshold / 100 : defaultThreshold;
+
+        Judgment judgment1 = findJudgment(id1);
+        Judgment judgment2 = findJudgment(id2);
+
+        return similarityBulkhead.call(() -> {
+            ParagraphFingerprints fingerprints1 = fingerprintsOf(judgment1);
+            ParagraphFingerprints fingerprints2 = fingerprintsOf(judgment2);
+            List<AlignedSegment> segments = ParagraphAligner.align(fingerprints1, fingerprints2, minSimilarity);
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("judgment1", describe(judgment1, fingerprints1));
+            result.put("judgment2", describe(judgment2, fingerprints2));
+            result.put("summary", summarize(segments, fingerprints1, fingerprints2));
+            result.put("segments", segments.stream().map(JudgmentDiffService::toMap).toList());
+            return result;
+        });
+    }
+
+    /**
+     * Cached fingerprints of the judgment's current text; computed from the content store view
+     * Judgments that are not indexed yet have no version and are fingerprinted without caching
+     */
+    private ParagraphFingerprints fingerprintsOf(Judgment judgment) {
+        long version = judgmentIndexService.versionOf(judgment.getId());
+        if (version == 0) {
+            return ParagraphFingerprints.of(judgmentIndexService.textViewOf(judgment), maxParagraphChars);
+        }
+        return fingerprints.get(new FingerprintKey(judgment.getId(), version),
+                key -> ParagraphFingerprints.of(judgmentIndexService.textViewOf(judgment), maxParagraphChars));
+    }
+
+    private Judgment findJudgment(Long id) {
+        return judgmentRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Judgment not found with ID: " + id));
+    }
+
+    private static Map<String, Object> describe(Judgment judgment, ParagraphFingerprints fingerprints) {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("id", judgment.getId());
+        description.put("caseName", judgment.getCaseName());
+        description.put("length", fingerprints.length());
+        description.put("paragraphCount", fingerprints.paragraphCount());
+        return description;
+    }
+
+    /**
+     * Match counts, and how much of each text (by characters) the matched paragraphs cover
+     */
+    private static Map<String, Object> summarize(List<AlignedSegment> segments,
+            ParagraphFingerprints fingerprints1, ParagraphFingerprints fingerprints2) {
+        int identical = 0;
+        int moved = 0;
+        long covered1 = 0;
+        long covered2 = 0;
+        for (AlignedSegment segment : segments) {
+            if (segment.type() == AlignedSegment.Type.IDENTICAL) {
+                identical++;
+            }
+            if (segment.moved()) {
+                moved++;
+            }
+            covered1 += segment.end1() - segment.start1();
+            covered2 += segment.end2() - segment.start2();
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("identicalParagraphs", identical);
+        summary.put("similarParagraphs", segments.size() - identical);
+        summary.put("movedParagraphs", moved);
+        summary.put("coverage1", percentage(covered1, fingerprints1.length()));
+        summary.put("coverage2", percentage(covered2, fingerprints2.length()));
+        return summary;
+    }
+
+    private static Map<String, Object> toMap(AlignedSegment segment) {
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("type", segment.type());
+        entry.put("similarityPercentage", Math.round(segment.similarity() * 10000.0) / 100.0);
+        entry.put("moved", segment.moved());
+        entry.put("paragraph1", segment.paragraph1());
+        entry.put("start1", segment.start1());
+        entry.put("end1", segment.end1());
+        entry.put("paragraph2", segment.paragraph2());
+        entry.put("start2", segment.start2());
+        entry.put("end2", segment.end2());
+        return entry;
+    }
+
+    private static double percentage(long part, long whole) {
+        return whole == 0 ? 0 : Math.round(part * 10000.0 / whole) / 100.0;
+    }
+}
@@ -0,0 +1,401 @@
+package com.legaltech.judgment_comparator.service;
+
+import com.legaltech.judgment_comparator.analysis.ContentFingerprint;
+import com.legaltech.judgment_comparator.dto.ImportReport;
+import com.legaltech.judgment_comparator.entity.ImportCheckpoint;
+import com.legaltech.judgment_comparator.entity.ImportStatus;
+import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.exception.DuplicateJudgmentException;
+import com.legaltech.judgment_comparator.index.DuplicateIndex;
+import com.legaltech.judgment_comparator.ingest.CsvJudgmentReader;
+import com.legaltech.judgment_comparator.ingest.ImportFormat;
+import com.legaltech.judgment_comparator.ingest.JudgmentRecord;
+import com.legaltech.judgment_comparator.ingest.JudgmentRecordReader;
+import com.legaltech.judgment_comparator.ingest.NdjsonJudgmentReader;
+import com.legaltech.judgment_comparator.repository.ImportCheckpointRepository;
+import com.legaltech.judgment_comparator.repository.JudgmentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk judgment ingestion
+ *
+ * Pipeline: the request thread parses records into a bounded queue (so a slow
+ * database pushes back on the upload instead of filling the heap); a writer
+ * thread validates them and inserts in batches. Each batch commits together with
+ * the import checkpoint, so a failed import can be resumed by re-sending the same
+ * file with the same importId.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JudgmentImportService {
+
+    private static final JudgmentRecord END_OF_INPUT = new JudgmentRecord(-1, null, null);
+    private static final long OFFER_TIMEOUT_MS = 100;
+    private static final int MAX_IMPORT_ID_LENGTH = 64;
+
+    private final JudgmentRepository judgmentRepository;
+    private final ImportCheckpointRepository checkpointRepository;
+    private final JudgmentIndexService judgmentIndexService;
+    private final KeywordService keywordService;
+    private final CorpusStatisticsService corpusStatisticsService;
+    private final DuplicateDetectionService duplicateDetectionService;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final JsonMapper jsonMapper;
+    private final ThreadPoolTaskExecutor importExecutor;
+
+    @Value("${judgment.import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${judgment.import.queue-capacity:2000}")
+    private int queueCapacity;
+
+    @Value("${judgment.import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    /**
+     * Imports currently running, for progress queries
+     */
+    private final Map<String, ImportJob> runningImports = new ConcurrentHashMap<>();
+
+    /**
+     * Import judgments from an NDJSON or CSV stream
+     *
+     * @param importId null for a new import; an earlier id to resume it after its checkpoint
+     */
+    public ImportReport importJudgments(String importId, ImportFormat format, InputStream input) {
+        String id = importId != null ? importId : UUID.randomUUID().toString();
+        if (id.isBlank() || id.length() > MAX_IMPORT_ID_LENGTH) {
+            throw new RuntimeException("importId must be 1 to " + MAX_IMPORT_ID_LENGTH + " characters");
+        }
+
+        ImportCheckpoint checkpoint = checkpointRepository.findById(id)
+                .orElseGet(() -> new ImportCheckpoint(id, 0, 0, 0, ImportStatus.RUNNING, null));
+        if (checkpoint.getStatus() == ImportStatus.COMPLETED) {
+            throw new RuntimeException("Import already completed: " + id);
+        }
+
+        ImportJob job = new ImportJob(id, checkpoint.getLastRecord());
+        if (runningImports.putIfAbsent(id, job) != null) {
+            throw new RuntimeException("Import already running: " + id);
+        }
+        log.info("Starting import {} ({}), resuming after record {}", id, format, checkpoint.getLastRecord());
+
+        try {
+            run(job, checkpoint, format, input);
+        } finally {
+            runningImports.remove(id);
+        }
+        return job.toReport(checkpoint);
+    }
+
+    /**
+     * Progress of a running import, or the last checkpoint of a finished one
+     */
+    public ImportReport getImportStatus(String importId) {
+        ImportCheckpoint checkpoint = checkpointRepository.findById(importId).orElse(null);
+        ImportJob job = runningImports.get(importId);
+        if (checkpoint == null) {
+            if (job == null) {
+                throw new RuntimeException("Import not found: " + importId);
+            }
+            // Running, but the first batch has not been committed yet
+            checkpoint = new ImportCheckpoint(importId, 0, 0, 0, ImportStatus.RUNNING, null);
+        }
+        return (job != null ? job : new ImportJob(importId, 0)).toReport(checkpoint);
+    }
+
+    private void run(ImportJob job, ImportCheckpoint checkpoint, ImportFormat format, InputStream input) {
+        BlockingQueue<JudgmentRecord> queue = new ArrayBlockingQueue<>(queueCapacity);
+        Future<?> writer;
+        try {
+            writer = importExecutor.submit(() -> writeLoop(queue, job, checkpoint));
+        } catch (TaskRejectedException e) {
+            throw new RuntimeException("Too many imports running, try again later");
+        }
+
+        // Throwable: the writer may die with an Error (e.g. OutOfMemoryError), which must still fail the checkpoint
+        Throwable failure = null;
+        try {
+            JudgmentRecordReader reader = openReader(format, input);
+            for (long skipped = 0; skipped < job.resumedAfter; skipped++) {
+                if (!reader.skip()) {
+                    break;
+                }
+            }
+
+            JudgmentRecord record;
+            while ((record = reader.next()) != null) {
+                job.recordsRead.incrementAndGet();
+                if (!enqueue(queue, record, writer)) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            failure = e;
+        } finally {
+            // Whatever was read is still written, so the checkpoint is as far along as possible
+            enqueue(queue, END_OF_INPUT, writer);
+        }
+
+        try {
+            writer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure = e;
+        } catch (ExecutionException e) {
+            failure = e.getCause();
+        }
+
+        if (failure != null) {
+            String message = failure.getMessage() != null ? failure.getMessage() : failure.getClass().getSimpleName();
+            log.error("Import {} failed at record {}: {}", job.importId, checkpoint.getLastRecord(), message);
+            job.addError("Import stopped: " + message);
+            markFailed(checkpoint);
+        } else {
+            log.info("Import {} completed: {} imported, {} rejected",
+                    job.importId, checkpoint.getRecordsImported(), checkpoint.getRecordsRejected());
+        }
+    }
+
+    /**
+     * Blocks while the queue is full; gives up if the writer has stopped
+     */
+    private boolean enqueue(BlockingQueue<JudgmentRecord> queue, JudgmentRecord record, Future<?> writer) {
+        try {
+            while (!queue.offer(record, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (writer.isDone()) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writer stage: validate, batch, commit batch + checkpoint
+     *
+     * @return number of the last record written
+     */
+    private long writeLoop(BlockingQueue<JudgmentRecord> queue, ImportJob job, ImportCheckpoint checkpoint)
+            throws InterruptedException {
+        List<Judgment> batch = new ArrayList<>(batchSize);
+        // Fingerprint of each judgment in the batch, in the same order (reused by index)
+        List<ContentFingerprint> fingerprints = new ArrayList<>(batchSize);
+        // Earlier batches are in the DuplicateIndex by the time the next one is checked; exact copies
+        // within the current batch are caught here: content hash -> first record of the batch with that text
+        Map<String, JudgmentRecord> batchTexts = new HashMap<>();
+        // Record number -> the record of this batch it copies (reported once that one has an id)
+        Map<Long, JudgmentRecord> batchCopies = new LinkedHashMap<>();
+        long lastRecord = checkpoint.getLastRecord();
+        long rejected = 0;
+
+        try {
+            JudgmentRecord record;
+            while ((record = queue.take()) != END_OF_INPUT) {
+                lastRecord = record.recordNumber();
+                String error = record.error() != null ? record.error() : validate(record.judgment());
+                ContentFingerprint fingerprint = null;
+                if (error == null) {
+                    fingerprint = judgmentIndexService.fingerprint(record.judgment());
+                    JudgmentRecord copied = batchTexts.get(fingerprint.contentHash());
+                    try {
+                        if (copied == null) {
+                            Optional<DuplicateIndex.Match> duplicate = duplicateDetectionService.check(fingerprint);
+                            if (duplicate.isPresent()) {
+                                job.addDuplicate(record.recordNumber(), duplicate.get().id());
+                            }
+                        } else if (duplicateDetectionService.checkCopyOf(copied.recordNumber())) {
+                            batchCopies.put(record.recordNumber(), copied);
+                        }
+                    } catch (DuplicateJudgmentException e) {
+                        error = e.getMessage();
+                    }
+                }
+                if (error != null) {
+                    rejected++;
+                    job.addError("Record " + record.recordNumber() + ": " + error);
+                    continue;
+                }
+
+                batch.add(record.judgment());
+                fingerprints.add(fingerprint);
+                batchTexts.putIfAbsent(fingerprint.contentHash(), record);
+                if (batch.size() >= batchSize) {
+                    commit(batch, fingerprints, lastRecord, rejected, checkpoint, ImportStatus.RUNNING);
+                    release(fingerprints);
+                    reportCopies(batchCopies, job);
+                    batch.clear();
+                    batchTexts.clear();
+                    rejected = 0;
+                }
+            }
+
+            commit(batch, fingerprints, lastRecord, rejected, checkpoint, ImportStatus.COMPLETED);
+            reportCopies(batchCopies, job);
+            return lastRecord;
+        } finally {
+            // Committed batches are indexed by now; uncommitted ones are dropped
+            release(fingerprints);
+        }
+    }
+
+    /**
+     * Drop the duplicate-check reservations of a batch (see DuplicateDetectionService.check)
+     */
+    private void release(List<ContentFingerprint> fingerprints) {
+        fingerprints.forEach(duplicateDetectionService::release);
+        fingerprints.clear();
+    }
+
+    /**
+     * Flag records that copy an earlier record of the same (now committed) batch
+     */
+    private void reportCopies(Map<Long, JudgmentRecord> batchCopies, ImportJob job) {
+        batchCopies.forEach((recordNumber, copied) -> job.addDuplicate(recordNumber, copied.judgment().getId()));
+        batchCopies.clear();
+    }
+
+    /**
+     * One transaction: insert the batch (JDBC-batched) and advance the checkpoint
+     *
+     * @param fingerprints fingerprint of each judgment in the batch, in the same order
+     */
+    private void commit(List<Judgment> batch, List<ContentFingerprint> fingerprints, long lastRecord,
+            long rejected, ImportCheckpoint checkpoint, ImportStatus status) {
+        // New keywords commit on their own; resolved first so the batch does not hold two connections
+        batch.forEach(judgment -> judgment.setKeywordIds(keywordService.resolve(judgment.getKeywords())));
+        transactionTemplate.executeWithoutResult(tx -> {
+            batch.forEach(judgmentIndexService::storeContent);
+            judgmentRepository.saveAll(batch);
+            entityManager.flush();
+            for (int i = 0; i < batch.size(); i++) {
+                judgmentIndexService.index(batch.get(i), fingerprints.get(i));
+            }
+            batch.forEach(corpusStatisticsService::recordSaved);
+
+            checkpoint.setLastRecord(lastRecord);
+            checkpoint.setRecordsImported(checkpoint.getRecordsImported() + batch.size());
+            checkpoint.setRecordsRejected(checkpoint.getRecordsRejected() + rejected);
+            checkpoint.setStatus(status);
+            checkpointRepository.save(checkpoint);
+
+            // Keep the persistence context from growing with the import
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    /**
+     * Record the failure, keeping the counters of the last committed batch
+     */
+    private void markFailed(ImportCheckpoint checkpoint) {
+        ImportCheckpoint committed = checkpointRepository.findById(checkpoint.getImportId())
+                .orElse(new ImportCheckpoint(checkpoint.getImportId(), 0, 0, 0, ImportStatus.FAILED, null));
+        committed.setStatus(ImportStatus.FAILED);
+        checkpointRepository.save(committed);
+
+        checkpoint.setLastRecord(committed.getLastRecord());
+        checkpoint.setRecordsImported(committed.getRecordsImported());
+        checkpoint.setRecordsRejected(committed.getRecordsRejected());
+        checkpoint.setStatus(ImportStatus.FAILED);
+    }
+
+    private String validate(Judgment judgment) {
+        Set<ConstraintViolation<Judgment>> violations = validator.validate(judgment);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private JudgmentRecordReader openReader(ImportFormat format, InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return format == ImportFormat.CSV
+                ? new CsvJudgmentReader(reader)
+                : new NdjsonJudgmentReader(reader, jsonMapper);
+    }
+
+    /**
+     * Live counters of one import run
+     */
+    private final class ImportJob {
+
+        private final String importId;
+        private final long resumedAfter;
+        private final AtomicLong recordsRead = new AtomicLong();
+        private final List<String> errors = new ArrayList<>();
+        private final Map<Long, Long> duplicates = new LinkedHashMap<>();
+
+        ImportJob(String importId, long resumedAfter) {
+            this.importId = importId;
+            this.resumedAfter = resumedAfter;
+        }
+
+        synchronized void addError(String error) {
+            if (errors.size() < maxReportedErrors) {
+                errors.add(error);
+            }
+        }
+
+        synchronized void addDuplicate(long recordNumber, long existingId) {
+            if (duplicates.size() < maxReportedErrors) {
+                duplicates.put(recordNumber, existingId);
+            }
+        }
+
+        synchronized ImportReport toReport(ImportCheckpoint checkpoint) {
+            return ImportReport.builder()
+                    .importId(importId)
+                    .status(checkpoint.getStatus())
+                    .resumedAfter(resumedAfter)
+                    .recordsRead(recordsRead.get())
+                    .recordsImported(checkpoint.getRecordsImported())
+                    .recordsRejected(checkpoint.getRecordsRejected())
+                    .checkpoint(checkpoint.getLastRecord())
+                    .errors(List.copyOf(errors))
+                    .duplicates(new LinkedHashMap<>(duplicates))
+                    .build();
+        }
+    }
+}
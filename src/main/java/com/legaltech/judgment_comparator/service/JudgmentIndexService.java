@@ -0,0 +1,376 @@
+package com.legaltech.judgment_comparator.service;
+
+import com.legaltech.judgment_comparator.analysis.ContentFingerprint;
+import com.legaltech.judgment_comparator.analysis.DocumentFrequencies;
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+import com.legaltech.judgment_comparator.analysis.KeywordDictionary;
+import com.legaltech.judgment_comparator.analysis.MinHash;
+import com.legaltech.judgment_comparator.analysis.TermDictionary;
+import com.legaltech.judgment_comparator.analysis.Tokenizer;
+import com.legaltech.judgment_comparator.cache.ComparisonResultCache;
+import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.index.DuplicateIndex;
+import com.legaltech.judgment_comparator.index.FacetIndex;
+import com.legaltech.judgment_comparator.index.IdBitmap;
+import com.legaltech.judgment_comparator.index.InvertedIndex;
+import com.legaltech.judgment_comparator.index.LshIndex;
+import com.legaltech.judgment_comparator.index.ScoredJudgment;
+import com.legaltech.judgment_comparator.index.ShardedCorpus;
+import com.legaltech.judgment_comparator.similarity.SimilarityEngine;
+import com.legaltech.judgment_comparator.store.JudgmentContentStore;
+import jakarta.annotation.PostConstruct;
+import com.legaltech.judgment_comparator.repository.JudgmentRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the in-memory search and analysis structures in sync with the judgments table
+ *
+ * JudgmentService calls index()/remove() on every write; changes are applied
+ * after the surrounding transaction commits so a rollback never leaves the index ahead of the database.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class JudgmentIndexService {
+
+    private static final int REBUILD_PAGE_SIZE = 500;
+    private static final long MINHASH_SEED = 0x5EEDL;
+
+    private final JudgmentRepository judgmentRepository;
+    private final ComparisonResultCache comparisonResultCache;
+    private final DocumentFrequencies documentFrequencies;
+    private final ForkJoinPool comparisonPool;
+    private final TermDictionary termDictionary;
+    private final JudgmentContentStore contentStore;
+
+    private final InvertedIndex invertedIndex = new InvertedIndex();
+    private final FacetIndex facetIndex = new FacetIndex();
+
+    /**
+     * Precomputed analysis artifact per judgment id (views of the content store, not heap copies)
+     */
+    private final Map<Long, JudgmentAnalysis> analyses = new ConcurrentHashMap<>();
+
+    /**
+     * Sorted keyword ids per judgment id
+     */
+    private final Map<Long, int[]> keywordIds = new ConcurrentHashMap<>();
+
+    /**
+     * Content version per judgment id, bumped every time it is (re)indexed
+     */
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+    private final AtomicLong versionCounter = new AtomicLong();
+
+    @Value("${judgment.index.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    @Value("${judgment.search.max-results:1000}")
+    private int maxResults;
+
+    @Value("${judgment.similar.lsh-bands:32}")
+    private int lshBands;
+
+    @Value("${judgment.similar.lsh-rows:4}")
+    private int lshRows;
+
+    @Value("${judgment.rank.shards:0}")
+    private int rankShards;
+
+    @Value("${judgment.duplicates.max-distance:3}")
+    private int duplicateMaxDistance;
+
+    private MinHash minHash;
+    private LshIndex lshIndex;
+    private ShardedCorpus shardedCorpus;
+    private DuplicateIndex duplicateIndex;
+
+    private volatile boolean ready;
+
+    @PostConstruct
+    void init() {
+        minHash = new MinHash(lshBands * lshRows, MINHASH_SEED);
+        lshIndex = new LshIndex(lshBands, lshRows);
+        // Several shards per worker so work stealing can even out uneven shards
+        shardedCorpus = new ShardedCorpus(rankShards > 0 ? rankShards : 4 * comparisonPool.getParallelism());
+        duplicateIndex = new DuplicateIndex(duplicateMaxDistance);
+    }
+
+    /**
+     * Write a new judgment's text and term vector to the content store and point the entity at them
+     * Call before the entity is inserted, so the pointer is part of the INSERT
+     */
+    public void storeContent(Judgment judgment) {
+        String text = judgment.getJudgmentText();
+        JudgmentAnalysis analysis = JudgmentAnalysis.of(0, text, termDictionary);
+        judgment.setContentPointer(contentStore.append(text, analysis));
+    }
+
+    /**
+     * Fingerprint a new judgment's text, e.g. to check for duplicates before storing it
+     * Interns nothing, so a judgment rejected here adds no terms to the dictionary or the content store
+     */
+    public ContentFingerprint fingerprint(Judgment judgment) {
+        return ContentFingerprint.of(judgment.getJudgmentText());
+    }
+
+    /**
+     * An indexed judgment with the same text (whitespace aside) or, failing that, the one whose
+     * SimHash is closest within judgment.duplicates.max-distance bits
+     */
+    public Optional<DuplicateIndex.Match> findDuplicate(ContentFingerprint fingerprint) {
+        return duplicateIndex.find(fingerprint);
+    }
+
+    /**
+     * Text of a stored judgment
+     */
+    public String textOf(Judgment judgment) {
+        return contentStore.text(judgment.getContentPointer()).toString();
+    }
+
+    /**
+     * Text of a stored judgment as a read-only view of the content store (no copy)
+     */
+    public CharSequence textViewOf(Judgment judgment) {
+        return contentStore.text(judgment.getContentPointer());
+    }
+
+    /**
+     * Index a saved judgment (replaces any previous version)
+     * Everything is read back from the content store, so this works the same for new rows and on rebuild
+     */
+    public void index(Judgment judgment) {
+        index(judgment, ContentFingerprint.of(contentStore.text(judgment.getContentPointer())));
+    }
+
+    /**
+     * Same, reusing the fingerprint the duplicate check computed (see fingerprint())
+     */
+    public void index(Judgment judgment, ContentFingerprint fingerprint) {
+        Long id = judgment.getId();
+        long pointer = judgment.getContentPointer();
+        var termFrequencies = Tokenizer.termFrequencies(
+                judgment.getCaseName(),
+                judgment.getKeywords(),
+                judgment.getCourt(),
+                contentStore.text(pointer));
+        JudgmentAnalysis analysis = contentStore.analysis(id, pointer);
+        int[] signature = minHash.signature(analysis.termIds());
+        int[] keywords = KeywordDictionary.toSortedArray(judgment.getKeywordIds());
+        afterCommit(() -> {
+            invertedIndex.add(id, termFrequencies);
+            facetIndex.add(id, judgment.getCourt(), judgment.getYear(), judgment.getVerdict());
+            keywordIds.put(id, keywords);
+            JudgmentAnalysis previous = analyses.put(id, analysis);
+            if (previous != null) {
+                documentFrequencies.remove(previous.termIds());
+            }
+            documentFrequencies.add(analysis.termIds());
+            lshIndex.add(id, signature);
+            duplicateIndex.add(id, fingerprint);
+            shardedCorpus.add(id, analysis, judgment.getCourt(), judgment.getYear());
+            versions.put(id, versionCounter.incrementAndGet()); // cached comparisons of older versions go stale
+        });
+    }
+
+    /**
+     * Remove a deleted judgment
+     */
+    public void remove(Long id) {
+        afterCommit(() -> {
+            invertedIndex.remove(id);
+            facetIndex.remove(id);
+            keywordIds.remove(id);
+            JudgmentAnalysis previous = analyses.remove(id);
+            if (previous != null) {
+                documentFrequencies.remove(previous.termIds());
+            }
+            lshIndex.remove(id);
+            duplicateIndex.remove(id);
+            shardedCorpus.remove(id);
+            versions.remove(id);
+        });
+    }
+
+    /**
+     * Analysis artifact of a judgment
+     * Precomputed at save time; read from the content store for rows that are not indexed yet
+     */
+    public JudgmentAnalysis analysisOf(Judgment judgment) {
+        JudgmentAnalysis analysis = analyses.get(judgment.getId());
+        return analysis != null ? analysis : contentStore.analysis(judgment.getId(), judgment.getContentPointer());
+    }
+
+    /**
+     * Precomputed analysis artifact, or null if the judgment is not indexed
+     */
+    public JudgmentAnalysis analysisOf(Long id) {
+        return analyses.get(id);
+    }
+
+    /**
+     * Sorted keyword ids of an indexed judgment, or null if it is not indexed
+     */
+    public int[] keywordIdsOf(Long id) {
+        return keywordIds.get(id);
+    }
+
+    /**
+     * Content version of an indexed judgment, or 0 if it is not indexed
+     * Changes whenever the judgment is replaced, so results derived from it can be cached by version
+     */
+    public long versionOf(Long id) {
+        return versions.getOrDefault(id, 0L);
+    }
+
+    /**
+     * Judgments whose MinHash signature shares an LSH band with this one
+     * A cheap pre-filter; callers re-rank candidates with the exact similarity
+     */
+    public Set<Long> similarCandidates(Long id) {
+        return lshIndex.candidates(id);
+    }
+
+    /**
+     * Score a judgment against every indexed judgment matching the filter
+     * Shards are scanned in parallel on the comparison pool
+     *
+     * @return the k best matches, best first
+     */
+    public List<ScoredJudgment> rank(JudgmentAnalysis query, ShardedCorpus.Filter filter,
+            SimilarityEngine engine, int k) {
+        return shardedCorpus.topK(query, filter, engine, k, comparisonPool);
+    }
+
+    /**
+     * Search case name, keywords, court and full text
+     * Every query term must match; the last one may be a prefix
+     *
+     * @return judgment ids, best match first
+     */
+    public List<Long> search(String searchTerm) {
+        return invertedIndex.search(Tokenizer.tokenize(searchTerm), true, maxResults);
+    }
+
+    /**
+     * Filter by court, year and verdict category and count the judgments per facet value
+     *
+     * @param searchTerm optional text query; all of its hits are filtered and counted
+     *                   (not capped at judgment.search.max-results like search)
+     */
+    public FacetIndex.Result facets(String searchTerm, FacetIndex.Filter filter) {
+        IdBitmap base = searchTerm != null && !searchTerm.isBlank()
+                ? invertedIndex.matching(Tokenizer.tokenize(searchTerm), true)
+                : null;
+        return facetIndex.query(base, filter);
+    }
+
+    /**
+     * Number of indexed judgments
+     */
+    public int corpusSize() {
+        return analyses.size();
+    }
+
+    /**
+     * False until the startup rebuild has finished
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Rebuild from the database once the application is up
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuild();
+        } else {
+            ready = true;
+        }
+    }
+
+    /**
+     * Rebuild every in-memory structure from the database, page by page
+     */
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        ready = false;
+        invertedIndex.clear();
+        facetIndex.clear();
+        analyses.clear();
+        keywordIds.clear();
+        documentFrequencies.clear();
+        lshIndex.clear();
+        duplicateIndex.clear();
+        shardedCorpus.clear();
+        versions.clear();
+        comparisonResultCache.invalidateAll();
+
+        PageRequest pageRequest = PageRequest.of(0, REBUILD_PAGE_SIZE, Sort.by("id"));
+        Page<Judgment> page;
+        do {
+            page = judgmentRepository.findAll(pageRequest);
+            loadKeywordIds(page.getContent());
+            page.forEach(this::index);
+            pageRequest = pageRequest.next();
+        } while (page.hasNext());
+
+        ready = true;
+        log.info("Search index rebuilt: {} judgments, {} terms in {} ms",
+                invertedIndex.documentCount(), invertedIndex.termCount(),
+                System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Fill in the keyword ids of a page of (detached) judgments with one query
+     */
+    private void loadKeywordIds(List<Judgment> judgments) {
+        if (judgments.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<Integer>> byJudgment = new HashMap<>();
+        for (Object[] row : judgmentRepository.findKeywordIds(judgments.stream().map(Judgment::getId).toList())) {
+            byJudgment.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Integer) row[1]);
+        }
+        judgments.forEach(judgment -> judgment.setKeywordIds(byJudgment.getOrDefault(judgment.getId(), Set.of())));
+    }
+
+    /**
+     * Run now, or after commit when called inside a transaction
+     */
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
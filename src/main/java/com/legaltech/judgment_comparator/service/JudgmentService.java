@@ -1,13 +1,36 @@
 package com.legaltech.judgment_comparator.service;
 
+import com.legaltech.judgment_comparator.analysis.ContentFingerprint;
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+import com.legaltech.judgment_comparator.analysis.KeywordDictionary;
+import com.legaltech.judgment_comparator.analysis.VerdictCategory;
+import com.legaltech.judgment_comparator.cache.ComparisonResultCache;
+import com.legaltech.judgment_comparator.concurrency.Bulkhead;
+import com.legaltech.judgment_comparator.dto.CorpusStatistics;
+import com.legaltech.judgment_comparator.dto.CursorPage;
+import com.legaltech.judgment_comparator.dto.FacetedPage;
+import com.legaltech.judgment_comparator.dto.JudgmentSummary;
 import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.index.DuplicateIndex;
+import com.legaltech.judgment_comparator.index.FacetIndex;
+import com.legaltech.judgment_comparator.index.ScoredJudgment;
+import com.legaltech.judgment_comparator.index.ShardedCorpus;
 import com.legaltech.judgment_comparator.repository.JudgmentRepository;
+import com.legaltech.judgment_comparator.similarity.SimilarityEngine;
+import com.legaltech.judgment_comparator.similarity.SimilarityEngines;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -22,29 +45,140 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class JudgmentService {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     /**
      * Constructor injection (recommended over @Autowired)
      * 'final' ensures immutability
      */
     private final JudgmentRepository judgmentRepository;
+    private final JudgmentIndexService judgmentIndexService;
+    private final ForkJoinPool comparisonPool;
+    private final ComparisonResultCache comparisonResultCache;
+    private final SimilarityEngines similarityEngines;
+    private final KeywordService keywordService;
+    private final KeywordDictionary keywordDictionary;
+    private final CorpusStatisticsService corpusStatisticsService;
+    private final DuplicateDetectionService duplicateDetectionService;
+
+    /**
+     * Caps concurrent scoring, so virtual-thread requests cannot oversubscribe the cores
+     */
+    private final Bulkhead similarityBulkhead;
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * compare: end to end (cached = served from the result cache) and by phase
+     * (fetch = loading both summaries, tokenize = getting both term vectors, score = the similarity)
+     */
+    private Timer compareTimer;
+    private Timer compareCachedTimer;
+    private Timer fetchTimer;
+    private Timer tokenizeTimer;
+    private Timer scoreTimer;
+    private Timer indexSearchTimer;
+    private Timer databaseSearchTimer;
+    private Timer saveTimer;
+
+    @PostConstruct
+    void init() {
+        compareTimer = timer("judgment.compare", "Compare two judgments", "cached", "false");
+        compareCachedTimer = timer("judgment.compare", "Compare two judgments", "cached", "true");
+        fetchTimer = timer("judgment.compare.phase", "One phase of a compare", "phase", "fetch");
+        tokenizeTimer = timer("judgment.compare.phase", "One phase of a compare", "phase", "tokenize");
+        scoreTimer = timer("judgment.compare.phase", "One phase of a compare", "phase", "score");
+        indexSearchTimer = timer("judgment.search", "Keyword search", "source", "index");
+        databaseSearchTimer = timer("judgment.search", "Keyword search", "source", "database");
+        saveTimer = timer("judgment.save", "Store, insert and index a new judgment");
+    }
+
+    private Timer timer(String name, String description, String... tags) {
+        return Timer.builder(name).description(description).tags(tags).register(meterRegistry);
+    }
 
     /**
      * Save a new judgment
+     * Duplicates of an existing judgment are flagged (duplicateOf) or rejected, see DuplicateDetectionService
      * 
      * @Transactional - Ensures database transaction safety
      */
     @Transactional
     public Judgment saveJudgment(Judgment judgment) {
         log.info("Saving judgment: {}", judgment.getCaseName());
-        return judgmentRepository.save(judgment);
+        return saveTimer.record(() -> {
+            // Checked before anything is written or interned, so a rejected copy leaves no trace
+            ContentFingerprint fingerprint = judgmentIndexService.fingerprint(judgment);
+            Optional<DuplicateIndex.Match> duplicate = duplicateDetectionService.check(fingerprint);
+            judgment.setKeywordIds(keywordService.resolve(judgment.getKeywords()));
+            judgmentIndexService.storeContent(judgment);
+            Judgment saved = judgmentRepository.save(judgment);
+            judgmentIndexService.index(saved, fingerprint);
+            corpusStatisticsService.recordSaved(saved);
+            duplicate.ifPresent(match -> {
+                log.info("Judgment {} duplicates judgment {} ({})", saved.getId(), match.id(),
+                        match.exact() ? "same text" : match.distance() + " bits apart");
+                saved.setDuplicateOf(match.id());
+            });
+            return saved;
+        });
     }
 
     /**
-     * Get all judgments
+     * Get one page of judgments, ordered by id
+     * 
+     * @param after last id of the previous page (null for the first page)
+     * @param court only this court, any case (null for every court)
+     * @param year only this year (null for every year)
+     * @param keyword only judgments with this keyword, any case (null for every judgment)
      */
-    public List<Judgment> getAllJudgments() {
-        log.info("Fetching all judgments");
-        return judgmentRepository.findAll();
+    public CursorPage<JudgmentSummary> getJudgmentsPage(Long after, int size, String court, Integer year,
+            String keyword) {
+        log.info("Fetching judgments after ID {} (page size {}, court {}, year {}, keyword {})",
+                after, size, court, year, keyword);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+
+        long from = after != null ? after : 0L;
+        Limit limit = Limit.of(size);
+        String courtKey = court != null && !court.isBlank() ? Judgment.courtKeyOf(court) : null;
+        List<JudgmentSummary> content;
+        if (keyword != null && !keyword.isBlank()) {
+            Integer keywordId = keywordService.idOf(keyword);
+            content = keywordId == null ? List.of()
+                    : judgmentRepository.findSummariesByKeywordAfter(keywordId, courtKey, year, from, size);
+        } else if (courtKey != null && year != null) {
+            content = judgmentRepository.findSummariesByCourtAndYearAfter(courtKey, year, from, limit);
+        } else if (courtKey != null) {
+            content = judgmentRepository.findSummariesByCourtAfter(courtKey, from, limit);
+        } else if (year != null) {
+            content = judgmentRepository.findSummariesByYearAfter(year, from, limit);
+        } else {
+            content = judgmentRepository.findSummariesAfter(from, limit);
+        }
+        Long nextCursor = content.size() == size ? content.get(content.size() - 1).id() : null;
+        return new CursorPage<>(content, content.size(), nextCursor);
+    }
+
+    /**
+     * Visit every judgment summary in id order with constant memory
+     * Summaries are plain DTOs, so nothing accumulates in the persistence context
+     */
+    @Transactional(readOnly = true)
+    public void forEachJudgment(Consumer<JudgmentSummary> consumer) {
+        log.info("Streaming all judgments");
+        try (var summaries = judgmentRepository.streamSummaries()) {
+            summaries.forEach(consumer);
+        }
+    }
+
+    /**
+     * Judgment counts by court, year and verdict category and the average text length
+     * Served from counters kept current on save and delete (no database query)
+     */
+    public CorpusStatistics getStatistics() {
+        return corpusStatisticsService.statistics();
     }
 
     /**
@@ -53,16 +187,91 @@ public class JudgmentService {
      */
     public Judgment getJudgmentById(Long id) {
         log.info("Fetching judgment with ID: {}", id);
+        Judgment judgment = findJudgment(id);
+        judgment.setJudgmentText(judgmentIndexService.textOf(judgment));
+        return judgment;
+    }
+
+    /**
+     * Judgment metadata only (the text stays in the content store)
+     */
+    private Judgment findJudgment(Long id) {
         return judgmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Judgment not found with ID: " + id));
     }
 
+    /**
+     * Get judgment summary by ID (no judgment text)
+     */
+    public JudgmentSummary getJudgmentSummary(Long id) {
+        return judgmentRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Judgment not found with ID: " + id));
+    }
+
     /**
      * Search judgments by keyword
+     * Served from the inverted index; falls back to the LIKE query while the index is rebuilding
      */
-    public List<Judgment> searchJudgments(String searchTerm) {
+    public List<JudgmentSummary> searchJudgments(String searchTerm) {
         log.info("Searching judgments with term: {}", searchTerm);
-        return judgmentRepository.searchJudgments(searchTerm);
+        if (!judgmentIndexService.isReady()) {
+            return databaseSearchTimer.record(() -> judgmentRepository.searchJudgments(searchTerm));
+        }
+        return indexSearchTimer.record(() -> searchIndex(searchTerm));
+    }
+
+    /**
+     * searchJudgments for the warm-up: same lookups, but not timed (or logged), so synthetic
+     * calls do not show up in the judgment.search histograms
+     */
+    List<JudgmentSummary> searchForWarmup(String searchTerm) {
+        return judgmentIndexService.isReady()
+                ? searchIndex(searchTerm)
+                : judgmentRepository.searchJudgments(searchTerm);
+    }
+
+    private List<JudgmentSummary> searchIndex(String searchTerm) {
+        List<Long> ids = judgmentIndexService.search(searchTerm);
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return findSummariesInOrder(ids);
+    }
+
+    /**
+     * Faceted search: filter by courts, years and verdict categories, with counts per value
+     * Answered from the in-memory facet bitmaps; only the returned page is read from the database
+     *
+     * @param term optional text query (as searchJudgments), null for every judgment
+     * @param after last id of the previous page (null for the first page)
+     */
+    public FacetedPage facetedSearch(String term, Collection<String> courts, Collection<Integer> years,
+            Collection<String> verdicts, Long after, int size) {
+        log.info("Faceted search (term {}, courts {}, years {}, verdicts {}, after {}, size {})",
+                term, courts, years, verdicts, after, size);
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new RuntimeException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        Set<String> courtKeys = new HashSet<>();
+        if (courts != null) {
+            courts.stream().filter(court -> !court.isBlank()).map(Judgment::courtKeyOf).forEach(courtKeys::add);
+        }
+        Set<VerdictCategory> categories = EnumSet.noneOf(VerdictCategory.class);
+        if (verdicts != null) {
+            verdicts.stream().filter(verdict -> !verdict.isBlank()).map(VerdictCategory::parse).forEach(categories::add);
+        }
+        FacetIndex.Filter filter = new FacetIndex.Filter(courtKeys, years != null ? Set.copyOf(years) : null, categories);
+
+        FacetIndex.Result result = judgmentIndexService.facets(term, filter);
+        long[] ids = result.hits().idsAfter(after != null ? after : 0L, size);
+        List<JudgmentSummary> content = ids.length == 0 ? List.of()
+                : findSummariesInOrder(Arrays.stream(ids).boxed().toList());
+        Long nextCursor = ids.length == size ? ids[ids.length - 1] : null;
+
+        Map<String, Long> verdictCounts = new LinkedHashMap<>();
+        result.verdicts().forEach((category, count) -> verdictCounts.put(category.name(), count));
+        return new FacetedPage(content, content.size(), nextCursor, result.hits().cardinality(),
+                result.courts(), result.years(), verdictCounts);
     }
 
     /**
@@ -71,135 +280,359 @@ public class JudgmentService {
     @Transactional
     public void deleteJudgment(Long id) {
         log.info("Deleting judgment with ID: {}", id);
-        if (!judgmentRepository.existsById(id)) {
-            throw new RuntimeException("Judgment not found with ID: " + id);
-        }
-        judgmentRepository.deleteById(id);
+        Judgment judgment = findJudgment(id);
+        judgmentRepository.delete(judgment);
+        judgmentIndexService.remove(id);
+        corpusStatisticsService.recordDeleted(judgment);
     }
 
     /**
      * CORE FEATURE: Compare two judgments
      * Returns similarity analysis
+     *
+     * @param engineName similarity engine (null for the default)
      */
-    public Map<String, Object> compareJudgments(Long id1, Long id2) {
-        log.info("Comparing judgments: {} vs {}", id1, id2);
+    public Map<String, Object> compareJudgments(Long id1, Long id2, String engineName) {
+        log.info("Comparing judgments: {} vs {} ({})", id1, id2, engineName);
+        return compare(id1, id2, engineName, true);
+    }
 
-        // Fetch both judgments
-        Judgment judgment1 = getJudgmentById(id1);
-        Judgment judgment2 = getJudgmentById(id2);
+    /**
+     * compareJudgments for the warm-up: same fetch and scoring code, but neither timed (or logged)
+     * nor cached, so synthetic calls do not skew the judgment.compare histograms or fill the
+     * result cache with warm-up pairs
+     */
+    Map<String, Object> compareForWarmup(Long id1, Long id2, String engineName) {
+        return compare(id1, id2, engineName, false);
+    }
 
-        // Perform similarity analysis
-        double similarity = calculateSimilarity(
-                judgment1.getJudgmentText(),
-                judgment2.getJudgmentText());
+    /**
+     * @param recorded whether to time the call and use the result cache
+     */
+    private Map<String, Object> compare(Long id1, Long id2, String engineName, boolean recorded) {
+        long start = System.nanoTime();
+        SimilarityEngine engine = similarityEngines.get(engineName);
+
+        // Popular pairs are served from the cache (only for indexed judgments, which have a version)
+        long version1 = judgmentIndexService.versionOf(id1);
+        long version2 = judgmentIndexService.versionOf(id2);
+        boolean cacheable = recorded && version1 != 0 && version2 != 0;
+        if (cacheable) {
+            Map<String, Object> cached = comparisonResultCache.get(engine, id1, version1, id2, version2);
+            if (cached != null) {
+                Map<String, Object> result = id1 < id2 ? cached : swapJudgments(cached);
+                compareCachedTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return result;
+            }
+        }
 
-        // Find common keywords
-        List<String> commonKeywords = findCommonKeywords(
-                judgment1.getKeywords(),
-                judgment2.getKeywords());
+        // Fetch both judgments (metadata only; the text is already analyzed)
+        long phaseStart = System.nanoTime();
+        JudgmentSummary judgment1 = getJudgmentSummary(id1);
+        JudgmentSummary judgment2 = getJudgmentSummary(id2);
+        phaseStart = recordPhase(recorded ? fetchTimer : null, phaseStart);
+
+        // Term vectors are precomputed at save time; only unindexed judgments are read from the store here
+        JudgmentAnalysis analysis1 = analysisOf(id1);
+        JudgmentAnalysis analysis2 = analysisOf(id2);
+        phaseStart = recordPhase(recorded ? tokenizeTimer : null, phaseStart);
+
+        // Perform similarity analysis on the precomputed term sets
+        double similarity = similarityBulkhead.call(() -> calculateSimilarity(engine, analysis1, analysis2));
+        recordPhase(recorded ? scoreTimer : null, phaseStart);
 
         // Build result
         Map<String, Object> result = new LinkedHashMap<>();
         result.put("judgment1", Map.of(
-                "id", judgment1.getId(),
-                "caseName", judgment1.getCaseName(),
-                "court", judgment1.getCourt(),
-                "year", judgment1.getYear(),
-                "verdict", judgment1.getVerdict() != null ? judgment1.getVerdict() : "N/A"));
+                "id", judgment1.id(),
+                "caseName", judgment1.caseName(),
+                "court", judgment1.court(),
+                "year", judgment1.year(),
+                "verdict", judgment1.verdict() != null ? judgment1.verdict() : "N/A"));
 
         result.put("judgment2", Map.of(
-                "id", judgment2.getId(),
-                "caseName", judgment2.getCaseName(),
-                "court", judgment2.getCourt(),
-                "year", judgment2.getYear(),
-                "verdict", judgment2.getVerdict() != null ? judgment2.getVerdict() : "N/A"));
+                "id", judgment2.id(),
+                "caseName", judgment2.caseName(),
+                "court", judgment2.court(),
+                "year", judgment2.year(),
+                "verdict", judgment2.verdict() != null ? judgment2.verdict() : "N/A"));
 
-        result.put("analysis", Map.of(
-                "similarityPercentage", Math.round(similarity * 100.0) / 100.0,
-                "commonKeywords", commonKeywords,
-                "sameVerdictType", isSameVerdictType(judgment1.getVerdict(), judgment2.getVerdict()),
-                "yearDifference", Math.abs(judgment1.getYear() - judgment2.getYear())));
+        result.put("analysis", buildAnalysis(engine, similarity, judgment1, judgment2));
 
         result.put("conclusion", generateConclusion(similarity, judgment1, judgment2));
 
+        result = Collections.unmodifiableMap(result);
+        if (cacheable) {
+            // Stored lower id first; everything but the judgment order is symmetric
+            comparisonResultCache.put(engine, id1, version1, id2, version2, id1 < id2 ? result : swapJudgments(result));
+        }
+        if (recorded) {
+            compareTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
         return result;
     }
 
     /**
-     * Calculate text similarity using Jaccard Index
-     * Formula: intersection(A, B) / union(A, B)
+     * Record the time since phaseStart (unless timer is null)
+     *
+     * @return now, the start of the next phase
      */
-    private double calculateSimilarity(String text1, String text2) {
-        // Convert to lowercase and split into words
-        Set<String> words1 = Arrays.stream(text1.toLowerCase().split("\\s+"))
-                .filter(word -> word.length() > 3) // Ignore short words
-                .collect(Collectors.toSet());
+    private static long recordPhase(Timer timer, long phaseStart) {
+        long now = System.nanoTime();
+        if (timer != null) {
+            timer.record(now - phaseStart, TimeUnit.NANOSECONDS);
+        }
+        return now;
+    }
+
+    /**
+     * The same comparison with judgment1 and judgment2 exchanged
+     */
+    private Map<String, Object> swapJudgments(Map<String, Object> comparison) {
+        Map<String, Object> swapped = new LinkedHashMap<>(comparison);
+        swapped.put("judgment1", comparison.get("judgment2"));
+        swapped.put("judgment2", comparison.get("judgment1"));
+        return Collections.unmodifiableMap(swapped);
+    }
+
+    /**
+     * Compare many judgments at once
+     * 
+     * With an anchor: anchor vs every id. Without: every pair of ids.
+     * All judgments are loaded in one query and the pairs are scored in
+     * parallel on the comparison fork-join pool.
+     */
+    public Map<String, Object> compareBatch(Long anchorId, List<Long> ids, String engineName) {
+        log.info("Batch comparison: anchor={}, {} ids ({})", anchorId, ids.size(), engineName);
+        SimilarityEngine engine = similarityEngines.get(engineName);
+
+        LinkedHashSet<Long> allIds = new LinkedHashSet<>();
+        if (anchorId != null) {
+            allIds.add(anchorId);
+        }
+        allIds.addAll(ids);
+
+        // One round trip for every judgment in the batch
+        Map<Long, JudgmentSummary> judgments = judgmentRepository.findSummariesByIdIn(allIds).stream()
+                .collect(Collectors.toMap(JudgmentSummary::id, j -> j));
+        for (Long id : allIds) {
+            if (!judgments.containsKey(id)) {
+                throw new RuntimeException("Judgment not found with ID: " + id);
+            }
+        }
 
-        Set<String> words2 = Arrays.stream(text2.toLowerCase().split("\\s+"))
-                .filter(word -> word.length() > 3)
-                .collect(Collectors.toSet());
+        Map<Long, JudgmentAnalysis> analyses = new HashMap<>();
+        allIds.forEach(id -> analyses.put(id, analysisOf(id)));
 
-        // Calculate intersection
-        Set<String> intersection = new HashSet<>(words1);
-        intersection.retainAll(words2);
+        List<long[]> pairs = new ArrayList<>();
+        if (anchorId != null) {
+            for (Long id : allIds) {
+                if (!id.equals(anchorId)) {
+                    pairs.add(new long[]{anchorId, id});
+                }
+            }
+        } else {
+            List<Long> distinct = new ArrayList<>(allIds);
+            for (int i = 0; i < distinct.size(); i++) {
+                for (int j = i + 1; j < distinct.size(); j++) {
+                    pairs.add(new long[]{distinct.get(i), distinct.get(j)});
+                }
+            }
+        }
 
-        // Calculate union
-        Set<String> union = new HashSet<>(words1);
-        union.addAll(words2);
+        // parallelStream() inside the pool runs its tasks on that pool's workers
+        List<Map<String, Object>> comparisons = similarityBulkhead.call(() -> comparisonPool.submit(() -> pairs.parallelStream()
+                .map(pair -> {
+                    JudgmentSummary judgment1 = judgments.get(pair[0]);
+                    JudgmentSummary judgment2 = judgments.get(pair[1]);
+                    double similarity = calculateSimilarity(
+                            engine, analyses.get(pair[0]), analyses.get(pair[1]));
+
+                    Map<String, Object> comparison = new LinkedHashMap<>();
+                    comparison.put("id1", pair[0]);
+                    comparison.put("id2", pair[1]);
+                    comparison.put("analysis", buildAnalysis(engine, similarity, judgment1, judgment2));
+                    return comparison;
+                })
+                .collect(Collectors.toList()))
+                .join());
 
-        // Jaccard similarity
-        if (union.isEmpty())
-            return 0.0;
-        return ((double) intersection.size() / union.size()) * 100;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("anchorId", anchorId);
+        result.put("engine", engine.name());
+        result.put("judgmentCount", allIds.size());
+        result.put("comparisonCount", comparisons.size());
+        result.put("comparisons", comparisons);
+        return result;
     }
 
     /**
-     * Find common keywords between two judgments
+     * The "analysis" block of a comparison result
      */
-    private List<String> findCommonKeywords(String keywords1, String keywords2) {
-        if (keywords1 == null || keywords2 == null) {
-            return Collections.emptyList();
+    private Map<String, Object> buildAnalysis(SimilarityEngine engine, double similarity,
+            JudgmentSummary judgment1, JudgmentSummary judgment2) {
+        // Find common keywords
+        List<String> commonKeywords = findCommonKeywords(keywordDictionary, keywordIdsOf(judgment1), keywordIdsOf(judgment2));
+
+        return Map.of(
+                "engine", engine.name(),
+                "similarityPercentage", Math.round(similarity * 100.0) / 100.0,
+                "commonKeywords", commonKeywords,
+                "sameVerdictType", isSameVerdictType(judgment1.verdict(), judgment2.verdict()),
+                "yearDifference", Math.abs(judgment1.year() - judgment2.year()));
+    }
+
+    /**
+     * Precomputed analysis of a judgment
+     * Only loads the row for judgments that are not indexed yet
+     */
+    private JudgmentAnalysis analysisOf(Long id) {
+        JudgmentAnalysis analysis = judgmentIndexService.analysisOf(id);
+        return analysis != null ? analysis : judgmentIndexService.analysisOf(findJudgment(id));
+    }
+
+    /**
+     * Summaries for the given ids, in the given order (missing ids are skipped)
+     */
+    private List<JudgmentSummary> findSummariesInOrder(List<Long> ids) {
+        Map<Long, JudgmentSummary> byId = judgmentRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(JudgmentSummary::id, j -> j));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Find the judgments most similar to the given one
+     * 
+     * Candidates come from the MinHash/LSH index (sub-linear, no full scan)
+     * and are then re-ranked with the exact similarity of the chosen engine.
+     */
+    public List<Map<String, Object>> findSimilarJudgments(Long id, int limit, String engineName) {
+        log.info("Finding {} judgments similar to {} ({})", limit, id, engineName);
+        SimilarityEngine engine = similarityEngines.get(engineName);
+        JudgmentAnalysis analysis = analysisOf(id);
+
+        Map<Long, Double> scores = similarityBulkhead.call(() -> {
+            Map<Long, Double> scored = new HashMap<>();
+            for (Long candidateId : judgmentIndexService.similarCandidates(id)) {
+                JudgmentAnalysis candidate = judgmentIndexService.analysisOf(candidateId);
+                if (candidate != null) {
+                    scored.put(candidateId, calculateSimilarity(engine, analysis, candidate));
+                }
+            }
+            return scored;
+        });
+
+        List<Long> topIds = scores.entrySet().stream()
+                .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .collect(Collectors.toList());
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (JudgmentSummary similar : findSummariesInOrder(topIds)) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", similar.id());
+            entry.put("caseName", similar.caseName());
+            entry.put("court", similar.court());
+            entry.put("year", similar.year());
+            entry.put("verdict", similar.verdict() != null ? similar.verdict() : "N/A");
+            entry.put("similarityPercentage", Math.round(scores.get(similar.id()) * 100.0) / 100.0);
+            results.add(entry);
+        }
+        return results;
+    }
+
+    /**
+     * Rank every judgment (optionally limited to a court and year range) by similarity to this one
+     * 
+     * A full scan of the in-memory term sets, sharded and scored in parallel;
+     * use findSimilarJudgments for the cheaper candidate-based lookup.
+     */
+    public List<Map<String, Object>> rankJudgments(Long id, String court, Integer yearFrom, Integer yearTo,
+            int limit, String engineName) {
+        log.info("Ranking corpus against judgment {} (court={}, years {}-{}, k={})", id, court, yearFrom, yearTo, limit);
+        if (yearFrom != null && yearTo != null && yearFrom > yearTo) {
+            throw new RuntimeException("yearFrom must not be after yearTo");
+        }
+        SimilarityEngine engine = similarityEngines.get(engineName);
+        ShardedCorpus.Filter filter = new ShardedCorpus.Filter(
+                court != null && !court.isBlank() ? court : null, yearFrom, yearTo);
+
+        JudgmentAnalysis analysis = analysisOf(id);
+        List<ScoredJudgment> top = similarityBulkhead.call(
+                () -> judgmentIndexService.rank(analysis, filter, engine, limit));
+
+        Map<Long, Double> scores = new HashMap<>();
+        top.forEach(scored -> scores.put(scored.id(), scored.score() * 100));
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (JudgmentSummary match : findSummariesInOrder(top.stream().map(ScoredJudgment::id).toList())) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", match.id());
+            entry.put("caseName", match.caseName());
+            entry.put("court", match.court());
+            entry.put("year", match.year());
+            entry.put("verdict", match.verdict() != null ? match.verdict() : "N/A");
+            entry.put("similarityPercentage", Math.round(scores.get(match.id()) * 100.0) / 100.0);
+            results.add(entry);
         }
+        return results;
+    }
 
-        Set<String> set1 = Arrays.stream(keywords1.split(","))
-                .map(String::trim)
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
+    /**
+     * Calculate text similarity as a percentage
+     * Jaccard (default): intersection(A, B) / union(A, B) of the word sets
+     * TF-IDF: cosine of the weighted term vectors (see TfIdfSimilarityEngine)
+     * 
+     * Term vectors are precomputed at save time (words longer than 3 characters,
+     * as sorted term ids), so this is a linear merge with no allocation.
+     *
+     * This and the other comparison helpers below only use their arguments; they are static
+     * so ComparisonBenchmark (same package, in the tests) can measure them without a wired service.
+     */
+    static double calculateSimilarity(SimilarityEngine engine, JudgmentAnalysis analysis1, JudgmentAnalysis analysis2) {
+        return engine.similarity(analysis1, analysis2) * 100;
+    }
 
-        Set<String> set2 = Arrays.stream(keywords2.split(","))
-                .map(String::trim)
-                .map(String::toLowerCase)
-                .collect(Collectors.toSet());
+    /**
+     * Sorted keyword ids of a judgment
+     * Kept by the index; resolved from the stored keyword list for judgments not indexed yet
+     */
+    private int[] keywordIdsOf(JudgmentSummary judgment) {
+        int[] keywordIds = judgmentIndexService.keywordIdsOf(judgment.id());
+        return keywordIds != null ? keywordIds : keywordService.idsOf(judgment.keywords());
+    }
 
-        set1.retainAll(set2);
-        return new ArrayList<>(set1);
+    /**
+     * Find common keywords between two judgments
+     * A merge of the two sorted id arrays; the names come from the keyword dictionary
+     */
+    static List<String> findCommonKeywords(KeywordDictionary keywordDictionary,
+            int[] keywordIds1, int[] keywordIds2) {
+        return keywordDictionary.common(keywordIds1, keywordIds2);
     }
 
     /**
      * Check if verdicts are similar type
      */
-    private boolean isSameVerdictType(String verdict1, String verdict2) {
+    static boolean isSameVerdictType(String verdict1, String verdict2) {
         if (verdict1 == null || verdict2 == null)
             return false;
 
-        verdict1 = verdict1.toLowerCase();
-        verdict2 = verdict2.toLowerCase();
-
-        // Simple keyword matching
-        if (verdict1.contains("dismiss") && verdict2.contains("dismiss"))
-            return true;
-        if (verdict1.contains("allow") && verdict2.contains("allow"))
-            return true;
-        if (verdict1.contains("reject") && verdict2.contains("reject"))
-            return true;
-
-        return false;
+        // Same keyword-derived category (dismissed, allowed, rejected); OTHER never matches
+        Set<VerdictCategory> categories = VerdictCategory.of(verdict1);
+        categories.retainAll(VerdictCategory.of(verdict2));
+        categories.remove(VerdictCategory.OTHER);
+        return !categories.isEmpty();
     }
 
     /**
      * Generate AI-like conclusion
      */
-    private String generateConclusion(double similarity, Judgment j1, Judgment j2) {
+    static String generateConclusion(double similarity, JudgmentSummary j1, JudgmentSummary j2) {
         StringBuilder conclusion = new StringBuilder();
 
         if (similarity > 70) {
@@ -219,8 +652,8 @@ public class JudgmentService {
             conclusion.append("They likely address different legal issues or use different reasoning.");
         }
 
-        if (j1.getCourt().equalsIgnoreCase(j2.getCourt())) {
-            conclusion.append(" Both were decided by the same court (").append(j1.getCourt()).append(").");
+        if (j1.court().equalsIgnoreCase(j2.court())) {
+            conclusion.append(" Both were decided by the same court (").append(j1.court()).append(").");
         }
 
         return conclusion.toString();
@@ -0,0 +1,90 @@
+package com.legaltech.judgment_comparator.service;
+
+import com.legaltech.judgment_comparator.analysis.KeywordDictionary;
+import com.legaltech.judgment_comparator.entity.Keyword;
+import com.legaltech.judgment_comparator.repository.KeywordRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Keeps the keywords table and the in-memory KeywordDictionary in step
+ *
+ * A new keyword is inserted and committed in its own transaction, then added to the dictionary,
+ * whatever happens to the upload that brought it (a rolled-back upload leaves an unused keyword,
+ * never an id the table lacks). When two uploads introduce the same keyword at the same moment,
+ * the loser of the unique name re-reads the winner's id instead of failing.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class KeywordService {
+
+    private final KeywordRepository keywordRepository;
+    private final KeywordDictionary keywordDictionary;
+    private final PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate newTransaction;
+
+    @PostConstruct
+    void load() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        keywordRepository.findAll().forEach(keyword -> keywordDictionary.add(keyword.getId(), keyword.getName()));
+        log.info("Keyword dictionary loaded: {} keywords", keywordDictionary.size());
+    }
+
+    /**
+     * Ids of a comma-separated keyword list, inserting the keywords seen for the first time
+     * New keywords commit on their own: inside a transaction this briefly takes a second connection
+     */
+    public Set<Integer> resolve(String keywords) {
+        Set<Integer> keywordIds = new HashSet<>();
+        for (String name : KeywordDictionary.parse(keywords)) {
+            Integer id = keywordDictionary.idOf(name);
+            keywordIds.add(id != null ? id : insert(name));
+        }
+        return keywordIds;
+    }
+
+    /**
+     * Sorted ids of the already stored keywords of a comma-separated list (read only)
+     */
+    public int[] idsOf(String keywords) {
+        return keywordDictionary.idsOf(KeywordDictionary.parse(keywords));
+    }
+
+    /**
+     * Id of one keyword (any case), or null if no judgment has it
+     */
+    public Integer idOf(String keyword) {
+        List<String> parsed = KeywordDictionary.parse(keyword);
+        return parsed.size() == 1 ? keywordDictionary.idOf(parsed.get(0)) : null;
+    }
+
+    /**
+     * Store a new keyword, or read the id of the row a concurrent upload committed first
+     */
+    private int insert(String name) {
+        Integer id;
+        try {
+            id = newTransaction.execute(tx -> keywordRepository.save(new Keyword(null, name)).getId());
+        } catch (DataIntegrityViolationException e) {
+            id = newTransaction.execute(tx -> keywordRepository.findByName(name).map(Keyword::getId).orElse(null));
+            if (id == null) {
+                throw e; // not a name collision
+            }
+        }
+        keywordDictionary.add(id, name);
+        return id;
+    }
+}
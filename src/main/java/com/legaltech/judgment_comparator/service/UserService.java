@@ -2,7 +2,9 @@ package com.legaltech.judgment_comparator.service;
 
 import com.legaltech.judgment_comparator.dto.RegisterRequest;
 import com.legaltech.judgment_comparator.entity.User;
+import com.legaltech.judgment_comparator.entity.UserRole;
 import com.legaltech.judgment_comparator.repository.UserRepository;
+import com.legaltech.judgment_comparator.security.CustomUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -21,6 +23,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CustomUserDetailsService userDetailsService;
 
     /**
      * Register new user with encrypted password
@@ -48,7 +51,9 @@ public class UserService {
                 .active(true)
                 .build();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        userDetailsService.evict(saved.getUsername());
+        return saved;
     }
 
     /**
@@ -74,9 +79,32 @@ public class UserService {
     @Transactional
     public void deleteUser(Long id) {
         log.info("Deleting user with ID: {}", id);
-        if (!userRepository.existsById(id)) {
-            throw new RuntimeException("User not found with ID: " + id);
-        }
-        userRepository.deleteById(id);
+        User user = getUserById(id);
+        userRepository.delete(user);
+        userDetailsService.evict(user.getUsername());
+    }
+
+    /**
+     * Change a user's role
+     */
+    @Transactional
+    public User updateRole(Long id, UserRole role) {
+        log.info("Changing role of user {} to {}", id, role);
+        User user = getUserById(id);
+        user.setRole(role);
+        userDetailsService.evict(user.getUsername());
+        return user;
+    }
+
+    /**
+     * Activate or deactivate a user (inactive users cannot log in or use their tokens)
+     */
+    @Transactional
+    public User setActive(Long id, boolean active) {
+        log.info("Setting user {} active={}", id, active);
+        User user = getUserById(id);
+        user.setActive(active);
+        userDetailsService.evict(user.getUsername());
+        return user;
     }
 }
@@ -0,0 +1,262 @@
+package com.legaltech.judgment_comparator.service;
+
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+import com.legaltech.judgment_comparator.analysis.TermDictionary;
+import com.legaltech.judgment_comparator.analysis.Tokenizer;
+import com.legaltech.judgment_comparator.dto.JudgmentSummary;
+import com.legaltech.judgment_comparator.index.InvertedIndex;
+import com.legaltech.judgment_comparator.repository.JudgmentRepository;
+import com.legaltech.judgment_comparator.similarity.SimilarityEngines;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Runs representative compare and search calls after startup, before the instance reports ready
+ *
+ * A fresh instance has an empty connection pool and interpreted comparison code; the first
+ * requests would pay for both. The warm-up waits for the index rebuild, then runs the real
+ * compare and search code on a sample of stored judgments (every engine, many distinct pairs,
+ * search terms taken from their case names) until the iterations are done or the timeout runs out.
+ * It goes through the untimed, uncached entry points (compareForWarmup, searchForWarmup), so the
+ * judgment.compare and judgment.search histograms and the result cache only see real traffic.
+ * With fewer than two stored judgments (e.g. a fresh in-memory database) the same scoring and
+ * index code runs on generated texts instead, with a private dictionary and index.
+ * Readiness (WarmupHealthIndicator) stays OUT_OF_SERVICE until then.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class WarmupService {
+
+    public enum State {
+        PENDING,
+        WAITING_FOR_INDEX,
+        RUNNING,
+        COMPLETED,
+        TIMED_OUT,
+        DISABLED
+    }
+
+    private static final long INDEX_POLL_MILLIS = 100;
+    private static final int SYNTHETIC_DOCUMENTS = 16;
+    private static final int SYNTHETIC_WORDS = 400;
+
+    private static final String[] SYNTHETIC_VOCABULARY = {
+            "court", "petitioner", "respondent", "section", "article", "appeal", "order", "learned",
+            "counsel", "constitution", "liberty", "property", "contract", "arbitration", "evidence",
+            "limitation", "jurisdiction", "negligence", "bail", "custody", "tribunal", "statute"
+    };
+
+    private final JudgmentService judgmentService;
+    private final JudgmentIndexService judgmentIndexService;
+    private final JudgmentRepository judgmentRepository;
+    private final SimilarityEngines similarityEngines;
+
+    @Value("${judgment.warmup.enabled:true}")
+    private boolean enabled;
+
+    /**
+     * Rounds of one compare and one search each
+     */
+    @Value("${judgment.warmup.iterations:500}")
+    private int iterations;
+
+    /**
+     * Stored judgments the calls are made on
+     */
+    @Value("${judgment.warmup.sample-size:20}")
+    private int sampleSize;
+
+    /**
+     * Give up (and report ready anyway) after this long, including the wait for the index
+     */
+    @Value("${judgment.warmup.timeout:60000}")
+    private long timeoutMillis;
+
+    private volatile State state = State.PENDING;
+    private volatile int compareCalls;
+    private volatile int searchCalls;
+    private volatile int errors;
+    private volatile long durationMillis;
+
+    private Thread worker;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (state != State.PENDING) {
+            return;
+        }
+        if (!enabled) {
+            state = State.DISABLED;
+            return;
+        }
+        worker = Thread.ofPlatform().name("warmup").daemon().start(this::run);
+    }
+
+    /**
+     * Stop a warm-up still running at shutdown, before the beans it calls are gone
+     */
+    @PreDestroy
+    synchronized void stop() {
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * True once the warm-up is over (completed, timed out or disabled)
+     */
+    public boolean isFinished() {
+        State current = state;
+        return current == State.COMPLETED || current == State.TIMED_OUT || current == State.DISABLED;
+    }
+
+    public Map<String, Object> details() {
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("state", state);
+        details.put("indexReady", judgmentIndexService.isReady());
+        details.put("compareCalls", compareCalls);
+        details.put("searchCalls", searchCalls);
+        details.put("errors", errors);
+        details.put("durationMs", durationMillis);
+        return details;
+    }
+
+    private void run() {
+        long start = System.currentTimeMillis();
+        long deadline = start + timeoutMillis;
+        try {
+            state = State.WAITING_FOR_INDEX;
+            while (!judgmentIndexService.isReady()) {
+                if (System.currentTimeMillis() > deadline) {
+                    finish(State.TIMED_OUT, start);
+                    return;
+                }
+                Thread.sleep(INDEX_POLL_MILLIS);
+            }
+
+            state = State.RUNNING;
+            // Also the first use of the connection pool
+            List<JudgmentSummary> sample = judgmentRepository.findSummariesAfter(0L, Limit.of(sampleSize));
+            List<long[]> pairs = pairs(sample);
+            List<String> terms = searchTerms(sample);
+            List<String> engines = new ArrayList<>(similarityEngines.names());
+            if (sample.size() < 2) {
+                warmUpSynthetic(engines, deadline);
+                finish(System.currentTimeMillis() > deadline ? State.TIMED_OUT : State.COMPLETED, start);
+                return;
+            }
+
+            for (int i = 0; i < iterations && (!pairs.isEmpty() || !terms.isEmpty()); i++) {
+                if (System.currentTimeMillis() > deadline || Thread.currentThread().isInterrupted()) {
+                    finish(State.TIMED_OUT, start);
+                    return;
+                }
+                if (!pairs.isEmpty()) {
+                    long[] pair = pairs.get(i % pairs.size());
+                    String engine = engines.get(i % engines.size());
+                    call(() -> judgmentService.compareForWarmup(pair[0], pair[1], engine));
+                    compareCalls++;
+                }
+                if (!terms.isEmpty()) {
+                    String term = terms.get(i % terms.size());
+                    call(() -> judgmentService.searchForWarmup(term));
+                    searchCalls++;
+                }
+            }
+            finish(State.COMPLETED, start);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finish(State.TIMED_OUT, start);
+        }
+    }
+
+    /**
+     * Scoring and index lookups on generated texts; nothing touches the real dictionary or index
+     */
+    private void warmUpSynthetic(List<String> engines, long deadline) {
+        TermDictionary dictionary = new TermDictionary();
+        InvertedIndex index = new InvertedIndex();
+        Random random = new Random(SYNTHETIC_DOCUMENTS);
+        JudgmentAnalysis[] analyses = new JudgmentAnalysis[SYNTHETIC_DOCUMENTS];
+        for (int d = 0; d < SYNTHETIC_DOCUMENTS; d++) {
+            StringBuilder text = new StringBuilder();
+            for (int w = 0; w < SYNTHETIC_WORDS; w++) {
+                text.append(SYNTHETIC_VOCABULARY[random.nextInt(SYNTHETIC_VOCABULARY.length)])
+                        .append(random.nextInt(10) == 0 ? ". " : " ");
+            }
+            analyses[d] = JudgmentAnalysis.of(d, text.toString(), dictionary);
+            index.add(d, Tokenizer.termFrequencies(text));
+        }
+
+        for (int i = 0; i < iterations && System.currentTimeMillis() <= deadline
+                && !Thread.currentThread().isInterrupted(); i++) {
+            JudgmentAnalysis first = analyses[i % SYNTHETIC_DOCUMENTS];
+            JudgmentAnalysis second = analyses[(i + 1) % SYNTHETIC_DOCUMENTS];
+            String engine = engines.get(i % engines.size());
+            call(() -> JudgmentService.calculateSimilarity(similarityEngines.get(engine), first, second));
+            compareCalls++;
+            String term = SYNTHETIC_VOCABULARY[i % SYNTHETIC_VOCABULARY.length];
+            call(() -> index.search(Tokenizer.tokenize(term.substring(0, Math.min(5, term.length()))), true, 20));
+            searchCalls++;
+        }
+    }
+
+    private void call(Runnable action) {
+        try {
+            action.run();
+        } catch (RuntimeException e) {
+            errors++;
+            log.debug("Warm-up call failed: {}", e.getMessage());
+        }
+    }
+
+    private void finish(State finalState, long start) {
+        durationMillis = System.currentTimeMillis() - start;
+        state = finalState;
+        log.info("Warm-up {}: {} compares, {} searches, {} errors in {} ms",
+                finalState, compareCalls, searchCalls, errors, durationMillis);
+    }
+
+    /**
+     * Every distinct pair of the sample, so most compares miss the result cache
+     */
+    private static List<long[]> pairs(List<JudgmentSummary> sample) {
+        List<long[]> pairs = new ArrayList<>();
+        for (int i = 0; i < sample.size(); i++) {
+            for (int j = i + 1; j < sample.size(); j++) {
+                pairs.add(new long[]{sample.get(i).id(), sample.get(j).id()});
+            }
+        }
+        return pairs;
+    }
+
+    /**
+     * A longer word from each case name, plus a prefix of it (the last query term may be a prefix)
+     */
+    private static List<String> searchTerms(List<JudgmentSummary> sample) {
+        List<String> terms = new ArrayList<>();
+        for (JudgmentSummary judgment : sample) {
+            for (String word : judgment.caseName().split("\\W+")) {
+                if (word.length() > 4) {
+                    terms.add(word);
+                    terms.add(word.substring(0, 4));
+                    break;
+                }
+            }
+        }
+        return terms;
+    }
+}
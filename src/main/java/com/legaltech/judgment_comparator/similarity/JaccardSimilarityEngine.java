@@ -0,0 +1,21 @@
+package com.legaltech.judgment_comparator.similarity;
+
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+
+/**
+ * Jaccard index of the two word sets: every word counts the same (the original comparison)
+ */
+public class JaccardSimilarityEngine implements SimilarityEngine {
+
+    public static final String NAME = "jaccard";
+
+    @Override
+    public String name() {
+        return NAME;
+    }
+
+    @Override
+    public double similarity(JudgmentAnalysis analysis1, JudgmentAnalysis analysis2) {
+        return analysis1.jaccard(analysis2);
+    }
+}
@@ -0,0 +1,27 @@
+package com.legaltech.judgment_comparator.similarity;
+
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+
+/**
+ * Scores how similar two analyzed judgments are
+ * Implementations must be thread-safe and should not allocate while scoring.
+ */
+public interface SimilarityEngine {
+
+    /**
+     * Name callers select the engine by (?engine=...)
+     */
+    String name();
+
+    /**
+     * Similarity in [0, 1]
+     */
+    double similarity(JudgmentAnalysis analysis1, JudgmentAnalysis analysis2);
+
+    /**
+     * Whether scores also depend on the rest of the corpus, and so drift as judgments are added or removed
+     */
+    default boolean corpusDependent() {
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package com.legaltech.judgment_comparator.similarity;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Available similarity engines by name
+ */
+public class SimilarityEngines {
+
+    private final Map<String, SimilarityEngine> engines = new LinkedHashMap<>();
+    private final SimilarityEngine defaultEngine;
+
+    public SimilarityEngines(List<SimilarityEngine> engines, String defaultEngine) {
+        engines.forEach(engine -> this.engines.put(engine.name(), engine));
+        this.defaultEngine = this.engines.get(defaultEngine);
+        if (this.defaultEngine == null) {
+            throw new IllegalArgumentException("Unknown default similarity engine: " + defaultEngine);
+        }
+    }
+
+    /**
+     * Engine by name; null selects the default
+     */
+    public SimilarityEngine get(String name) {
+        if (name == null || name.isBlank()) {
+            return defaultEngine;
+        }
+        SimilarityEngine engine = engines.get(name.toLowerCase(Locale.ROOT));
+        if (engine == null) {
+            throw new RuntimeException("Unknown similarity engine: " + name + " (available: " + names() + ")");
+        }
+        return engine;
+    }
+
+    public Set<String> names() {
+        return engines.keySet();
+    }
+}
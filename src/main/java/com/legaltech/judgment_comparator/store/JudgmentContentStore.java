@@ -0,0 +1,346 @@
+package com.legaltech.judgment_comparator.store;
+
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+import com.legaltech.judgment_comparator.analysis.TermDictionary;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Judgment texts and term vectors in append-only, memory-mapped segment files
+ *
+ * A judgment's record holds its text (UTF-16, so it can be read as a CharBuffer view) and
+ * its term ids and weights. Readers get views of the mapped segment: nothing is decoded or
+ * copied onto the heap, and the page cache rather than the JVM heap holds the corpus.
+ * Records are never rewritten; the judgments table maps each id to its record's pointer
+ * (Judgment.contentPointer), which makes it the offset index.
+ *
+ * Every term the dictionary assigns an id to is logged in the same segments, so term ids
+ * inside stored vectors stay meaningful when an existing store directory is reopened.
+ *
+ * With judgment.content.sync (on in the persistent profile) append() forces everything written
+ * since the last append, i.e. the judgment's new terms and its record, to disk before it returns,
+ * so a judgments row committed afterwards never points at bytes lost in an OS crash. Without it,
+ * records reach disk whenever the OS writes the pages back (and at shutdown). Either way, a
+ * record that never made it leaves a hole; on reopening, the log continues at the next
+ * well-formed record after it rather than ending there.
+ *
+ * Record layout (little-endian, 4-byte aligned):
+ * int bodyLength (written last: 0 marks the end of the log), int type, body
+ * CONTENT body: int textLength, int termCount, char[textLength] (padded), int[termCount], float[termCount]
+ * TERM body: int id, int length, char[length]
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class JudgmentContentStore {
+
+    private static final int TYPE_CONTENT = 1;
+    private static final int TYPE_TERM = 2;
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".dat";
+
+    private final TermDictionary termDictionary;
+
+    /**
+     * Empty = a temporary directory deleted on shutdown (matches the in-memory database)
+     */
+    @Value("${judgment.content.dir:}")
+    private String directory;
+
+    @Value("${judgment.content.segment-size:67108864}")
+    private int segmentSize;
+
+    @Value("${judgment.content.sync:false}")
+    private boolean sync;
+
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private Path root;
+    private boolean temporary;
+
+    /**
+     * Offset in the last segment up to which records have been forced to disk
+     */
+    private int syncedEnd;
+
+    @PostConstruct
+    void open() throws IOException {
+        temporary = directory == null || directory.isBlank();
+        root = temporary
+                ? Files.createTempDirectory("judgment-content")
+                : Files.createDirectories(Path.of(directory));
+
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(root)) {
+            files = listing.filter(JudgmentContentStore::isSegmentFile).sorted().toList();
+        }
+        int terms = 0;
+        for (Path file : files) {
+            Segment segment = Segment.open(file);
+            terms += replay(segment);
+            segments.add(segment);
+        }
+        syncedEnd = segments.isEmpty() ? 0 : segments.get(segments.size() - 1).end();
+        termDictionary.setListener(this::appendTerm);
+        log.info("Content store at {}: {} segments, {} terms restored", root, segments.size(), terms);
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        segments.forEach(Segment::force);
+        if (temporary) {
+            for (Segment segment : segments) {
+                Files.deleteIfExists(segment.path());
+            }
+            Files.deleteIfExists(root);
+        }
+    }
+
+    /**
+     * Append a judgment's text and term vector
+     *
+     * @return pointer to the record (segment number in the high 32 bits, offset in the low 32)
+     */
+    public synchronized long append(CharSequence text, JudgmentAnalysis analysis) {
+        int textLength = text.length();
+        int termCount = analysis.termCount();
+        int textBytes = align(textLength * Character.BYTES);
+        int bodyLength = 2 * Integer.BYTES + textBytes + termCount * (Integer.BYTES + Float.BYTES);
+
+        long pointer = reserve(HEADER_BYTES + bodyLength);
+        Segment segment = segments.get(segmentOf(pointer));
+        ByteBuffer record = segment.writable(offsetOf(pointer), HEADER_BYTES + bodyLength);
+        int body = HEADER_BYTES;
+        record.putInt(4, TYPE_CONTENT);
+        record.putInt(body, textLength);
+        record.putInt(body + 4, termCount);
+        int textStart = body + 8;
+        record.slice(textStart, textLength * Character.BYTES).order(Segment.ORDER).asCharBuffer().append(text);
+        int idsStart = textStart + textBytes;
+        record.slice(idsStart, termCount * Integer.BYTES).order(Segment.ORDER).asIntBuffer()
+                .put(0, analysis.termIds(), 0, termCount);
+        record.slice(idsStart + termCount * Integer.BYTES, termCount * Float.BYTES).order(Segment.ORDER).asFloatBuffer()
+                .put(0, analysis.termWeights(), 0, termCount);
+        record.putInt(0, bodyLength);
+        if (sync) {
+            forceTail();
+        }
+        return pointer;
+    }
+
+    /**
+     * Text of a stored judgment, as a read-only view of the mapped segment
+     */
+    public CharSequence text(long pointer) {
+        Segment segment = contentSegment(pointer);
+        int body = offsetOf(pointer) + HEADER_BYTES;
+        int textLength = segment.readInt(body);
+        return segment.readable(body + 8, textLength * Character.BYTES).asCharBuffer();
+    }
+
+    /**
+     * Term vector of a stored judgment; the buffers are views of the mapped segment
+     */
+    public JudgmentAnalysis analysis(long judgmentId, long pointer) {
+        Segment segment = contentSegment(pointer);
+        int body = offsetOf(pointer) + HEADER_BYTES;
+        int textLength = segment.readInt(body);
+        int termCount = segment.readInt(body + 4);
+        int idsStart = body + 8 + align(textLength * Character.BYTES);
+        return new JudgmentAnalysis(judgmentId,
+                segment.readable(idsStart, termCount * Integer.BYTES).asIntBuffer(),
+                segment.readable(idsStart + termCount * Integer.BYTES, termCount * Float.BYTES).asFloatBuffer());
+    }
+
+    public int segmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Bytes written so far, across all segments
+     */
+    public long size() {
+        return segments.stream().mapToLong(Segment::end).sum();
+    }
+
+    /**
+     * Log a newly assigned term id (called by the dictionary)
+     */
+    private synchronized void appendTerm(int id, String term) {
+        int bodyLength = 2 * Integer.BYTES + align(term.length() * Character.BYTES);
+        long pointer = reserve(HEADER_BYTES + bodyLength);
+        ByteBuffer record = segments.get(segmentOf(pointer)).writable(offsetOf(pointer), HEADER_BYTES + bodyLength);
+        record.putInt(4, TYPE_TERM);
+        record.putInt(HEADER_BYTES, id);
+        record.putInt(HEADER_BYTES + 4, term.length());
+        record.slice(HEADER_BYTES + 8, term.length() * Character.BYTES).order(Segment.ORDER).asCharBuffer().append(term);
+        record.putInt(0, bodyLength);
+    }
+
+    /**
+     * Room for a record at the end of the log, starting a new segment when the current one is full
+     */
+    private long reserve(int recordLength) {
+        Segment current = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (current == null || current.remaining() < recordLength) {
+            if (current != null && sync) {
+                forceTail(); // later forces only cover the new segment
+            }
+            // An oversized record gets a segment of its own
+            current = createSegment(Math.max(segmentSize, recordLength));
+            syncedEnd = 0;
+        }
+        int offset = current.end();
+        current.end(offset + recordLength);
+        return ((long) (segments.size() - 1) << 32) | offset;
+    }
+
+    private Segment createSegment(int capacity) {
+        Path path = root.resolve(String.format("%s%06d%s", SEGMENT_PREFIX, segments.size(), SEGMENT_SUFFIX));
+        try {
+            Segment segment = Segment.create(path, capacity);
+            segments.add(segment);
+            if (sync) {
+                forceDirectory();
+            }
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create content segment " + path, e);
+        }
+    }
+
+    /**
+     * Force the records written since the last force (in the last segment) to disk
+     */
+    private void forceTail() {
+        Segment last = segments.get(segments.size() - 1);
+        int end = last.end();
+        last.force(syncedEnd, end - syncedEnd);
+        syncedEnd = end;
+    }
+
+    /**
+     * Make a new segment file's directory entry durable (not possible on every platform)
+     */
+    private void forceDirectory() {
+        try (FileChannel channel = FileChannel.open(root, StandardOpenOption.READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            log.debug("Could not sync content directory {}: {}", root, e.getMessage());
+        }
+    }
+
+    /**
+     * Find the end of a segment's log and restore the terms it recorded
+     * A hole (a record whose header never reached disk) is skipped, not taken for the end
+     *
+     * @return number of terms restored
+     */
+    private int replay(Segment segment) {
+        int offset = 0;
+        int terms = 0;
+        while (offset + HEADER_BYTES <= segment.capacity()) {
+            if (!isRecord(segment, offset)) {
+                int next = nextRecord(segment, offset + Integer.BYTES);
+                if (next < 0) {
+                    break;
+                }
+                log.warn("Content segment {}: skipped {} unreadable bytes at offset {}",
+                        segment.path().getFileName(), next - offset, offset);
+                offset = next;
+                continue;
+            }
+            int bodyLength = segment.readInt(offset);
+            if (segment.readInt(offset + 4) == TYPE_TERM) {
+                int body = offset + HEADER_BYTES;
+                int length = segment.readInt(body + 4);
+                String term = segment.readable(body + 8, length * Character.BYTES).asCharBuffer().toString();
+                termDictionary.restore(term, segment.readInt(body));
+                terms++;
+            }
+            offset += HEADER_BYTES + bodyLength;
+        }
+        segment.end(offset);
+        return terms;
+    }
+
+    /**
+     * Offset of the first well-formed record at or after from, or -1
+     */
+    private static int nextRecord(Segment segment, int from) {
+        for (int offset = from; offset + HEADER_BYTES <= segment.capacity(); offset += Integer.BYTES) {
+            if (segment.readInt(offset) != 0 && isRecord(segment, offset)) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Whether a complete record starts at offset: the header and the body's own lengths agree
+     */
+    private static boolean isRecord(Segment segment, int offset) {
+        int bodyLength = segment.readInt(offset);
+        if (bodyLength < 2 * Integer.BYTES || bodyLength % Integer.BYTES != 0
+                || (long) offset + HEADER_BYTES + bodyLength > segment.capacity()) {
+            return false;
+        }
+        int body = offset + HEADER_BYTES;
+        int first = segment.readInt(body);
+        int second = segment.readInt(body + 4);
+        return switch (segment.readInt(offset + 4)) {
+            case TYPE_CONTENT -> first >= 0 && second >= 0
+                    && bodyLength == 2L * Integer.BYTES + align((long) first * Character.BYTES)
+                    + (long) second * (Integer.BYTES + Float.BYTES);
+            case TYPE_TERM -> first >= 0 && second > 0
+                    && bodyLength == 2L * Integer.BYTES + align((long) second * Character.BYTES);
+            default -> false;
+        };
+    }
+
+    private Segment contentSegment(long pointer) {
+        int number = segmentOf(pointer);
+        Segment segment = number < segments.size() ? segments.get(number) : null;
+        if (segment == null || offsetOf(pointer) >= segment.end()
+                || segment.readInt(offsetOf(pointer) + 4) != TYPE_CONTENT) {
+            throw new IllegalStateException("No judgment content at pointer " + pointer);
+        }
+        return segment;
+    }
+
+    private static int segmentOf(long pointer) {
+        return (int) (pointer >>> 32);
+    }
+
+    private static int offsetOf(long pointer) {
+        return (int) pointer;
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 3) & ~3;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 3) & ~3L;
+    }
+
+    private static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+}
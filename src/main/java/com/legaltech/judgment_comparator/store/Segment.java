@@ -0,0 +1,107 @@
+package com.legaltech.judgment_comparator.store;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * One fixed-size, memory-mapped segment file of the content store
+ *
+ * Writes are serialized by the store. Reads only take absolute slices of a read-only view,
+ * which never move a shared position, so any number of threads can read concurrently.
+ */
+final class Segment {
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final ByteBuffer readView;
+
+    /**
+     * Offset where the next record goes (read by lock-free readers to validate pointers)
+     */
+    private volatile int end;
+
+    private Segment(Path path, MappedByteBuffer buffer) {
+        this.path = path;
+        this.buffer = buffer;
+        this.readView = buffer.asReadOnlyBuffer().order(ORDER);
+    }
+
+    /**
+     * Create and map a new segment file (the mapping stays valid after the channel is closed)
+     */
+    static Segment create(Path path, int capacity) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, CREATE_NEW, READ, WRITE)) {
+            return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity));
+        }
+    }
+
+    /**
+     * Map an existing segment file
+     */
+    static Segment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, READ, WRITE)) {
+            return new Segment(path, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()));
+        }
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    int end() {
+        return end;
+    }
+
+    void end(int end) {
+        this.end = end;
+    }
+
+    int remaining() {
+        return buffer.capacity() - end;
+    }
+
+    /**
+     * Writable window of the segment (slices start out big-endian, hence order())
+     */
+    ByteBuffer writable(int offset, int length) {
+        return buffer.slice(offset, length).order(ORDER);
+    }
+
+    /**
+     * Read-only window of the segment
+     */
+    ByteBuffer readable(int offset, int length) {
+        return readView.slice(offset, length).order(ORDER);
+    }
+
+    int readInt(int offset) {
+        return readView.getInt(offset);
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Write one region of the segment through to the file
+     */
+    void force(int offset, int length) {
+        if (length > 0) {
+            buffer.force(offset, length);
+        }
+    }
+}
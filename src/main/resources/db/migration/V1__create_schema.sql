@@ -0,0 +1,35 @@
+-- Baseline schema, as Hibernate maps the entities (checked by ddl-auto=validate)
+
+CREATE SEQUENCE judgment_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(50) NOT NULL UNIQUE,
+    email VARCHAR(255) NOT NULL UNIQUE,
+    password VARCHAR(255) NOT NULL,
+    role ENUM ('ADMIN', 'LAWYER', 'STUDENT') NOT NULL,
+    active BOOLEAN NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE judgments (
+    id BIGINT NOT NULL,
+    case_name VARCHAR(500) NOT NULL,
+    court VARCHAR(255) NOT NULL,
+    judgment_year INTEGER NOT NULL CHECK (judgment_year BETWEEN 1950 AND 2050),
+    content_pointer BIGINT NOT NULL,
+    keywords VARCHAR(1000),
+    verdict VARCHAR(500),
+    uploaded_at TIMESTAMP(6),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE import_checkpoints (
+    import_id VARCHAR(64) NOT NULL,
+    last_record BIGINT NOT NULL,
+    records_imported BIGINT NOT NULL,
+    records_rejected BIGINT NOT NULL,
+    status ENUM ('COMPLETED', 'FAILED', 'RUNNING') NOT NULL,
+    updated_at TIMESTAMP(6),
+    PRIMARY KEY (import_id)
+);
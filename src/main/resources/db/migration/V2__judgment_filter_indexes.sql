@@ -0,0 +1,10 @@
+-- Court and year filters: a case-folded court column plus secondary indexes
+-- Each index ends in id, so keyset pages (... AND id > ? ORDER BY id) are range seeks
+
+ALTER TABLE judgments ADD COLUMN court_key VARCHAR(255);
+UPDATE judgments SET court_key = LOWER(TRIM(court));
+ALTER TABLE judgments ALTER COLUMN court_key SET NOT NULL;
+
+CREATE INDEX idx_judgments_court_key ON judgments (court_key, id);
+CREATE INDEX idx_judgments_year ON judgments (judgment_year, id);
+CREATE INDEX idx_judgments_court_key_year ON judgments (court_key, judgment_year, id);
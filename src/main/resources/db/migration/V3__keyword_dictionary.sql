@@ -0,0 +1,18 @@
+-- Normalized keywords: one row per distinct keyword, joined to judgments by id
+-- Existing judgments are linked by V4 (KeywordBackfillMigration); judgments.keywords stays as uploaded
+
+CREATE TABLE keywords (
+    id INTEGER GENERATED BY DEFAULT AS IDENTITY,
+    name VARCHAR(255) NOT NULL UNIQUE,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE judgment_keywords (
+    keyword_id INTEGER NOT NULL,
+    judgment_id BIGINT NOT NULL,
+    PRIMARY KEY (keyword_id, judgment_id),
+    FOREIGN KEY (keyword_id) REFERENCES keywords (id),
+    FOREIGN KEY (judgment_id) REFERENCES judgments (id)
+);
+
+CREATE INDEX idx_judgment_keywords_judgment ON judgment_keywords (judgment_id);
@@ -0,0 +1,78 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ContentFingerprintTest {
+
+    @Test
+    void contentHashIgnoresWhitespaceLayoutOnly() {
+        String hash = ContentFingerprint.contentHash("The appeal is dismissed.");
+        assertEquals(hash, ContentFingerprint.contentHash("  The appeal\n\n  is\tdismissed.\r\n"));
+        assertNotEquals(hash, ContentFingerprint.contentHash("The appealis dismissed."));
+        assertNotEquals(hash, ContentFingerprint.contentHash("The appeal is Dismissed."));
+        assertEquals(64, hash.length());
+    }
+
+    @Test
+    void contentHashStreamsPastTheBuffer() {
+        String text = "limitation ".repeat(2000);
+        assertEquals(ContentFingerprint.contentHash(text), ContentFingerprint.contentHash(text.replace(" ", "\n\n")));
+        assertNotEquals(ContentFingerprint.contentHash(text), ContentFingerprint.contentHash(text + "x"));
+    }
+
+    @Test
+    void simHashIgnoresCasePunctuationAndShortWords() {
+        assertEquals(SimHash.of("court appeal court"), SimHash.of("COURT, the Appeal; of court!"));
+        assertEquals(0, SimHash.of("the of and"));
+        assertEquals(0, SimHash.of(""));
+    }
+
+    @Test
+    void nearCopiesAreFewBitsApartAndUnrelatedTextsMany() {
+        Random random = new Random(11);
+        String[] words = judgment(random, 0);
+        String original = String.join(" ", words);
+        words[17] = "arbitrator";
+        words[905] = "misdirection";
+        String edited = String.join(" ", words);
+        String unrelated = String.join(" ", judgment(random, 5000));
+
+        ContentFingerprint a = ContentFingerprint.of(original);
+        ContentFingerprint b = ContentFingerprint.of(edited);
+        assertNotEquals(a.contentHash(), b.contentHash());
+        assertTrue(SimHash.distance(a.simHash(), b.simHash()) <= 3);
+        assertTrue(SimHash.distance(a.simHash(), ContentFingerprint.of(unrelated).simHash()) > 15);
+    }
+
+    @Test
+    void hashFindsTheSameTermsAsScanWithoutInterning() {
+        String text = "Held: the appeal, the APPEAL and the cross-appeal are dismissed; appeal costs 2024.";
+        TermScanner scanner = TermScanner.forCurrentThread();
+        TermDictionary dictionary = new TermDictionary();
+        int hashed = scanner.hash(text, 4);
+        long distinctHashes = Arrays.stream(scanner.hashes(), 0, hashed).distinct().count();
+        assertEquals(0, dictionary.size());
+
+        int scanned = scanner.scan(text, 4, dictionary);
+        assertEquals(scanned, hashed);
+        assertEquals(dictionary.size(), distinctHashes);
+    }
+
+    /**
+     * 3000 words drawn (with repeats) from 1500 made-up terms numbered from first
+     */
+    private static String[] judgment(Random random, int first) {
+        String[] words = new String[3000];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = "term" + (first + random.nextInt(1500));
+        }
+        return words;
+    }
+}
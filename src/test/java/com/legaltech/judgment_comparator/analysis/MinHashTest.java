@@ -0,0 +1,63 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MinHashTest {
+
+    private final MinHash minHash = new MinHash(64, 0x5EEDL);
+
+    @Test
+    void disjointSetsWithTermZeroGetDifferentSignatures() {
+        int[] withZero = minHash.signature(IntBuffer.wrap(new int[]{0, 5, 9}));
+        int[] other = minHash.signature(IntBuffer.wrap(new int[]{1, 2, 3}));
+        assertTrue(Arrays.stream(withZero).anyMatch(h -> h != 0), "term 0 must not zero the signature");
+        assertTrue(agreement(withZero, other) < 0.2);
+    }
+
+    @Test
+    void termZeroAloneIsNotAConstant() {
+        int[] zero = minHash.signature(IntBuffer.wrap(new int[]{0}));
+        assertTrue(Arrays.stream(zero).distinct().count() > 1);
+    }
+
+    @Test
+    void sameSetSameSignature() {
+        int[] a = minHash.signature(IntBuffer.wrap(new int[]{4, 8, 15, 16, 23, 42}));
+        int[] b = new MinHash(64, 0x5EEDL).signature(IntBuffer.wrap(new int[]{4, 8, 15, 16, 23, 42}));
+        assertArrayEquals(a, b);
+        assertEquals(64, minHash.numHashes());
+    }
+
+    @Test
+    void emptySetIsAllMaxValue() {
+        int[] empty = minHash.signature(IntBuffer.allocate(0));
+        assertTrue(Arrays.stream(empty).allMatch(h -> h == Integer.MAX_VALUE));
+    }
+
+    @Test
+    void agreementTracksJaccard() {
+        MinHash wide = new MinHash(512, 1);
+        // 0..299 vs 100..399: Jaccard 200 / 400 = 0.5
+        int[] a = wide.signature(IntBuffer.wrap(IntStream.range(0, 300).toArray()));
+        int[] b = wide.signature(IntBuffer.wrap(IntStream.range(100, 400).toArray()));
+        assertEquals(0.5, agreement(a, b), 0.1);
+    }
+
+    private static double agreement(int[] a, int[] b) {
+        int same = 0;
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == b[i]) {
+                same++;
+            }
+        }
+        return (double) same / a.length;
+    }
+}
@@ -0,0 +1,45 @@
+package com.legaltech.judgment_comparator.analysis;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenizerTest {
+
+    @Test
+    void splitsOnAnythingButLettersAndDigits() {
+        assertEquals(List.of("article", "21", "court", "order"),
+                Tokenizer.tokenize("Article-21, court's\n\torder."));
+    }
+
+    @Test
+    void dropsSingleCharacterTerms() {
+        assertEquals(List.of("of", "india"), Tokenizer.tokenize("a of b India 7 ."));
+    }
+
+    @Test
+    void lowercasesWithoutLocaleSurprises() {
+        assertEquals(List.of("title", "iii"), Tokenizer.tokenize("TITLE III"));
+    }
+
+    @Test
+    void keepsAccentedLetters() {
+        assertEquals(List.of("arrêt", "öffentlich"), Tokenizer.tokenize("Arrêt — Öffentlich"));
+    }
+
+    @Test
+    void emptyAndNullGiveNoTerms() {
+        assertEquals(List.of(), Tokenizer.tokenize(null));
+        assertEquals(List.of(), Tokenizer.tokenize(""));
+        assertEquals(List.of(), Tokenizer.tokenize(" , . x "));
+    }
+
+    @Test
+    void termFrequenciesAddUpAcrossFields() {
+        Map<String, Integer> frequencies = Tokenizer.termFrequencies("Appeal dismissed", "appeal, APPEAL", null);
+        assertEquals(Map.of("appeal", 3, "dismissed", 1), frequencies);
+    }
+}
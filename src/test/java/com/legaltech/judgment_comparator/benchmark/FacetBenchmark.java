@@ -0,0 +1,107 @@
+package com.legaltech.judgment_comparator.benchmark;
+
+import com.legaltech.judgment_comparator.dto.FacetedPage;
+import com.legaltech.judgment_comparator.service.JudgmentIndexService;
+import com.legaltech.judgment_comparator.service.JudgmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Facet counts (per court, year and verdict category) from GROUP BY queries vs the bitmaps
+ *
+ * groupByCounts runs the three aggregate queries the search UI would otherwise need, with the
+ * same court/year filters (each count ignoring its own facet) and the verdict categories
+ * derived in SQL with the same keywords as VerdictCategory. Both sides return the first page.
+ *
+ * Run: mvn -Pbenchmark test -Djmh.includes=FacetBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx8g"})
+public class FacetBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    private static final String VERDICT_CATEGORY = "CASE WHEN LOWER(verdict) LIKE '%dismiss%' THEN 'DISMISSED' "
+            + "WHEN LOWER(verdict) LIKE '%allow%' THEN 'ALLOWED' "
+            + "WHEN LOWER(verdict) LIKE '%reject%' THEN 'REJECTED' ELSE 'OTHER' END";
+
+    @Param({"100000", "1000000"})
+    public int corpusSize;
+
+    /**
+     * none: counts over the whole corpus; court+year: one court and one year selected
+     */
+    @Param({"none", "court+year"})
+    public String filter;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private JudgmentService judgmentService;
+
+    private int call;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SearchBenchmark.startContext();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        judgmentService = context.getBean(JudgmentService.class);
+
+        SearchBenchmark.insertCorpus(context, corpusSize);
+        context.getBean(JudgmentIndexService.class).rebuild();
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public FacetedPage bitmapFacets() {
+        call++;
+        boolean filtered = filter.equals("court+year");
+        return judgmentService.facetedSearch(null,
+                filtered ? List.of(court()) : null, filtered ? List.of(year()) : null, null, null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public Object[] groupByCounts() {
+        call++;
+        boolean filtered = filter.equals("court+year");
+        String courtKey = filtered ? court().toLowerCase() : null;
+        Integer year = filtered ? year() : null;
+        String courtFilter = " AND (CAST(? AS VARCHAR) IS NULL OR court_key = ?)";
+        String yearFilter = " AND (CAST(? AS INTEGER) IS NULL OR judgment_year = ?)";
+
+        List<Map<String, Object>> page = jdbcTemplate.queryForList("SELECT id, case_name, court, judgment_year, "
+                + "keywords, verdict, uploaded_at FROM judgments WHERE 1 = 1" + courtFilter + yearFilter
+                + " ORDER BY id FETCH FIRST " + PAGE_SIZE + " ROWS ONLY", courtKey, courtKey, year, year);
+        Long total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM judgments WHERE 1 = 1"
+                + courtFilter + yearFilter, Long.class, courtKey, courtKey, year, year);
+        List<Map<String, Object>> courts = jdbcTemplate.queryForList("SELECT court, COUNT(*) FROM judgments "
+                + "WHERE 1 = 1" + yearFilter + " GROUP BY court", year, year);
+        List<Map<String, Object>> years = jdbcTemplate.queryForList("SELECT judgment_year, COUNT(*) FROM judgments "
+                + "WHERE 1 = 1" + courtFilter + " GROUP BY judgment_year", courtKey, courtKey);
+        List<Map<String, Object>> verdicts = jdbcTemplate.queryForList("SELECT " + VERDICT_CATEGORY
+                + ", COUNT(*) FROM judgments WHERE 1 = 1" + courtFilter + yearFilter + " GROUP BY 1",
+                courtKey, courtKey, year, year);
+        return new Object[]{page, total, courts, years, verdicts};
+    }
+
+    private String court() {
+        return SyntheticCorpus.COURTS[call % SyntheticCorpus.COURTS.length];
+    }
+
+    private int year() {
+        return 1951 + call % 75;
+    }
+}
@@ -0,0 +1,127 @@
+package com.legaltech.judgment_comparator.benchmark;
+
+import com.legaltech.judgment_comparator.dto.CursorPage;
+import com.legaltech.judgment_comparator.dto.JudgmentSummary;
+import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.repository.JudgmentRepository;
+import com.legaltech.judgment_comparator.service.JudgmentService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Court, year and keyword filters with and without the secondary indexes
+ *
+ * indexed=false drops the court/year indexes after loading, so the same queries fall back
+ * to a full table scan (and a sort for pages), the plan every filter had before.
+ * Keyword pages walk the judgment_keywords primary key, which is never dropped.
+ * In the synthetic corpus a court matches 1/8 of the rows, a year 1/75, both ~1/600,
+ * an "article N" keyword 1/40.
+ * Every call filters on the next court/year: H2 hands back the previous result when a
+ * statement is re-run with the same parameters on an unchanged table.
+ *
+ * Run: mvn -Pbenchmark test -Djmh.includes=FilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx8g"})
+public class FilterBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000000"})
+    public int corpusSize;
+
+    @Param({"true", "false"})
+    public boolean indexed;
+
+    private ConfigurableApplicationContext context;
+    private JudgmentRepository judgmentRepository;
+    private JudgmentService judgmentService;
+
+    /**
+     * Cursor in the middle of the table, so pages do not all start at the first rows
+     */
+    private long middleId;
+
+    private int call;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = SearchBenchmark.startContext();
+        judgmentRepository = context.getBean(JudgmentRepository.class);
+        judgmentService = context.getBean(JudgmentService.class);
+
+        SearchBenchmark.insertCorpus(context, corpusSize);
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (!indexed) {
+            jdbcTemplate.execute("DROP INDEX idx_judgments_court_key");
+            jdbcTemplate.execute("DROP INDEX idx_judgments_year");
+            jdbcTemplate.execute("DROP INDEX idx_judgments_court_key_year");
+        }
+        jdbcTemplate.execute("ANALYZE");
+        middleId = jdbcTemplate.queryForObject("SELECT MAX(id) / 2 FROM judgments", Long.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<JudgmentSummary> pageByCourt() {
+        call++;
+        return judgmentService.getJudgmentsPage(middleId, PAGE_SIZE, court(), null, null);
+    }
+
+    @Benchmark
+    public CursorPage<JudgmentSummary> pageByYear() {
+        call++;
+        return judgmentService.getJudgmentsPage(middleId, PAGE_SIZE, null, year(), null);
+    }
+
+    @Benchmark
+    public CursorPage<JudgmentSummary> pageByCourtAndYear() {
+        call++;
+        return judgmentService.getJudgmentsPage(middleId, PAGE_SIZE, court(), year(), null);
+    }
+
+    @Benchmark
+    public CursorPage<JudgmentSummary> pageByKeyword() {
+        call++;
+        return judgmentService.getJudgmentsPage(middleId, PAGE_SIZE, null, null, keyword());
+    }
+
+    @Benchmark
+    public CursorPage<JudgmentSummary> pageByKeywordAndCourt() {
+        call++;
+        return judgmentService.getJudgmentsPage(middleId, PAGE_SIZE, court(), null, keyword());
+    }
+
+    /**
+     * Every match as entities (~1,700 rows at 1M)
+     */
+    @Benchmark
+    public List<Judgment> allByCourtAndYear() {
+        call++;
+        return judgmentRepository.findByCourtIgnoreCaseAndYear(court(), year());
+    }
+
+    private String court() {
+        return SyntheticCorpus.COURTS[call % SyntheticCorpus.COURTS.length];
+    }
+
+    private String keyword() {
+        return "Article " + (12 + call % 40);
+    }
+
+    private int year() {
+        return 1951 + call % 75;
+    }
+}
@@ -0,0 +1,115 @@
+package com.legaltech.judgment_comparator.benchmark;
+
+import com.legaltech.judgment_comparator.cache.CacheRegistry;
+import com.legaltech.judgment_comparator.security.JwtAuthenticationFilter;
+import com.legaltech.judgment_comparator.security.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication in JwtAuthenticationFilter
+ *
+ * cacheSize=0 measures the single-parse path alone, the default size adds the verified-token cache;
+ * legacyThreeParses repeats what the filter did before (key decode + parser build + HMAC check, three times).
+ * User lookup is stubbed so only the token handling is measured.
+ *
+ * Run: mvn -Pbenchmark test -Djmh.includes=JwtFilterBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    private static final String SECRET = "404E635266556A586E3272357538782F413F4428472B4B6250645367566B5970";
+
+    /**
+     * Distinct active users (tokens) cycling through the filter
+     */
+    private static final int USERS = 1_000;
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        jwtService = new JwtService(new CacheRegistry(new SimpleMeterRegistry()));
+        ReflectionTestUtils.setField(jwtService, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtService, "jwtExpiration", 3_600_000L);
+        ReflectionTestUtils.setField(jwtService, "cacheMaxSize", cacheSize);
+        ReflectionTestUtils.setField(jwtService, "cacheTtl", 600_000L);
+        ReflectionTestUtils.invokeMethod(jwtService, "init");
+
+        Map<String, UserDetails> users = new HashMap<>();
+        tokens = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            UserDetails user = User.withUsername("user" + i).password("x").roles("USER").build();
+            users.put(user.getUsername(), user);
+            tokens[i] = jwtService.generateToken(user);
+        }
+        UserDetailsService userDetailsService = users::get;
+        filter = new JwtAuthenticationFilter(jwtService, userDetailsService, new SimpleMeterRegistry());
+    }
+
+    private String nextToken() {
+        String token = tokens[next];
+        next = (next + 1) % USERS;
+        return token;
+    }
+
+    @Benchmark
+    public Object filterRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/judgments");
+        request.addHeader("Authorization", "Bearer " + nextToken());
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        SecurityContextHolder.clearContext();
+        return principal;
+    }
+
+    /**
+     * JwtService token validation on its own (no servlet/security context overhead)
+     */
+    @Benchmark
+    public JwtService.VerifiedToken verifyToken() {
+        return jwtService.verify(nextToken());
+    }
+
+    @Benchmark
+    public boolean legacyThreeParses() {
+        String token = nextToken();
+        String username = legacyClaims(token).getSubject(); // extractUsername
+        return username.equals(legacyClaims(token).getSubject()) // isTokenValid -> extractUsername
+                && !legacyClaims(token).getExpiration().before(new Date()); // isTokenExpired
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,215 @@
+package com.legaltech.judgment_comparator.benchmark;
+
+import com.legaltech.judgment_comparator.JudgmentComparatorApplication;
+import com.legaltech.judgment_comparator.service.JudgmentIndexService;
+import jakarta.servlet.Filter;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-loop HTTP load test: platform vs virtual request threads
+ *
+ * Starts the application once per mode on a random port, loads a synthetic corpus and lets
+ * load.clients concurrent clients send a mix of reads, searches and comparisons for
+ * load.seconds. Every request first blocks for load.latency ms, standing in for a remote
+ * database or service (the in-memory H2 never blocks long enough to matter). Platform mode
+ * can only have as many requests in flight as Tomcat has threads (200); virtual mode is
+ * limited by the bulkheads instead.
+ *
+ * Run: mvn -Ploadtest test [-Dload.clients=1000 -Dload.seconds=15 -Dload.latency=50 -Dload.corpus=2000]
+ */
+public final class LoadTest {
+
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("load.clients", 1000);
+        int seconds = Integer.getInteger("load.seconds", 15);
+        int latency = Integer.getInteger("load.latency", 50);
+        int corpus = Integer.getInteger("load.corpus", 2000);
+
+        List<String> report = new ArrayList<>();
+        for (boolean virtualThreads : new boolean[]{false, true}) {
+            try (ConfigurableApplicationContext context = start(virtualThreads, latency)) {
+                SearchBenchmark.insertCorpus(context, corpus);
+                context.getBean(JudgmentIndexService.class).rebuild();
+                // Sequence ids are not dense (allocationSize 50), so ask for them
+                long[] ids = context.getBean(JdbcTemplate.class)
+                        .queryForList("SELECT id FROM judgments", Long.class).stream()
+                        .mapToLong(Long::longValue).toArray();
+                String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+                Result result = run(baseUrl, clients, Duration.ofSeconds(seconds), ids);
+                report.add(String.format("%-8s %8.0f req/s   p50 %5d ms   p99 %5d ms   503s %6d   errors %d",
+                        virtualThreads ? "virtual" : "platform", result.throughput(),
+                        result.percentile(50), result.percentile(99), result.rejected(), result.errors()));
+            }
+        }
+        System.out.printf("%n%d clients, %d s, %d ms simulated latency, %d judgments%n", clients, seconds, latency, corpus);
+        report.forEach(System.out::println);
+    }
+
+    private static ConfigurableApplicationContext start(boolean virtualThreads, int latency) {
+        return new SpringApplicationBuilder(JudgmentComparatorApplication.class, SlowDownstream.class)
+                .properties(
+                        "server.port=0",
+                        "management.server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "load.latency=" + latency,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN",
+                        "logging.level.com.legaltech.judgment_comparator=WARN",
+                        "logging.level.org.springframework.security=WARN",
+                        "logging.level.org.springframework.web=WARN",
+                        "judgment.index.rebuild-on-startup=false")
+                .run();
+    }
+
+    private static Result run(String baseUrl, int clients, Duration duration, long[] ids) throws Exception {
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        String token = register(http, baseUrl);
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<long[]> latencies = new ArrayList<>();
+        int[] requests = new int[clients];
+        long[] rejected = new long[clients];
+        long[] errors = new long[clients];
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clients; c++) {
+                int client = c;
+                long[] samples = new long[1 << 16];
+                latencies.add(samples);
+                workers.submit(() -> {
+                    int n = 0;
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            int status = http.send(request(baseUrl, token, n, ids),
+                                    HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 503) {
+                                rejected[client]++;
+                            } else if (status != 200) {
+                                errors[client]++;
+                            }
+                        } catch (Exception e) {
+                            errors[client]++;
+                        }
+                        if (n < samples.length) {
+                            samples[n] = System.nanoTime() - start;
+                        }
+                        n++;
+                    }
+                    requests[client] = n;
+                    return null;
+                });
+            }
+        }
+        return Result.of(latencies, requests, rejected, errors, duration);
+    }
+
+    /**
+     * Round robin over a read, a page, a search and a comparison
+     */
+    private static HttpRequest request(String baseUrl, String token, int n, long[] ids) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id = ids[random.nextInt(ids.length)];
+        String path = switch (n % 4) {
+            case 0 -> "/api/judgments/" + id;
+            case 1 -> "/api/judgments?size=20&after=" + id;
+            case 2 -> "/api/judgments/search?term=" + SyntheticCorpus.COURTS[random.nextInt(SyntheticCorpus.COURTS.length)]
+                    .split(" ")[0].toLowerCase();
+            default -> "/api/judgments/compare?id1=" + id + "&id2=" + ids[random.nextInt(ids.length)];
+        };
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Authorization", "Bearer " + token)
+                .timeout(Duration.ofSeconds(30));
+        return n % 4 == 3 ? builder.POST(HttpRequest.BodyPublishers.noBody()).build() : builder.GET().build();
+    }
+
+    private static String register(HttpClient http, String baseUrl) throws Exception {
+        String body = "{\"username\":\"loadtest\",\"email\":\"load@test.com\",\"password\":\"secret1\",\"role\":\"LAWYER\"}";
+        HttpResponse<String> response = http.send(HttpRequest.newBuilder(URI.create(baseUrl + "/api/auth/register"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        Matcher matcher = TOKEN.matcher(response.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("Registration failed: " + response.body());
+        }
+        return matcher.group(1);
+    }
+
+    private record Result(long[] sortedLatencies, long requests, long rejected, long errors, Duration duration) {
+
+        static Result of(List<long[]> perClient, int[] requests, long[] rejected, long[] errors, Duration duration) {
+            List<Long> all = new ArrayList<>();
+            for (int c = 0; c < perClient.size(); c++) {
+                long[] samples = perClient.get(c);
+                for (int i = 0; i < Math.min(requests[c], samples.length); i++) {
+                    all.add(samples[i]);
+                }
+            }
+            long[] sorted = all.stream().mapToLong(Long::longValue).sorted().toArray();
+            return new Result(sorted, Arrays.stream(requests).sum(), Arrays.stream(rejected).sum(),
+                    Arrays.stream(errors).sum(), duration);
+        }
+
+        double throughput() {
+            return requests / (double) duration.toSeconds();
+        }
+
+        long percentile(int p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = Math.min(sortedLatencies.length - 1, (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1);
+            return Duration.ofNanos(sortedLatencies[Math.max(0, index)]).toMillis();
+        }
+    }
+
+    /**
+     * Blocks every request for load.latency ms before it reaches the application
+     */
+    @Configuration
+    static class SlowDownstream {
+
+        @Bean
+        FilterRegistrationBean<Filter> simulatedLatency(Environment environment) {
+            long latency = environment.getProperty("load.latency", Long.class, 0L);
+            FilterRegistrationBean<Filter> registration = new FilterRegistrationBean<>((request, response, chain) -> {
+                try {
+                    Thread.sleep(latency);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                chain.doFilter(request, response);
+            });
+            registration.setOrder(Integer.MIN_VALUE);
+            return registration;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.legaltech.judgment_comparator.benchmark;
+
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+import com.legaltech.judgment_comparator.analysis.TermDictionary;
+import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.index.ScoredJudgment;
+import com.legaltech.judgment_comparator.index.ShardedCorpus;
+import com.legaltech.judgment_comparator.similarity.JaccardSimilarityEngine;
+import com.legaltech.judgment_comparator.similarity.SimilarityEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole-corpus rank (/api/judgments/{id}/rank) at different pool sizes
+ * Scaling needs as many free cores as the largest parallelism value
+ *
+ * Run: mvn -Pbenchmark test -Djmh.includes=RankBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms2g", "-Xmx4g"})
+public class RankBenchmark {
+
+    private static final int TEXT_BYTES = 2048;
+    private static final int K = 20;
+
+    @Param({"100000"})
+    public int corpusSize;
+
+    @Param({"1", "2", "4", "8"})
+    public int parallelism;
+
+    private final SimilarityEngine engine = new JaccardSimilarityEngine();
+
+    private ForkJoinPool pool;
+    private ShardedCorpus corpus;
+    private JudgmentAnalysis query;
+    private ShardedCorpus.Filter unfiltered;
+    private ShardedCorpus.Filter courtAndDecade;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        corpus = new ShardedCorpus(4 * parallelism);
+        TermDictionary dictionary = new TermDictionary();
+        SyntheticCorpus generator = new SyntheticCorpus(42, 50_000);
+        for (int id = 1; id <= corpusSize; id++) {
+            Judgment judgment = generator.next(TEXT_BYTES);
+            JudgmentAnalysis analysis = JudgmentAnalysis.of(id, judgment.getJudgmentText(), dictionary);
+            corpus.add(id, analysis, judgment.getCourt(), judgment.getYear());
+            if (id == 1) {
+                query = analysis;
+            }
+        }
+        unfiltered = new ShardedCorpus.Filter(null, null, null);
+        courtAndDecade = new ShardedCorpus.Filter(SyntheticCorpus.COURTS[0], 2000, 2009);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<ScoredJudgment> rankAll() {
+        return corpus.topK(query, unfiltered, engine, K, pool);
+    }
+
+    /**
+     * Filtered out entries are skipped before scoring
+     */
+    @Benchmark
+    public List<ScoredJudgment> rankFiltered() {
+        return corpus.topK(query, courtAndDecade, engine, K, pool);
+    }
+}
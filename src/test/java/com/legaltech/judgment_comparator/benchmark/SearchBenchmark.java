@@ -0,0 +1,143 @@
+package com.legaltech.judgment_comparator.benchmark;
+
+import com.legaltech.judgment_comparator.JudgmentComparatorApplication;
+import com.legaltech.judgment_comparator.dto.JudgmentSummary;
+import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.repository.JudgmentRepository;
+import com.legaltech.judgment_comparator.service.JudgmentIndexService;
+import com.legaltech.judgment_comparator.service.JudgmentService;
+import com.legaltech.judgment_comparator.service.KeywordService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPQL LIKE scan vs inverted index for /api/judgments/search
+ *
+ * Run: mvn -Pbenchmark test -Djmh.includes=SearchBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx8g"})
+public class SearchBenchmark {
+
+    private static final int TEXT_BYTES = 512;
+    private static final int INSERT_BATCH = 5_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int corpusSize;
+
+    /**
+     * A topic word (many hits) and a rare vocabulary word (few hits)
+     */
+    @Param({"arbitration", "term2bz"})
+    public String searchTerm;
+
+    private ConfigurableApplicationContext context;
+    private JudgmentRepository judgmentRepository;
+    private JudgmentIndexService judgmentIndexService;
+    private JudgmentService judgmentService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = startContext();
+        judgmentRepository = context.getBean(JudgmentRepository.class);
+        judgmentIndexService = context.getBean(JudgmentIndexService.class);
+        judgmentService = context.getBean(JudgmentService.class);
+
+        insertCorpus(context, corpusSize);
+        judgmentIndexService.rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<JudgmentSummary> jpqlLikeScan() {
+        return judgmentRepository.searchJudgments(searchTerm);
+    }
+
+    @Benchmark
+    public List<Long> invertedIndexLookup() {
+        return judgmentIndexService.search(searchTerm);
+    }
+
+    /**
+     * Index lookup plus loading the matching rows, i.e. what the endpoint does
+     */
+    @Benchmark
+    public List<JudgmentSummary> indexedSearch() {
+        return judgmentService.searchJudgments(searchTerm);
+    }
+
+    /**
+     * Application context without the web server, SQL logging or startup rebuild
+     */
+    static ConfigurableApplicationContext startContext(String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+                "spring.jpa.show-sql=false",
+                "logging.level.com.legaltech.judgment_comparator=WARN",
+                "logging.level.org.springframework.security=WARN",
+                "judgment.index.rebuild-on-startup=false"));
+        properties.addAll(List.of(extraProperties));
+        return new SpringApplicationBuilder(JudgmentComparatorApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(properties.toArray(String[]::new))
+                .run();
+    }
+
+    /**
+     * Bulk insert through JDBC (the JPA save path is far too slow for a million rows)
+     * Texts go to the content store and keywords to the dictionary first, like JudgmentService.saveJudgment
+     */
+    static void insertCorpus(ConfigurableApplicationContext context, int size) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        JudgmentIndexService indexService = context.getBean(JudgmentIndexService.class);
+        KeywordService keywordService = context.getBean(KeywordService.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+        SyntheticCorpus corpus = new SyntheticCorpus(42, 50_000);
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int inserted = 0; inserted < size; inserted += INSERT_BATCH) {
+            int batchSize = Math.min(INSERT_BATCH, size - inserted);
+            // One sequence value per row, like the single-row inserts Hibernate's pooled ids expect
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT NEXT VALUE FOR judgment_seq FROM SYSTEM_RANGE(1, ?)", Long.class, batchSize);
+            List<Judgment> judgments = new ArrayList<>(batchSize);
+            for (int i = 0; i < batchSize; i++) {
+                Judgment j = corpus.next(TEXT_BYTES);
+                j.setId(ids.get(i));
+                indexService.storeContent(j);
+                judgments.add(j);
+            }
+            transactionTemplate.executeWithoutResult(tx ->
+                    judgments.forEach(j -> j.setKeywordIds(keywordService.resolve(j.getKeywords()))));
+
+            List<Object[]> rows = new ArrayList<>(batchSize);
+            List<Object[]> keywordRows = new ArrayList<>(batchSize * 3);
+            for (Judgment j : judgments) {
+                rows.add(new Object[]{j.getId(), j.getCaseName(), j.getCourt(), Judgment.courtKeyOf(j.getCourt()),
+                        j.getYear(), j.getContentPointer(), j.getKeywords(), j.getVerdict(), now});
+                j.getKeywordIds().forEach(keywordId -> keywordRows.add(new Object[]{j.getId(), keywordId}));
+            }
+            jdbcTemplate.batchUpdate("INSERT INTO judgments "
+                    + "(id, case_name, court, court_key, judgment_year, content_pointer, keywords, verdict, uploaded_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+            jdbcTemplate.batchUpdate("INSERT INTO judgment_keywords (judgment_id, keyword_id) VALUES (?, ?)",
+                    keywordRows);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.legaltech.judgment_comparator.benchmark;
+
+import com.legaltech.judgment_comparator.diff.AlignedSegment;
+import com.legaltech.judgment_comparator.diff.ParagraphAligner;
+import com.legaltech.judgment_comparator.diff.ParagraphFingerprints;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paragraph diff (/api/judgments/compare/sections) on 16 KB to 1 MB texts
+ *
+ * The second text keeps a third of the first one's paragraphs verbatim, edits a third and
+ * replaces the rest, with a few paragraphs moved. fingerprint is the one-off cost per judgment
+ * (cached afterwards); align is what a diff of two cached judgments pays.
+ *
+ * Run: mvn -Pbenchmark test -Djmh.includes=SectionDiffBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class SectionDiffBenchmark {
+
+    private static final int PARAGRAPH_BYTES = 600;
+    private static final int MAX_PARAGRAPH_CHARS = 2000;
+    private static final double THRESHOLD = 0.5;
+
+    @Param({"16384", "131072", "1048576"})
+    public int textBytes;
+
+    private String text1;
+    private String text2;
+    private ParagraphFingerprints fingerprints1;
+    private ParagraphFingerprints fingerprints2;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SyntheticCorpus corpus = new SyntheticCorpus(11, 50_000);
+        Random random = new Random(11);
+        List<String> paragraphs1 = new ArrayList<>();
+        List<String> paragraphs2 = new ArrayList<>();
+        for (int size = 0; size < textBytes; size += PARAGRAPH_BYTES + 2) {
+            String paragraph = corpus.text(PARAGRAPH_BYTES, corpus.pick(SyntheticCorpus.VERDICTS).toLowerCase());
+            paragraphs1.add(paragraph);
+            switch (random.nextInt(3)) {
+                case 0 -> paragraphs2.add(paragraph);
+                case 1 -> paragraphs2.add(edit(paragraph, random));
+                default -> paragraphs2.add(corpus.text(PARAGRAPH_BYTES, "arbitration"));
+            }
+        }
+        // Move a few paragraphs
+        for (int i = 0; i < paragraphs2.size() / 20; i++) {
+            Collections.swap(paragraphs2, random.nextInt(paragraphs2.size()), random.nextInt(paragraphs2.size()));
+        }
+        text1 = String.join("\n\n", paragraphs1);
+        text2 = String.join("\n\n", paragraphs2);
+        fingerprints1 = ParagraphFingerprints.of(text1, MAX_PARAGRAPH_CHARS);
+        fingerprints2 = ParagraphFingerprints.of(text2, MAX_PARAGRAPH_CHARS);
+    }
+
+    /**
+     * Replace roughly one word in twenty
+     */
+    private static String edit(String paragraph, Random random) {
+        String[] words = paragraph.split(" ");
+        for (int i = 0; i < words.length; i++) {
+            if (random.nextInt(20) == 0) {
+                words[i] = "amended";
+            }
+        }
+        return String.join(" ", words);
+    }
+
+    @Benchmark
+    public ParagraphFingerprints fingerprint() {
+        return ParagraphFingerprints.of(text1, MAX_PARAGRAPH_CHARS);
+    }
+
+    @Benchmark
+    public List<AlignedSegment> align() {
+        return ParagraphAligner.align(fingerprints1, fingerprints2, THRESHOLD);
+    }
+
+    /**
+     * Nothing cached: fingerprint both texts, then align
+     */
+    @Benchmark
+    public List<AlignedSegment> uncachedDiff() {
+        return ParagraphAligner.align(
+                ParagraphFingerprints.of(text1, MAX_PARAGRAPH_CHARS),
+                ParagraphFingerprints.of(text2, MAX_PARAGRAPH_CHARS),
+                THRESHOLD);
+    }
+}
@@ -0,0 +1,96 @@
+package com.legaltech.judgment_comparator.benchmark;
+
+import com.legaltech.judgment_comparator.entity.Judgment;
+
+import java.util.Random;
+
+/**
+ * Deterministic generator of judgment-like documents for benchmarks
+ * Word frequencies are skewed (a few very common words, a long tail) like real legal text
+ */
+public final class SyntheticCorpus {
+
+    public static final String[] COURTS = {
+            "Supreme Court", "Delhi High Court", "Bombay High Court", "Madras High Court",
+            "Calcutta High Court", "Allahabad High Court", "Karnataka High Court", "Kerala High Court"
+    };
+
+    public static final String[] VERDICTS = {
+            "Petition allowed", "Appeal dismissed", "Application rejected", "Partly allowed", "Remanded"
+    };
+
+    private static final String[] COMMON = {
+            "court", "petitioner", "respondent", "section", "article", "appeal", "order",
+            "judgment", "learned", "counsel", "state", "union", "india", "act", "held"
+    };
+
+    private static final String[] TOPICS = {
+            "constitution", "liberty", "privacy", "property", "contract", "taxation", "arbitration",
+            "bail", "custody", "evidence", "limitation", "jurisdiction", "negligence", "defamation",
+            "election", "environment", "labour", "pension", "insolvency", "trademark", "copyright",
+            "acquisition", "reservation", "sedition", "extradition", "maintenance", "adoption"
+    };
+
+    private final Random random;
+
+    /**
+     * Rare words, so every document also has terms that hit only a few postings
+     */
+    private final String[] vocabulary;
+
+    public SyntheticCorpus(long seed, int vocabularySize) {
+        this.random = new Random(seed);
+        this.vocabulary = new String[vocabularySize];
+        for (int i = 0; i < vocabularySize; i++) {
+            vocabulary[i] = "term" + Integer.toString(i, 36);
+        }
+    }
+
+    /**
+     * A judgment whose text is roughly textBytes long
+     */
+    public Judgment next(int textBytes) {
+        String topic = pick(TOPICS);
+        Judgment judgment = new Judgment();
+        judgment.setCaseName(capitalize(pick(TOPICS)) + " Ltd vs " + capitalize(topic) + " Board " + random.nextInt(10_000));
+        judgment.setCourt(pick(COURTS));
+        judgment.setYear(1951 + random.nextInt(75));
+        judgment.setJudgmentText(text(textBytes, topic));
+        judgment.setKeywords(topic + ", " + pick(TOPICS) + ", Article " + (12 + random.nextInt(40)));
+        judgment.setVerdict(pick(VERDICTS));
+        return judgment;
+    }
+
+    /**
+     * Text of roughly the given size, biased towards one topic
+     */
+    public String text(int bytes, String topic) {
+        StringBuilder text = new StringBuilder(bytes + 32);
+        while (text.length() < bytes) {
+            double roll = random.nextDouble();
+            String word;
+            if (roll < 0.45) {
+                word = pick(COMMON);
+            } else if (roll < 0.60) {
+                word = topic;
+            } else if (roll < 0.75) {
+                word = pick(TOPICS);
+            } else {
+                // Zipf-like: low ranks are much more frequent
+                int rank = (int) Math.floor(Math.pow(vocabulary.length, random.nextDouble())) - 1;
+                word = vocabulary[Math.max(0, rank)];
+            }
+            text.append(word);
+            text.append(random.nextInt(12) == 0 ? ". " : " ");
+        }
+        return text.toString();
+    }
+
+    public String pick(String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
@@ -0,0 +1,146 @@
+package com.legaltech.judgment_comparator.diff;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParagraphAlignerTest {
+
+    private static final int MAX_PARAGRAPH_CHARS = 2000;
+    private static final double THRESHOLD = 0.5;
+
+    private final Random random = new Random(17);
+
+    @Test
+    void identicalTextsAlignParagraphForParagraph() {
+        List<String> paragraphs = paragraphs(5);
+        String text1 = String.join("\n\n", paragraphs);
+        // Same words, different case, spacing and line breaks
+        String text2 = String.join("\n \n", paragraphs).toUpperCase().replace(" ", "  ");
+
+        List<AlignedSegment> segments = align(text1, text2);
+        assertEquals(5, segments.size());
+        for (int n = 0; n < segments.size(); n++) {
+            AlignedSegment segment = segments.get(n);
+            assertEquals(AlignedSegment.Type.IDENTICAL, segment.type());
+            assertEquals(n, segment.paragraph1());
+            assertEquals(n, segment.paragraph2());
+            assertEquals(1.0, segment.similarity());
+            assertFalse(segment.moved());
+            assertEquals(paragraphs.get(n), text1.substring(segment.start1(), segment.end1()));
+        }
+    }
+
+    @Test
+    void nearIdenticalParagraphIsSimilar() {
+        List<String> paragraphs = paragraphs(3);
+        List<String> edited = new ArrayList<>(paragraphs);
+        edited.set(1, Texts.replaceWord(paragraphs.get(1), 30, "reversed"));
+        edited.set(2, paragraphs(1).get(0)); // unrelated
+
+        List<AlignedSegment> segments = align(String.join("\n\n", paragraphs), String.join("\n\n", edited));
+        assertEquals(2, segments.size());
+        assertEquals(AlignedSegment.Type.IDENTICAL, segments.get(0).type());
+        AlignedSegment similar = segments.get(1);
+        assertEquals(AlignedSegment.Type.SIMILAR, similar.type());
+        assertEquals(1, similar.paragraph1());
+        assertEquals(1, similar.paragraph2());
+        assertTrue(similar.similarity() >= THRESHOLD && similar.similarity() < 1.0);
+    }
+
+    @Test
+    void paragraphOutOfOrderIsMoved() {
+        List<String> paragraphs = paragraphs(4);
+        List<String> reordered = List.of(paragraphs.get(0), paragraphs.get(3), paragraphs.get(1), paragraphs.get(2));
+
+        List<AlignedSegment> segments = align(String.join("\n\n", paragraphs), String.join("\n\n", reordered));
+        assertEquals(4, segments.size());
+        for (AlignedSegment segment : segments) {
+            assertEquals(segment.paragraph1() == 3, segment.moved(), "paragraph " + segment.paragraph1());
+        }
+        assertEquals(1, segments.get(3).paragraph2());
+    }
+
+    @Test
+    void repeatedParagraphPairsFirstWithFirst() {
+        List<String> paragraphs = paragraphs(2);
+        String text1 = String.join("\n\n", paragraphs.get(0), paragraphs.get(1), paragraphs.get(0));
+        String text2 = String.join("\n\n", paragraphs.get(0), paragraphs.get(1));
+
+        List<AlignedSegment> segments = align(text1, text2);
+        assertEquals(2, segments.size());
+        assertEquals(0, segments.get(0).paragraph1());
+        assertEquals(0, segments.get(0).paragraph2());
+        assertEquals(1, segments.get(1).paragraph1());
+    }
+
+    @Test
+    void overLongParagraphsAlignSentenceBlockBySentenceBlock() {
+        // No blank lines at all: both texts are cut at sentence ends into ~200-char blocks
+        List<String> sentences = new ArrayList<>();
+        for (int s = 0; s < 30; s++) {
+            sentences.add(Texts.words(random, 12));
+        }
+        String text1 = String.join(" ", sentences);
+        List<String> edited = new ArrayList<>(sentences);
+        edited.set(15, Texts.replaceWord(sentences.get(15), 5, "x".repeat(sentences.get(15).split(" ")[5].length())));
+        String text2 = String.join(" ", edited);
+
+        ParagraphFingerprints a = ParagraphFingerprints.of(text1, 200);
+        ParagraphFingerprints b = ParagraphFingerprints.of(text2, 200);
+        assertTrue(a.paragraphCount() > 5);
+        assertEquals(a.paragraphCount(), b.paragraphCount()); // same lengths, same cuts
+
+        List<AlignedSegment> segments = ParagraphAligner.align(a, b, THRESHOLD);
+        assertEquals(a.paragraphCount(), segments.size());
+        long similar = segments.stream().filter(s -> s.type() == AlignedSegment.Type.SIMILAR).count();
+        assertEquals(1, similar);
+        assertTrue(segments.stream().noneMatch(AlignedSegment::moved));
+    }
+
+    @Test
+    void sharedBoilerplateDoesNotMakeParagraphsSimilar() {
+        String boilerplate = "Having heard learned counsel for the parties and perused the record of the case";
+        List<String> paragraphs1 = new ArrayList<>();
+        List<String> paragraphs2 = new ArrayList<>();
+        for (int p = 0; p < 100; p++) {
+            paragraphs1.add(boilerplate + " " + Texts.words(random, 20));
+            paragraphs2.add(boilerplate + " " + Texts.words(random, 20));
+        }
+        // One real near-copy among them
+        paragraphs2.set(70, Texts.replaceWord(paragraphs1.get(30), 20, "varied"));
+
+        List<AlignedSegment> segments = align(String.join("\n\n", paragraphs1), String.join("\n\n", paragraphs2));
+        assertEquals(1, segments.size());
+        assertEquals(AlignedSegment.Type.SIMILAR, segments.get(0).type());
+        assertEquals(30, segments.get(0).paragraph1());
+        assertEquals(70, segments.get(0).paragraph2());
+    }
+
+    @Test
+    void headingsAreNeverMatched() {
+        List<AlignedSegment> segments = align("ORDER\n\nAppeal allowed", "ORDER\n\nAppeal allowed");
+        assertTrue(segments.isEmpty());
+    }
+
+    private List<String> paragraphs(int count) {
+        List<String> paragraphs = new ArrayList<>();
+        for (int p = 0; p < count; p++) {
+            paragraphs.add(Texts.words(random, 60));
+        }
+        return paragraphs;
+    }
+
+    private static List<AlignedSegment> align(String text1, String text2) {
+        return ParagraphAligner.align(
+                ParagraphFingerprints.of(text1, MAX_PARAGRAPH_CHARS),
+                ParagraphFingerprints.of(text2, MAX_PARAGRAPH_CHARS),
+                THRESHOLD);
+    }
+}
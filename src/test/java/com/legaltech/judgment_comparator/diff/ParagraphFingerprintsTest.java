@@ -0,0 +1,86 @@
+package com.legaltech.judgment_comparator.diff;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ParagraphFingerprintsTest {
+
+    @Test
+    void blankLinesSplitParagraphsAndOffsetsSkipTheBlanks() {
+        String text = "  The appeal is dismissed.\nCosts follow.\n\nSecond paragraph here.\n \t\n\n\nThird one.\n";
+        ParagraphFingerprints fingerprints = ParagraphFingerprints.of(text, 2000);
+
+        assertEquals(3, fingerprints.paragraphCount());
+        assertEquals("The appeal is dismissed.\nCosts follow.", paragraph(text, fingerprints, 0));
+        assertEquals("Second paragraph here.", paragraph(text, fingerprints, 1));
+        assertEquals("Third one.", paragraph(text, fingerprints, 2));
+        assertEquals(6, fingerprints.wordCount(0));
+        assertEquals(text.length(), fingerprints.length());
+        assertEquals(0, ParagraphFingerprints.of("  \n\n ", 2000).paragraphCount());
+    }
+
+    @Test
+    void exactHashIgnoresCasePunctuationAndSpacing() {
+        ParagraphFingerprints a = ParagraphFingerprints.of("The appeal is dismissed.", 2000);
+        ParagraphFingerprints b = ParagraphFingerprints.of("the APPEAL,  is\ndismissed", 2000);
+        ParagraphFingerprints c = ParagraphFingerprints.of("The appeal is allowed.", 2000);
+        ParagraphFingerprints d = ParagraphFingerprints.of("Dismissed is the appeal.", 2000);
+
+        assertEquals(a.exactHash(0), b.exactHash(0));
+        assertNotEquals(a.exactHash(0), c.exactHash(0));
+        assertNotEquals(a.exactHash(0), d.exactHash(0)); // word order counts
+        assertEquals(1.0, ParagraphFingerprints.similarity(a, 0, b, 0));
+    }
+
+    @Test
+    void overLongParagraphIsCutAtSentenceEnds() {
+        String sentence = "The respondent relied on the earlier decision of this court. ";
+        String text = sentence.repeat(20).trim();
+        ParagraphFingerprints fingerprints = ParagraphFingerprints.of(text, 200);
+
+        assertTrue(fingerprints.paragraphCount() > 1);
+        for (int p = 0; p < fingerprints.paragraphCount(); p++) {
+            String paragraph = paragraph(text, fingerprints, p);
+            assertTrue(paragraph.startsWith("The respondent"), paragraph);
+            assertTrue(paragraph.endsWith("court."), paragraph);
+            assertTrue(paragraph.length() < 200 + sentence.length(), paragraph);
+        }
+        assertEquals(text.length(), fingerprints.end(fingerprints.paragraphCount() - 1));
+
+        // No sentence end to cut at: stays whole
+        String run = "word ".repeat(200).trim();
+        assertEquals(1, ParagraphFingerprints.of(run, 200).paragraphCount());
+    }
+
+    @Test
+    void similarityEstimatesShingleOverlap() {
+        String words = Texts.words(new Random(3), 80);
+        String edited = Texts.replaceWord(words, 40, "quashed");
+        ParagraphFingerprints a = ParagraphFingerprints.of(words, 2000);
+        ParagraphFingerprints b = ParagraphFingerprints.of(edited, 2000);
+        ParagraphFingerprints other = ParagraphFingerprints.of(Texts.words(new Random(4), 80), 2000);
+
+        assertEquals(ParagraphFingerprints.SKETCH_SIZE, a.sketchEnd(0) - a.sketchStart(0));
+        assertEquals(1.0, ParagraphFingerprints.similarity(a, 0, a, 0));
+        // 3 of 78 shingles differ: Jaccard about 0.93
+        assertTrue(ParagraphFingerprints.similarity(a, 0, b, 0) > 0.75);
+        assertTrue(ParagraphFingerprints.similarity(a, 0, other, 0) < 0.1);
+    }
+
+    @Test
+    void shortParagraphsGetOneShingleOfAllTheirWords() {
+        ParagraphFingerprints fingerprints = ParagraphFingerprints.of("ORDER\n\nAppeal allowed", 2000);
+        assertEquals(1, fingerprints.wordCount(0));
+        assertEquals(1, fingerprints.sketchEnd(0) - fingerprints.sketchStart(0));
+        assertEquals(1, fingerprints.sketchEnd(1) - fingerprints.sketchStart(1));
+    }
+
+    private static String paragraph(String text, ParagraphFingerprints fingerprints, int p) {
+        return text.substring(fingerprints.start(p), fingerprints.end(p));
+    }
+}
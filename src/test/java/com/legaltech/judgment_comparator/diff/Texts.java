@@ -0,0 +1,35 @@
+package com.legaltech.judgment_comparator.diff;
+
+import java.util.Random;
+
+/**
+ * Made-up paragraphs for the diff tests
+ */
+final class Texts {
+
+    private Texts() {
+    }
+
+    /**
+     * count random lower-case words of 4 to 9 letters, ending with a full stop
+     */
+    static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < count; w++) {
+            if (w > 0) {
+                text.append(' ');
+            }
+            int length = 4 + random.nextInt(6);
+            for (int i = 0; i < length; i++) {
+                text.append((char) ('a' + random.nextInt(26)));
+            }
+        }
+        return text.append('.').toString();
+    }
+
+    static String replaceWord(String text, int index, String word) {
+        String[] words = text.split(" ");
+        words[index] = word;
+        return String.join(" ", words);
+    }
+}
@@ -0,0 +1,37 @@
+package com.legaltech.judgment_comparator.exception;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class GlobalExceptionHandlerTest {
+
+    private final GlobalExceptionHandler handler = new GlobalExceptionHandler();
+
+    @Test
+    void fullDatabaseBulkheadIs503EvenWhenWrappedByTheTransactionManager() {
+        // What JpaTransactionManager.doBegin throws when BulkheadDataSource.getConnection gives up
+        CannotCreateTransactionException ex = new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction", new BulkheadFullException("database"));
+
+        ResponseEntity<Map<String, Object>> response = handler.handleCannotCreateTransaction(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, response.getStatusCode());
+        assertEquals("1", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("Server busy (database), please retry", response.getBody().get("message"));
+    }
+
+    @Test
+    void otherTransactionFailuresKeepTheRuntimeMapping() {
+        CannotCreateTransactionException ex = new CannotCreateTransactionException(
+                "Could not open JPA EntityManager for transaction", new IllegalStateException("closed"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, handler.handleCannotCreateTransaction(ex).getStatusCode());
+    }
+}
@@ -0,0 +1,92 @@
+package com.legaltech.judgment_comparator.index;
+
+import com.legaltech.judgment_comparator.analysis.ContentFingerprint;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class DuplicateIndexTest {
+
+    private static final long SIM_HASH = 0x9E3779B97F4A7C15L;
+
+    private final DuplicateIndex index = new DuplicateIndex(3);
+
+    @Test
+    void exactCopyWithDifferentWhitespaceIsFound() {
+        index.add(1, ContentFingerprint.of("The appeal is dismissed with costs."));
+        index.add(2, ContentFingerprint.of("The appeal is allowed."));
+
+        Optional<DuplicateIndex.Match> match = index.find(ContentFingerprint.of("The appeal\n  is dismissed\twith costs.\n"));
+        assertEquals(Optional.of(new DuplicateIndex.Match(1, true, 0)), match);
+
+        // Same text twice: the lower id is reported
+        index.add(0, ContentFingerprint.of("The appeal is allowed."));
+        assertEquals(Optional.of(new DuplicateIndex.Match(0, true, 0)),
+                index.find(ContentFingerprint.of("The appeal is allowed.")));
+    }
+
+    @Test
+    void nearCopyWithinMaxDistanceIsFound() {
+        index.add(1, fingerprint("a", SIM_HASH));
+
+        // Three bits in one block, and one bit in each of three blocks
+        assertEquals(Optional.of(new DuplicateIndex.Match(1, false, 3)),
+                index.find(fingerprint("b", SIM_HASH ^ 0b111)));
+        assertEquals(Optional.of(new DuplicateIndex.Match(1, false, 3)),
+                index.find(fingerprint("c", SIM_HASH ^ (1L | 1L << 20 | 1L << 40))));
+        assertEquals(Optional.of(new DuplicateIndex.Match(1, false, 0)),
+                index.find(fingerprint("d", SIM_HASH)));
+    }
+
+    @Test
+    void closestCandidateWinsThenLowestId() {
+        index.add(7, fingerprint("a", SIM_HASH ^ 0b11));
+        index.add(5, fingerprint("b", SIM_HASH ^ 1L << 63));
+        index.add(3, fingerprint("c", SIM_HASH ^ 1L << 30));
+        assertEquals(Optional.of(new DuplicateIndex.Match(3, false, 1)), index.find(fingerprint("x", SIM_HASH)));
+    }
+
+    @Test
+    void nonMatchBeyondMaxDistanceIsNotFound() {
+        index.add(1, fingerprint("a", SIM_HASH));
+        assertEquals(Optional.empty(), index.find(fingerprint("b", SIM_HASH ^ 0b1111)));
+        // One bit in every block: no block is shared
+        assertEquals(Optional.empty(), index.find(fingerprint("c", SIM_HASH ^ (1L | 1L << 16 | 1L << 32 | 1L << 48))));
+        assertEquals(Optional.empty(), index.find(fingerprint("d", ~SIM_HASH)));
+    }
+
+    @Test
+    void removeAndReplaceForgetTheOldFingerprint() {
+        index.add(1, fingerprint("a", SIM_HASH));
+        index.add(2, fingerprint("b", ~SIM_HASH));
+        assertEquals(2, index.size());
+
+        index.remove(1);
+        index.remove(42);
+        assertEquals(1, index.size());
+        assertEquals(Optional.empty(), index.find(fingerprint("a", SIM_HASH)));
+
+        index.add(2, fingerprint("c", SIM_HASH));
+        assertEquals(1, index.size());
+        assertEquals(Optional.empty(), index.find(fingerprint("b", ~SIM_HASH)));
+        assertEquals(Optional.of(new DuplicateIndex.Match(2, true, 0)), index.find(fingerprint("c", 0)));
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(Optional.empty(), index.find(fingerprint("c", SIM_HASH)));
+    }
+
+    @Test
+    void maxDistanceIsBounded() {
+        assertEquals(15, new DuplicateIndex(15).maxDistance());
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateIndex(-1));
+        assertThrows(IllegalArgumentException.class, () -> new DuplicateIndex(16));
+    }
+
+    private static ContentFingerprint fingerprint(String contentHash, long simHash) {
+        return new ContentFingerprint(contentHash, simHash);
+    }
+}
@@ -0,0 +1,162 @@
+package com.legaltech.judgment_comparator.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdBitmapTest {
+
+    private static final long HIGH = 3L << 16;
+
+    @Test
+    void containerSwitchesToBitsAbove4096AndBackAtOrBelow() {
+        IdBitmap bitmap = new IdBitmap();
+        for (long low = 0; low < 4096; low++) {
+            bitmap.add(HIGH | low * 16);
+        }
+        assertEquals(4096, bitmap.cardinality());
+
+        bitmap.add(HIGH | 1);            // 4097th: becomes a bit set
+        bitmap.add(HIGH | 1);            // repeat is ignored
+        assertEquals(4097, bitmap.cardinality());
+        assertTrue(bitmap.contains(HIGH | 1));
+        assertTrue(bitmap.contains(HIGH | 65520));
+        assertFalse(bitmap.contains(HIGH | 2));
+
+        bitmap.remove(HIGH | 1);         // back to 4096: an array again
+        bitmap.remove(HIGH | 1);
+        assertEquals(4096, bitmap.cardinality());
+        assertFalse(bitmap.contains(HIGH | 1));
+        assertEquals(expected(bitmap), ids(bitmap));
+
+        bitmap.add(HIGH | 7);            // and up again
+        assertEquals(4097, bitmap.cardinality());
+        assertTrue(bitmap.contains(HIGH | 7));
+    }
+
+    @Test
+    void removingTheLastIdDropsTheContainer() {
+        IdBitmap bitmap = new IdBitmap();
+        bitmap.add(5);
+        bitmap.add(HIGH | 5);
+        bitmap.remove(5);
+        bitmap.remove(HIGH | 5);
+        assertTrue(bitmap.isEmpty());
+        assertEquals(0, bitmap.cardinality());
+        assertArrayEquals(new long[0], bitmap.idsAfter(0, 10));
+
+        // Same for a bit-set container
+        for (long low = 0; low < 5000; low++) {
+            bitmap.add(HIGH | low);
+        }
+        for (long low = 0; low < 5000; low++) {
+            bitmap.remove(HIGH | low);
+        }
+        assertTrue(bitmap.isEmpty());
+        bitmap.add(HIGH | 9);
+        assertEquals(List.of(HIGH | 9), ids(bitmap));
+    }
+
+    @Test
+    void idsAfterCrossesContainerBoundaries() {
+        IdBitmap sparse = IdBitmap.of(List.of(0xFFFEL, 0xFFFFL, 0x10000L, 0x10001L, 0x30000L));
+        assertArrayEquals(new long[]{0xFFFFL, 0x10000L, 0x10001L}, sparse.idsAfter(0xFFFEL, 3));
+        assertArrayEquals(new long[]{0x10000L, 0x10001L, 0x30000L}, sparse.idsAfter(0xFFFFL, 10));
+        assertArrayEquals(new long[]{0x30000L}, sparse.idsAfter(0x20000L, 10));
+        assertArrayEquals(new long[0], sparse.idsAfter(0x30000L, 10));
+
+        // Dense containers: the last low value of one and the first of the next
+        IdBitmap dense = new IdBitmap();
+        for (long id = 0xF000L; id < 0x11000L; id++) {
+            dense.add(id);
+        }
+        assertArrayEquals(new long[]{0xFFFFL, 0x10000L}, dense.idsAfter(0xFFFEL, 2));
+        assertArrayEquals(new long[]{0x10000L, 0x10001L}, dense.idsAfter(0xFFFFL, 2));
+        assertArrayEquals(new long[]{0xF000L}, dense.idsAfter(0, 1));
+    }
+
+    @Test
+    void pagingWithIdsAfterVisitsEveryIdOnce() {
+        IdBitmap bitmap = randomBitmap(new Random(42), 30_000, 5 << 16);
+        List<Long> paged = new ArrayList<>();
+        long after = 0;
+        long[] page;
+        while ((page = bitmap.idsAfter(after, 777)).length > 0) {
+            for (long id : page) {
+                paged.add(id);
+            }
+            after = page[page.length - 1];
+        }
+        assertEquals(ids(bitmap), paged);
+    }
+
+    @Test
+    void andOrAndCardinalityMatchSetOperations() {
+        Random random = new Random(7);
+        // Mixes sparse (array) and dense (bit set) containers on both sides
+        IdBitmap a = randomBitmap(random, 20_000, 4 << 16);
+        IdBitmap b = randomBitmap(random, 3_000, 4 << 16);
+        for (long id = 2L << 16; id < (2L << 16) + 10_000; id++) {
+            a.add(id);
+            if (id % 3 == 0) {
+                b.add(id);
+            }
+        }
+        NavigableSet<Long> setA = new TreeSet<>(ids(a));
+        NavigableSet<Long> setB = new TreeSet<>(ids(b));
+
+        NavigableSet<Long> both = new TreeSet<>(setA);
+        both.retainAll(setB);
+        NavigableSet<Long> either = new TreeSet<>(setA);
+        either.addAll(setB);
+
+        assertEquals(new ArrayList<>(both), ids(a.and(b)));
+        assertEquals(new ArrayList<>(both), ids(b.and(a)));
+        assertEquals(both.size(), a.andCardinality(b));
+        assertEquals(new ArrayList<>(either), ids(a.or(b)));
+        assertEquals(either.size(), b.or(a).cardinality());
+
+        // Results are independent of their inputs
+        IdBitmap union = a.or(b);
+        IdBitmap copy = a.copy();
+        a.add(999_999);
+        assertFalse(union.contains(999_999));
+        assertFalse(copy.contains(999_999));
+    }
+
+    private static IdBitmap randomBitmap(Random random, int count, long bound) {
+        IdBitmap bitmap = new IdBitmap();
+        for (int i = 0; i < count; i++) {
+            bitmap.add(1 + (long) (random.nextDouble() * bound));
+        }
+        return bitmap;
+    }
+
+    private static List<Long> ids(IdBitmap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+
+    /**
+     * Every id the bitmap claims to contain, found by probing rather than iterating
+     */
+    private static List<Long> expected(IdBitmap bitmap) {
+        List<Long> ids = new ArrayList<>();
+        for (long low = 0; low <= 0xFFFF; low++) {
+            if (bitmap.contains(HIGH | low)) {
+                ids.add(HIGH | low);
+            }
+        }
+        return ids;
+    }
+}
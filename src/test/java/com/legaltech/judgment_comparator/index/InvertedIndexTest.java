@@ -0,0 +1,101 @@
+package com.legaltech.judgment_comparator.index;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(1, Map.of("constitution", 2, "article", 1));
+        index.add(2, Map.of("constitutional", 1, "article", 3, "liberty", 1));
+        index.add(3, Map.of("contract", 4));
+    }
+
+    @Test
+    void exactTermsAreIntersected() {
+        assertEquals(List.of(2L, 1L), index.search(List.of("article"), false, 10));
+        assertEquals(List.of(2L), index.search(List.of("article", "liberty"), false, 10));
+        assertEquals(List.of(), index.search(List.of("article", "contract"), false, 10));
+        assertEquals(List.of(), index.search(List.of("unknown"), false, 10));
+    }
+
+    @Test
+    void onlyTheLastTermMatchesAsPrefix() {
+        assertEquals(List.of(1L, 2L), index.search(List.of("constitu"), true, 10));
+        assertEquals(List.of(), index.search(List.of("constitu"), false, 10));
+        assertEquals(List.of(), index.search(List.of("constitu", "article"), true, 10));
+        assertEquals(List.of(2L), index.search(List.of("liberty", "constitu"), true, 10));
+    }
+
+    @Test
+    void scoreIsTheSumOfMatchedFrequencies() {
+        // 1: constitution 2 + article 1 = 3, 2: constitutional 1 + article 3 = 4
+        assertEquals(List.of(2L, 1L), index.search(List.of("article", "con"), true, 10));
+        // tie on score: lower id first
+        index.add(4, Map.of("liberty", 1));
+        assertEquals(List.of(2L, 4L), index.search(List.of("liberty"), false, 10));
+    }
+
+    @Test
+    void limitCapsTheResults() {
+        assertEquals(List.of(3L), index.search(List.of("con"), true, 1));
+        assertEquals(List.of(), index.search(List.of("con"), true, 0));
+        assertEquals(List.of(), index.search(List.of(), true, 10));
+    }
+
+    @Test
+    void addReplacesAndRemoveDropsEmptyTerms() {
+        index.add(1, Map.of("contract", 1));
+        assertEquals(List.of(2L), index.search(List.of("article"), false, 10));
+        assertEquals(List.of(3L, 1L), index.search(List.of("contract"), false, 10));
+        assertEquals(3, index.documentCount());
+
+        index.remove(2);
+        index.remove(42);
+        assertEquals(List.of(), index.search(List.of("liberty"), false, 10));
+        assertEquals(2, index.documentCount());
+        assertEquals(1, index.termCount());
+
+        index.clear();
+        assertEquals(0, index.documentCount());
+        assertEquals(0, index.termCount());
+    }
+
+    @Test
+    void matchingReturnsEveryHitUncapped() {
+        InvertedIndex large = new InvertedIndex();
+        for (int i = 1; i <= 5000; i++) {
+            large.add(i, i % 2 == 0 ? Map.of("appeal", 1, "bail", 1) : Map.of("appeal", 1));
+        }
+        assertEquals(10, large.search(List.of("appeal"), false, 10).size());
+        assertEquals(5000, large.matching(List.of("appeal"), false).cardinality());
+        assertEquals(2500, large.matching(List.of("appeal", "ba"), true).cardinality());
+        assertEquals(0, large.matching(List.of("ba"), false).cardinality());
+        assertEquals(0, large.matching(List.of(), true).cardinality());
+    }
+
+    @Test
+    void prefixExpansionIsCapped() {
+        InvertedIndex wide = new InvertedIndex();
+        for (int i = 0; i < 100; i++) {
+            Map<String, Integer> terms = new HashMap<>();
+            terms.put(String.format("term%03d", i), 1);
+            wide.add(i, terms);
+        }
+        // terms are visited in sorted order, so only term000..term063 are expanded
+        List<Long> hits = wide.search(List.of("term"), true, 1000);
+        assertEquals(64, hits.size());
+        assertEquals(0L, hits.get(0));
+        assertEquals(63L, hits.get(63));
+    }
+}
@@ -0,0 +1,94 @@
+package com.legaltech.judgment_comparator.index;
+
+import com.legaltech.judgment_comparator.analysis.MinHash;
+import org.junit.jupiter.api.Test;
+
+import java.nio.IntBuffer;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LshIndexTest {
+
+    private static final int BANDS = 16;
+    private static final int ROWS = 4;
+
+    private final MinHash minHash = new MinHash(BANDS * ROWS, 0x5EEDL);
+    private final LshIndex index = new LshIndex(BANDS, ROWS);
+
+    @Test
+    void sharedBandMakesCandidates() {
+        int[] signature = new int[BANDS * ROWS];
+        int[] other = new int[BANDS * ROWS];
+        for (int i = 0; i < other.length; i++) {
+            signature[i] = i;
+            other[i] = i < ROWS ? i : -i; // same first band only
+        }
+        index.add(1, signature);
+        index.add(2, other);
+        index.add(3, IntStream.range(0, BANDS * ROWS).map(i -> -i - 1).toArray());
+
+        assertEquals(Set.of(2L), index.candidates(1));
+        assertEquals(Set.of(1L), index.candidates(2));
+        assertEquals(Set.of(), index.candidates(3));
+        assertEquals(Set.of(), index.candidates(42));
+    }
+
+    @Test
+    void nearCopiesCollideAndUnrelatedSetsDoNot() {
+        index.add(1, signature(0, 200));
+        index.add(2, signature(0, 190));    // Jaccard 0.95
+        index.add(3, signature(1000, 1200)); // disjoint, and no term 0 this time
+        index.add(4, signature(0, 1));       // term 0 alone
+
+        assertEquals(Set.of(2L), index.candidates(1));
+        assertEquals(Set.of(), index.candidates(3));
+        assertEquals(Set.of(), index.candidates(4));
+    }
+
+    @Test
+    void termZeroDoesNotPutEverythingInOneBucket() {
+        // Disjoint apart from term 0: no pair should collide
+        for (int doc = 0; doc < 50; doc++) {
+            int from = 1 + doc * 20;
+            int[] terms = IntStream.concat(IntStream.of(0), IntStream.range(from, from + 20)).toArray();
+            index.add(doc, minHash.signature(IntBuffer.wrap(terms)));
+        }
+        int candidates = 0;
+        for (int doc = 0; doc < 50; doc++) {
+            candidates += index.candidates(doc).size();
+        }
+        assertTrue(candidates < 50, "too many candidates: " + candidates);
+    }
+
+    @Test
+    void addReplacesAndRemoveForgets() {
+        index.add(1, signature(0, 100));
+        index.add(2, signature(0, 100));
+        assertEquals(Set.of(2L), index.candidates(1));
+
+        index.add(2, signature(500, 600));
+        assertEquals(Set.of(), index.candidates(1));
+
+        index.add(3, signature(0, 100));
+        index.remove(3);
+        index.remove(42);
+        assertEquals(Set.of(), index.candidates(1));
+
+        index.clear();
+        assertEquals(Set.of(), index.candidates(2));
+    }
+
+    @Test
+    void shortSignatureIsRejected() {
+        assertEquals(BANDS * ROWS, index.signatureLength());
+        assertThrows(IllegalArgumentException.class, () -> index.add(1, new int[BANDS * ROWS - 1]));
+    }
+
+    private int[] signature(int from, int to) {
+        return minHash.signature(IntBuffer.wrap(IntStream.range(from, to).toArray()));
+    }
+}
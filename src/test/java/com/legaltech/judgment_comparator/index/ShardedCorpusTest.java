@@ -0,0 +1,67 @@
+package com.legaltech.judgment_comparator.index;
+
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+import com.legaltech.judgment_comparator.analysis.TermDictionary;
+import com.legaltech.judgment_comparator.similarity.JaccardSimilarityEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ShardedCorpusTest {
+
+    private final TermDictionary dictionary = new TermDictionary();
+    private final ShardedCorpus corpus = new ShardedCorpus(3);
+    private final ForkJoinPool pool = new ForkJoinPool(2);
+    private JudgmentAnalysis query;
+
+    @BeforeEach
+    void setUp() {
+        corpus.add(1, analysis(1, "appeal against conviction dismissed"), "Supreme Court ", 2001);
+        corpus.add(2, analysis(2, "appeal against sentence dismissed"), "supreme court", 2010);
+        corpus.add(3, analysis(3, "appeal against conviction allowed"), "High Court", 2001);
+        corpus.add(4, analysis(4, "contract damages awarded"), "SUPREME COURT", 2020);
+        query = analysis(0, "appeal against conviction dismissed");
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void courtFilterComparesCourtKeys() {
+        assertEquals(List.of(1L, 2L, 4L), ids(new ShardedCorpus.Filter("  Supreme Court", null, null), 10));
+        assertEquals(List.of(3L), ids(new ShardedCorpus.Filter("high court", null, null), 10));
+        assertEquals(List.of(), ids(new ShardedCorpus.Filter("Court of Appeal", null, null), 10));
+    }
+
+    @Test
+    void yearBoundsAreInclusive() {
+        assertEquals(List.of(1L, 2L, 3L), ids(new ShardedCorpus.Filter(null, 2001, 2010), 10));
+        assertEquals(List.of(1L, 2L), ids(new ShardedCorpus.Filter("supreme court", 2000, 2010), 10));
+    }
+
+    @Test
+    void topKIsBestFirstAndSkipsTheQuery() {
+        corpus.add(0, query, "Supreme Court", 2001);
+        assertEquals(List.of(1L, 2L), ids(new ShardedCorpus.Filter(null, null, null), 2));
+
+        corpus.remove(1);
+        assertEquals(List.of(2L, 3L), ids(new ShardedCorpus.Filter(null, null, null), 2)); // tie: lower id first
+    }
+
+    private List<Long> ids(ShardedCorpus.Filter filter, int k) {
+        return corpus.topK(query, filter, new JaccardSimilarityEngine(), k, pool).stream()
+                .map(ScoredJudgment::id)
+                .toList();
+    }
+
+    private JudgmentAnalysis analysis(long id, String text) {
+        return JudgmentAnalysis.of(id, text, dictionary);
+    }
+}
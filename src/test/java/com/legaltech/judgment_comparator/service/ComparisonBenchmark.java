@@ -0,0 +1,188 @@
+package com.legaltech.judgment_comparator.service;
+
+import com.legaltech.judgment_comparator.analysis.DocumentFrequencies;
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+import com.legaltech.judgment_comparator.analysis.KeywordDictionary;
+import com.legaltech.judgment_comparator.analysis.TermDictionary;
+import com.legaltech.judgment_comparator.analysis.TermScanner;
+import com.legaltech.judgment_comparator.benchmark.SyntheticCorpus;
+import com.legaltech.judgment_comparator.dto.JudgmentSummary;
+import com.legaltech.judgment_comparator.entity.Judgment;
+import com.legaltech.judgment_comparator.similarity.JaccardSimilarityEngine;
+import com.legaltech.judgment_comparator.similarity.SimilarityEngine;
+import com.legaltech.judgment_comparator.similarity.TfIdfSimilarityEngine;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building blocks of POST /api/judgments/compare on synthetic judgments
+ *
+ * analyze is the per-judgment cost paid once at save time (or on compare for unindexed rows);
+ * calculateSimilarity is what every compare pays afterwards. The benchmark profile runs
+ * with -prof gc, so gc.alloc.rate.norm shows the bytes allocated per operation.
+ * It lives in the service package because the compare helpers it measures are package-private.
+ *
+ * Run: mvn -Pbenchmark test -Djmh.includes=ComparisonBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class ComparisonBenchmark {
+
+    /**
+     * Keyword ids of the Metadata judgments
+     */
+    private static final KeywordDictionary KEYWORDS = new KeywordDictionary();
+
+    /**
+     * Judgments in the background corpus the TF-IDF document frequencies come from
+     */
+    private static final int CORPUS_SIZE = 200;
+
+    /**
+     * Two judgments on the same topic, 1 KB to 500 KB of text each
+     */
+    @State(Scope.Benchmark)
+    public static class Texts {
+
+        @Param({"1024", "16384", "131072", "524288"})
+        public int textBytes;
+
+        String text1;
+        String text2;
+        JudgmentAnalysis analysis1;
+        JudgmentAnalysis analysis2;
+        TermDictionary dictionary;
+        SyntheticCorpus corpus;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            corpus = new SyntheticCorpus(7, 50_000);
+            text1 = corpus.text(textBytes, "arbitration");
+            text2 = corpus.text(textBytes, "arbitration");
+            dictionary = new TermDictionary();
+            analysis1 = JudgmentAnalysis.of(1, text1, dictionary);
+            analysis2 = JudgmentAnalysis.of(2, text2, dictionary);
+        }
+    }
+
+    /**
+     * Similarity engine, with document frequencies from the two texts plus a background corpus
+     */
+    @State(Scope.Benchmark)
+    public static class Scoring {
+
+        @Param({JaccardSimilarityEngine.NAME, TfIdfSimilarityEngine.NAME})
+        public String engineName;
+
+        SimilarityEngine engine;
+
+        @Setup(Level.Trial)
+        public void setUp(Texts texts) {
+            DocumentFrequencies documentFrequencies = new DocumentFrequencies();
+            documentFrequencies.add(texts.analysis1.termIds());
+            documentFrequencies.add(texts.analysis2.termIds());
+            for (int i = 0; i < CORPUS_SIZE; i++) {
+                String text = texts.corpus.next(4096).getJudgmentText();
+                documentFrequencies.add(JudgmentAnalysis.of(i + 3, text, texts.dictionary).termIds());
+            }
+            engine = engineName.equals(TfIdfSimilarityEngine.NAME)
+                    ? new TfIdfSimilarityEngine(documentFrequencies)
+                    : new JaccardSimilarityEngine();
+        }
+    }
+
+    /**
+     * Judgment metadata (keywords, verdicts, court) as stored
+     */
+    @State(Scope.Benchmark)
+    public static class Metadata {
+
+        JudgmentSummary summary1;
+        JudgmentSummary summary2;
+        int[] keywordIds1;
+        int[] keywordIds2;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            SyntheticCorpus corpus = new SyntheticCorpus(11, 1_000);
+            summary1 = JudgmentSummary.from(withId(corpus.next(64), 1L));
+            summary2 = JudgmentSummary.from(withId(corpus.next(64), 2L));
+            keywordIds1 = keywordIds(summary1.keywords());
+            keywordIds2 = keywordIds(summary2.keywords());
+        }
+
+        /**
+         * Sorted ids, as stored for a saved judgment
+         */
+        private static int[] keywordIds(String keywords) {
+            List<String> names = KeywordDictionary.parse(keywords);
+            for (String name : names) {
+                if (KEYWORDS.idOf(name) == null) {
+                    KEYWORDS.add(KEYWORDS.size() + 1, name);
+                }
+            }
+            return KEYWORDS.idsOf(names);
+        }
+
+        private static Judgment withId(Judgment judgment, long id) {
+            judgment.setId(id);
+            return judgment;
+        }
+    }
+
+    @Benchmark
+    public JudgmentAnalysis analyze(Texts texts) {
+        return JudgmentAnalysis.of(1, texts.text1, texts.dictionary);
+    }
+
+    /**
+     * Tokenizing alone: case-folded terms interned into the scanner's id buffer
+     */
+    @Benchmark
+    public int scanTerms(Texts texts) {
+        return TermScanner.forCurrentThread().scan(texts.text1, 4, texts.dictionary);
+    }
+
+    /**
+     * The previous tokenization (toLowerCase copy + regex split + a String per word), for comparison
+     */
+    @Benchmark
+    public int[] analyzeWithSplit(Texts texts) {
+        String[] words = texts.text1.toLowerCase(Locale.ROOT).split("\\s+");
+        int[] ids = new int[words.length];
+        int n = 0;
+        for (String word : words) {
+            if (word.length() > 3) {
+                ids[n++] = texts.dictionary.intern(word);
+            }
+        }
+        return Arrays.stream(ids, 0, n).sorted().distinct().toArray();
+    }
+
+    @Benchmark
+    public double calculateSimilarity(Texts texts, Scoring scoring) {
+        return JudgmentService.calculateSimilarity(scoring.engine, texts.analysis1, texts.analysis2);
+    }
+
+    @Benchmark
+    public List<String> findCommonKeywords(Metadata metadata) {
+        return JudgmentService.findCommonKeywords(KEYWORDS, metadata.keywordIds1, metadata.keywordIds2);
+    }
+
+    @Benchmark
+    public boolean isSameVerdictType(Metadata metadata) {
+        return JudgmentService.isSameVerdictType(metadata.summary1.verdict(), metadata.summary2.verdict());
+    }
+
+    @Benchmark
+    public String generateConclusion(Metadata metadata) {
+        return JudgmentService.generateConclusion(55.5, metadata.summary1, metadata.summary2);
+    }
+}
@@ -0,0 +1,42 @@
+package com.legaltech.judgment_comparator.similarity;
+
+import com.legaltech.judgment_comparator.analysis.DocumentFrequencies;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SimilarityEnginesTest {
+
+    private final SimilarityEngines engines = new SimilarityEngines(
+            List.of(new JaccardSimilarityEngine(), new TfIdfSimilarityEngine(new DocumentFrequencies())),
+            JaccardSimilarityEngine.NAME);
+
+    @Test
+    void namesAreCaseInsensitiveUnderAnyDefaultLocale() {
+        Locale previous = Locale.getDefault();
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR")); // "I".toLowerCase() is a dotless ı here
+            assertEquals(TfIdfSimilarityEngine.NAME, engines.get("TFIDF").name());
+            assertEquals(JaccardSimilarityEngine.NAME, engines.get("Jaccard").name());
+        } finally {
+            Locale.setDefault(previous);
+        }
+    }
+
+    @Test
+    void blankSelectsTheDefault() {
+        assertEquals(JaccardSimilarityEngine.NAME, engines.get(null).name());
+        assertEquals(JaccardSimilarityEngine.NAME, engines.get(" ").name());
+    }
+
+    @Test
+    void unknownNameIsRejected() {
+        assertThrows(RuntimeException.class, () -> engines.get("cosine"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new SimilarityEngines(List.of(new JaccardSimilarityEngine()), "cosine"));
+    }
+}
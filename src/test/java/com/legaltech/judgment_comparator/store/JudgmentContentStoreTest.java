@@ -0,0 +1,105 @@
+package com.legaltech.judgment_comparator.store;
+
+import com.legaltech.judgment_comparator.analysis.JudgmentAnalysis;
+import com.legaltech.judgment_comparator.analysis.TermDictionary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JudgmentContentStoreTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void textAndTermsSurviveReopening() throws IOException {
+        TermDictionary dictionary = new TermDictionary();
+        JudgmentContentStore store = open(dictionary, false, 1 << 20);
+        long pointer = append(store, dictionary, "The appeal is dismissed with costs.");
+        int appealId = dictionary.intern("appeal");
+        store.close();
+
+        TermDictionary restored = new TermDictionary();
+        JudgmentContentStore reopened = open(restored, false, 1 << 20);
+        assertEquals("The appeal is dismissed with costs.", reopened.text(pointer).toString());
+        assertEquals(appealId, restored.intern("appeal"));
+        assertEquals(dictionary.size(), restored.size());
+    }
+
+    @Test
+    void syncedRecordsRollOverIntoNewSegments() throws IOException {
+        TermDictionary dictionary = new TermDictionary();
+        JudgmentContentStore store = open(dictionary, true, 4096);
+        List<Long> pointers = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            pointers.add(append(store, dictionary, "Judgment number " + i + " on limitation. ".repeat(20)));
+        }
+        assertTrue(store.segmentCount() > 1);
+        store.close();
+
+        JudgmentContentStore reopened = open(new TermDictionary(), true, 4096);
+        for (int i = 0; i < pointers.size(); i++) {
+            assertEquals("Judgment number " + i + " on limitation. ".repeat(20), reopened.text(pointers.get(i)).toString());
+        }
+    }
+
+    @Test
+    void holeInTheLogDoesNotTruncateLaterRecords() throws IOException {
+        TermDictionary dictionary = new TermDictionary();
+        JudgmentContentStore store = open(dictionary, false, 1 << 20);
+        long first = append(store, dictionary, "first judgment on bail");
+        long lost = append(store, dictionary, "second judgment on custody");
+        long last = append(store, dictionary, "third judgment on arbitration");
+        int arbitrationId = dictionary.intern("arbitration");
+        store.close();
+
+        // The second record's header never reached disk
+        try (FileChannel file = FileChannel.open(segmentFile(), StandardOpenOption.WRITE)) {
+            file.write(ByteBuffer.allocate(2 * Integer.BYTES), (int) lost);
+        }
+
+        TermDictionary restored = new TermDictionary();
+        JudgmentContentStore reopened = open(restored, false, 1 << 20);
+        assertEquals("first judgment on bail", reopened.text(first).toString());
+        assertEquals("third judgment on arbitration", reopened.text(last).toString());
+        assertEquals(arbitrationId, restored.intern("arbitration"));
+        assertThrows(IllegalStateException.class, () -> reopened.text(lost));
+
+        // New records go after the last one found, never over it
+        long next = append(reopened, restored, "fourth judgment");
+        assertTrue((int) next > (int) last);
+        assertEquals("third judgment on arbitration", reopened.text(last).toString());
+    }
+
+    private JudgmentContentStore open(TermDictionary dictionary, boolean sync, int segmentSize) throws IOException {
+        JudgmentContentStore store = new JudgmentContentStore(dictionary);
+        ReflectionTestUtils.setField(store, "directory", directory.toString());
+        ReflectionTestUtils.setField(store, "segmentSize", segmentSize);
+        ReflectionTestUtils.setField(store, "sync", sync);
+        store.open();
+        return store;
+    }
+
+    private static long append(JudgmentContentStore store, TermDictionary dictionary, String text) {
+        return store.append(text, JudgmentAnalysis.of(0, text, dictionary));
+    }
+
+    private Path segmentFile() throws IOException {
+        try (var files = Files.list(directory)) {
+            return files.sorted().findFirst().orElseThrow();
+        }
+    }
+}